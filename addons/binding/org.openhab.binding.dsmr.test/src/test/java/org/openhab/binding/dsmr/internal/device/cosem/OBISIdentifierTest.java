@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import org.junit.Test;
+
+/**
+ * Test class for parsing {@link OBISIdentifier} from bytes and the packed keys.
+ *
+ * @author agent - Initial contribution
+ */
+public class OBISIdentifierTest {
+
+    private static final String[] VALID_OBIS_IDS = { "1-3:0.2.8", "0-0:1.0.0", "1-0:1.8.1", "1-0:99.97.0",
+            "0-1:24.2.1", "0-1:96.1.0", "1-0:32.7.0*255", "1.8.1", "0:96.1.1", "1-0:1.8", "96.1.1*1", "1-0:1.8.1.2" };
+
+    private static final String[] INVALID_OBIS_IDS = { "", "1", "1-", "1-0:", "1-0:1", "1-0:1.", "1-0:1.8.", "a.b",
+            "1-0:1.8.1*", "1-0:1.8.1 ", "1-0:1.8.1.2.3", "1-0:1.8.4096" };
+
+    /**
+     * Test if the groups parsed from bytes match the groups parsed from a String.
+     */
+    @Test
+    public void testParseGroups() throws ParseException {
+        for (String obisIdString : VALID_OBIS_IDS) {
+            int[] groups = new int[OBISIdentifier.NR_OF_GROUPS];
+            OBISIdentifier obisId = new OBISIdentifier(obisIdString);
+
+            assertTrue(obisIdString, OBISIdentifier.parseGroups(bytes(obisIdString), obisIdString.length(), groups));
+            assertEquals(obisIdString, obisId.getGroupA(), groups[OBISIdentifier.GROUP_A]);
+            assertEquals(obisIdString, group(obisId.getGroupB()), groups[OBISIdentifier.GROUP_B]);
+            assertEquals(obisIdString, obisId.getGroupC(), groups[OBISIdentifier.GROUP_C]);
+            assertEquals(obisIdString, obisId.getGroupD(), groups[OBISIdentifier.GROUP_D]);
+            assertEquals(obisIdString, obisId.getGroupE(), groups[OBISIdentifier.GROUP_E]);
+            assertEquals(obisIdString, group(obisId.getGroupF()), groups[OBISIdentifier.GROUP_F]);
+            assertEquals(obisIdString, obisId.getReducedKey(),
+                    OBISIdentifier.reducedKey(groups[OBISIdentifier.GROUP_A], groups[OBISIdentifier.GROUP_B],
+                            groups[OBISIdentifier.GROUP_C], groups[OBISIdentifier.GROUP_D],
+                            groups[OBISIdentifier.GROUP_E]));
+        }
+    }
+
+    /**
+     * Test if invalid OBIS identifiers are not parsed from bytes.
+     */
+    @Test
+    public void testParseGroupsInvalid() {
+        for (String obisIdString : INVALID_OBIS_IDS) {
+            assertFalse(obisIdString, OBISIdentifier.parseGroups(bytes(obisIdString), obisIdString.length(),
+                    new int[OBISIdentifier.NR_OF_GROUPS]));
+        }
+    }
+
+    /**
+     * Test if the packed keys distinguish the groups and group B is ignored by the wild card key.
+     */
+    @Test
+    public void testReducedKey() {
+        long key = OBISIdentifier.reducedKey(0, 1, 24, 2, 1);
+
+        assertEquals(key, new OBISIdentifier(0, 1, 24, 2, 1, 255).getReducedKey());
+        assertNotEquals(key, OBISIdentifier.reducedKey(0, 2, 24, 2, 1));
+        assertNotEquals(key, OBISIdentifier.reducedKey(0, -1, 24, 2, 1));
+        assertNotEquals(key, OBISIdentifier.reducedKey(0, 1, 24, 1, 2));
+        assertNotEquals(OBISIdentifier.reducedKey(0, 0, 24, 2, 1), OBISIdentifier.reducedKey(0, -1, 24, 2, 1));
+        assertEquals(OBISIdentifier.reducedKey(0, -1, 24, 2, 1), OBISIdentifier.wildCardKey(key));
+        assertEquals(OBISIdentifier.reducedKey(0, -1, 24, 2, 1),
+                OBISIdentifier.wildCardKey(OBISIdentifier.reducedKey(0, -1, 24, 2, 1)));
+        assertEquals(OBISIdentifier.INVALID_KEY, new OBISIdentifier(-1, -1, -1, -1, -1, null).getReducedKey());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int group(Integer group) {
+        return group == null ? -1 : group;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.meter;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.junit.Test;
+
+/**
+ * Test class for {@link DSMRChannelStateFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DSMRChannelStateFilterTest {
+
+    private static final String CHANNEL = "emeter_actual_delivery";
+    private static final String OTHER_CHANNEL = "emeter_actual_tariff";
+
+    /**
+     * Test if unchanged states are only published again after the maximum age.
+     */
+    @Test
+    public void testUnchangedStates() {
+        DSMRChannelStateFilter filter = new DSMRChannelStateFilter(10);
+
+        assertTrue("First state should be published", filter.publish(CHANNEL, new DecimalType(1), 0));
+        assertFalse("Unchanged state should not be published", filter.publish(CHANNEL, new DecimalType(1), 9_999));
+        assertTrue("Unchanged state should be published after max age",
+                filter.publish(CHANNEL, new DecimalType(1), 10_000));
+        assertFalse("Max age should start at last published state",
+                filter.publish(CHANNEL, new DecimalType(1), 15_000));
+        assertEquals("Number of suppressed states", 2, filter.getAndResetSuppressed());
+        assertEquals("Number of suppressed states should be reset", 0, filter.getAndResetSuppressed());
+    }
+
+    /**
+     * Test if changed states are always published.
+     */
+    @Test
+    public void testChangedStates() {
+        DSMRChannelStateFilter filter = new DSMRChannelStateFilter(10);
+
+        assertTrue(filter.publish(CHANNEL, new DecimalType(1), 0));
+        assertTrue("Changed state should be published", filter.publish(CHANNEL, new DecimalType(2), 1));
+        assertTrue("Other channel should be published", filter.publish(OTHER_CHANNEL, new DecimalType(2), 2));
+        assertFalse(filter.publish(CHANNEL, new DecimalType(2), 3));
+    }
+
+    /**
+     * Test if the maximum age of a channel overrides the default maximum age and 0 disables the filter.
+     */
+    @Test
+    public void testChannelMaxAge() {
+        DSMRChannelStateFilter filter = new DSMRChannelStateFilter(10);
+
+        filter.setMaxAge(CHANNEL, 0);
+        filter.setMaxAge(OTHER_CHANNEL, 60);
+        assertTrue(filter.publish(CHANNEL, new DecimalType(1), 0));
+        assertTrue("Filter should be disabled for channel", filter.publish(CHANNEL, new DecimalType(1), 1));
+        assertTrue(filter.publish(OTHER_CHANNEL, new DecimalType(1), 0));
+        assertFalse("Channel max age should be used", filter.publish(OTHER_CHANNEL, new DecimalType(1), 59_999));
+        assertTrue(filter.publish(OTHER_CHANNEL, new DecimalType(1), 60_000));
+    }
+
+    /**
+     * Test if all states are published after a reset.
+     */
+    @Test
+    public void testReset() {
+        DSMRChannelStateFilter filter = new DSMRChannelStateFilter(10);
+
+        assertTrue(filter.publish(CHANNEL, new DecimalType(1), 0));
+        filter.reset();
+        assertTrue("State should be published after reset", filter.publish(CHANNEL, new DecimalType(1), 1));
+    }
+}
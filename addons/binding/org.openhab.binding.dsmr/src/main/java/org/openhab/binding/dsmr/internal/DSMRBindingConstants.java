@@ -34,6 +34,11 @@ public final class DSMRBindingConstants {
      */
     public static final ThingTypeUID THING_TYPE_DSMR_BRIDGE = new ThingTypeUID(BINDING_ID, "dsmrBridge");
 
+    /**
+     * Channel configuration parameter with the maximum age of an unchanged state.
+     */
+    public static final String CHANNEL_CONFIGURATION_MAX_AGE = "maxAge";
+
     private DSMRBindingConstants() {
         // Constants class
     }
@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -44,4 +45,20 @@ class CosemDecimal extends CosemValueDescriptor<DecimalType> {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as integer", 0);
         }
     }
+
+    /**
+     * Parses the bytes of a decimal directly to an {@link DecimalType} object.
+     *
+     * @param data the bytes containing the value
+     * @param offset offset of the value in data
+     * @param length number of bytes of the value
+     * @return {@link DecimalType} representing the value of the cosem value
+     * @throws ParseException if parsing failed
+     */
+    @Override
+    protected DecimalType getStateValue(byte[] data, int offset, int length) throws ParseException {
+        BigDecimal value = parseDecimal(data, offset, length);
+
+        return value == null ? getStateValue(toString(data, offset, length)) : new DecimalType(value);
+    }
 }
@@ -135,6 +135,71 @@ public class CosemObject {
         }
     }
 
+    /**
+     * Parses the COSEM values in bytes to COSEM objects values, see {@link #parseCosemValues(String)}.
+     *
+     * The values are found between the parentheses without using regular expressions and passed to the value
+     * descriptors as byte ranges.
+     *
+     * @param data the bytes containing the COSEM values
+     * @param length the number of bytes of the COSEM values
+     * @throws ParseException if parsing fails
+     */
+    public void parseCosemValues(byte[] data, int length) throws ParseException {
+        int nrOfCosemValues = 0;
+
+        for (int start = nextCosemValue(data, 0, length); start >= 0; start = nextCosemValue(data, start, length)) {
+            nrOfCosemValues++;
+        }
+
+        if (type.supportsNrOfValues(nrOfCosemValues)) {
+            logger.trace("Received items: {} is supported", nrOfCosemValues);
+
+            int cosemValueItr = 0;
+            int end = 0;
+            int start;
+            while ((start = nextCosemValue(data, end, length)) >= 0) {
+                end = start;
+                while (data[end] != ')') {
+                    end++;
+                }
+                Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
+                State cosemValue = valueDescriptorEntry.getValue().getStateValue(data, start, end - start);
+
+                if (cosemValue != null) {
+                    if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
+                        cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
+                    } else {
+                        logger.warn("Value for descriptor {} already exists, dropping value {}", valueDescriptorEntry,
+                                cosemValue);
+                    }
+                }
+                cosemValueItr++;
+            }
+        } else {
+            throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
+        }
+    }
+
+    /**
+     * Finds the next value enclosed in parentheses, matching the same values as the regular expression used by
+     * {@link #parseCosemValues(String)}
+     *
+     * @return the position of the first byte of the value (after the '(') or -1 if there is no next value
+     */
+    private static int nextCosemValue(byte[] data, int from, int length) {
+        int start = -1;
+
+        for (int i = from; i < length; i++) {
+            if (data[i] == '(') {
+                start = i + 1;
+            } else if (data[i] == ')' && start >= 0) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
     private int countCosemValues(Matcher cosemValueMatcher) {
         int nrOfCosemValues = 0;
 
@@ -8,8 +8,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +42,26 @@ public class CosemObjectFactory {
      */
     private final List<CosemObjectType> obisWildcardCosemTypeList;
 
+    /**
+     * Lookup cache for fixed OBIS Identifiers by packed key
+     */
+    private final OBISLookupTable<CosemObjectType> obisKeyLookupTableFixed = new OBISLookupTable<>();
+
+    /**
+     * Lookup cache for dynamic OBIS Identifiers by packed key
+     */
+    private final OBISLookupTable<CosemObjectType> obisKeyLookupTableDynamic = new OBISLookupTable<>();
+
+    /**
+     * Lookup cache for wild card Cosem Object types by packed key without group B
+     */
+    private final OBISLookupTable<CosemObjectType[]> obisKeyLookupTableWildcard = new OBISLookupTable<>();
+
+    /**
+     * Groups of the OBIS Identifier currently parsed from bytes
+     */
+    private final int[] obisGroups = new int[OBISIdentifier.NR_OF_GROUPS];
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -70,6 +92,91 @@ public class CosemObjectFactory {
                 obisLookupTableFixed.put(msgType.obisId, msgType);
             }
         }
+        /*
+         * The same lookup tables by packed key are used when parsing from bytes. Wild card types with the same packed
+         * key are stored as an array, in the same order as the wild card list.
+         */
+        for (CosemObjectType msgType : CosemObjectType.values()) {
+            long key = msgType.obisId.getReducedKey();
+
+            if (key == OBISIdentifier.INVALID_KEY) {
+                continue;
+            }
+            if (msgType.obisId.reducedOBISIdentifierIsWildCard()) {
+                CosemObjectType[] types = obisKeyLookupTableWildcard.get(key);
+
+                if (types == null) {
+                    types = new CosemObjectType[] { msgType };
+                } else {
+                    types = Arrays.copyOf(types, types.length + 1);
+                    types[types.length - 1] = msgType;
+                }
+                obisKeyLookupTableWildcard.put(key, types);
+            } else {
+                obisKeyLookupTableFixed.put(key, msgType);
+            }
+        }
+    }
+
+    /**
+     * Return Cosem Object from the specified bytes or null if the bytes couldn't be parsed correctly or no
+     * corresponding Cosem Object was found.
+     *
+     * The OBIS Identifier is parsed into a packed key, which is looked up without creating any objects, and numeric
+     * values are parsed directly from the bytes. OBIS Identifiers that don't fit in a packed key are handled by
+     * {@link #getCosemObject(String, String)}.
+     *
+     * @param obisIdData bytes containing the OBIS message identifier
+     * @param obisIdLength number of bytes of the OBIS message identifier
+     * @param cosemValuesData bytes containing Cosem values
+     * @param cosemValuesLength number of bytes of the Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(byte[] obisIdData, int obisIdLength, byte[] cosemValuesData,
+            int cosemValuesLength) {
+        if (!OBISIdentifier.parseGroups(obisIdData, obisIdLength, obisGroups)) {
+            return getCosemObject(new String(obisIdData, 0, obisIdLength, StandardCharsets.ISO_8859_1),
+                    new String(cosemValuesData, 0, cosemValuesLength, StandardCharsets.ISO_8859_1));
+        }
+        long key = OBISIdentifier.reducedKey(obisGroups[OBISIdentifier.GROUP_A], obisGroups[OBISIdentifier.GROUP_B],
+                obisGroups[OBISIdentifier.GROUP_C], obisGroups[OBISIdentifier.GROUP_D],
+                obisGroups[OBISIdentifier.GROUP_E]);
+        OBISIdentifier obisId = new OBISIdentifier(obisGroups[OBISIdentifier.GROUP_A],
+                toGroup(obisGroups[OBISIdentifier.GROUP_B]), obisGroups[OBISIdentifier.GROUP_C],
+                obisGroups[OBISIdentifier.GROUP_D], obisGroups[OBISIdentifier.GROUP_E],
+                toGroup(obisGroups[OBISIdentifier.GROUP_F]));
+
+        CosemObject cosemObject = null;
+        CosemObjectType cosemObjectType = obisKeyLookupTableFixed.get(key);
+
+        if (cosemObjectType != null) {
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemValuesData, cosemValuesLength);
+        } else if ((cosemObjectType = obisKeyLookupTableDynamic.get(key)) != null) {
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemValuesData, cosemValuesLength);
+        } else {
+            CosemObjectType[] wildcardTypes = obisKeyLookupTableWildcard.get(OBISIdentifier.wildCardKey(key));
+
+            if (wildcardTypes != null) {
+                for (CosemObjectType obisMsgType : wildcardTypes) {
+                    cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemValuesData, cosemValuesLength);
+                    if (cosemObject != null) {
+                        logger.trace("Searched obisId {} in the wild card type list, result: {}", obisId, cosemObject);
+                        obisKeyLookupTableDynamic.put(key, obisMsgType);
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (cosemObject == null) {
+            logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
+        }
+
+        return cosemObject;
+    }
+
+    private static Integer toGroup(int group) {
+        return group == -1 ? null : Integer.valueOf(group);
     }
 
     /**
@@ -147,4 +254,29 @@ public class CosemObjectFactory {
         }
         return null;
     }
+
+    /**
+     * Constructs a CosemObject from the given type, OBISIdentifier and the values in bytes
+     *
+     * @param cosemObjectType the type of the CosemObject
+     * @param obisIdentifier the actual OBISIdentifier how this cosemObjectType is identified
+     * @param cosemValuesData bytes containing the values of the CosemObject
+     * @param cosemValuesLength number of bytes of the values
+     *
+     * @return a CosemObject or null if parsing failed
+     */
+    private CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
+            byte[] cosemValuesData, int cosemValuesLength) {
+        CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
+
+        try {
+            obj.parseCosemValues(cosemValuesData, cosemValuesLength);
+
+            return obj;
+        } catch (ParseException pe) {
+            logger.debug("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType,
+                    new String(cosemValuesData, 0, cosemValuesLength, StandardCharsets.ISO_8859_1), pe);
+        }
+        return null;
+    }
 }
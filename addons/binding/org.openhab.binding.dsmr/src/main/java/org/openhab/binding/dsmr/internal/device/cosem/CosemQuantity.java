@@ -8,7 +8,9 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -56,11 +58,22 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
     private static final Pattern COSEM_VALUE_WITH_UNIT_PATTERN = Pattern.compile("^([\\d\\.]+)[\\*_]?(.+)$",
             Pattern.CASE_INSENSITIVE);
 
+    /**
+     * Maximum number of different spellings of the unit remembered
+     */
+    private static final int MAX_UNIT_SPELLINGS = 4;
+
     /**
      * Unit of this CosemValue
      */
     private final Unit<Q> unit;
 
+    /**
+     * Spellings of the unit in received values (e.g. 'kWh' or 'm3') that have been parsed successfully as the unit of
+     * this CosemValue. Values with one of these spellings are parsed directly from bytes.
+     */
+    private volatile byte[][] unitSpellings = new byte[0][];
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -102,6 +115,75 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
         }
     }
 
+    /**
+     * Parses the bytes of a value with a unit to a {@link QuantityType} object.
+     *
+     * The number is parsed directly from the bytes if the unit is spelled as in a value that was already parsed
+     * successfully, otherwise the value is parsed as String by {@link #getStateValue(String)}.
+     *
+     * @param data the bytes containing the value
+     * @param offset offset of the value in data
+     * @param length number of bytes of the value
+     * @return {@link QuantityType} on success
+     * @throws ParseException in case unit doesn't match.
+     */
+    @Override
+    protected QuantityType<Q> getStateValue(byte[] data, int offset, int length) throws ParseException {
+        int numberEnd = offset;
+        int end = offset + length;
+
+        while (numberEnd < end && (data[numberEnd] >= '0' && data[numberEnd] <= '9' || data[numberEnd] == '.')) {
+            numberEnd++;
+        }
+        int unitStart = numberEnd < end && (data[numberEnd] == '*' || data[numberEnd] == '_') ? numberEnd + 1
+                : numberEnd;
+
+        if (unitStart < end) {
+            BigDecimal value = parseDecimal(data, offset, numberEnd - offset);
+
+            if (value != null) {
+                for (byte[] spelling : unitSpellings) {
+                    if (regionEquals(spelling, data, unitStart, end)) {
+                        return new QuantityType<Q>(value, unit);
+                    }
+                }
+                QuantityType<Q> qt = getStateValue(toString(data, offset, length));
+
+                addUnitSpelling(Arrays.copyOfRange(data, unitStart, end));
+                return qt;
+            }
+        }
+        return getStateValue(toString(data, offset, length));
+    }
+
+    private static boolean regionEquals(byte[] spelling, byte[] data, int start, int end) {
+        if (spelling.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < spelling.length; i++) {
+            if (spelling[i] != data[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void addUnitSpelling(byte[] spelling) {
+        byte[][] spellings = unitSpellings;
+
+        if (spellings.length < MAX_UNIT_SPELLINGS) {
+            for (byte[] known : spellings) {
+                if (Arrays.equals(known, spelling)) {
+                    return;
+                }
+            }
+            byte[][] newSpellings = Arrays.copyOf(spellings, spellings.length + 1);
+
+            newSpellings[spellings.length] = spelling;
+            unitSpellings = newSpellings;
+        }
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 
 import org.eclipse.smarthome.core.types.State;
@@ -51,6 +53,61 @@ abstract class CosemValueDescriptor<S extends State> {
      */
     protected abstract S getStateValue(String cosemValue) throws ParseException;
 
+    /**
+     * Parses the bytes of a value to the {@link State} value. Descriptors of numeric values override this method to
+     * parse the value directly from the bytes.
+     *
+     * @param data the bytes containing the Cosem value
+     * @param offset offset of the Cosem value in data
+     * @param length number of bytes of the Cosem value
+     * @return S the {@link State} object instance of the Cosem value
+     * @throws ParseException if parsing failed
+     */
+    protected S getStateValue(byte[] data, int offset, int length) throws ParseException {
+        return getStateValue(toString(data, offset, length));
+    }
+
+    /**
+     * Returns the bytes of a value as String
+     */
+    protected static String toString(byte[] data, int offset, int length) {
+        return new String(data, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Parses a plain decimal number consisting of digits and an optional decimal point from bytes to the same
+     * {@link BigDecimal} as {@link BigDecimal#BigDecimal(String)} would return.
+     *
+     * @param data the bytes containing the number
+     * @param offset offset of the number in data
+     * @param length number of bytes of the number
+     * @return the number or null if the bytes are not a plain decimal number of at most 18 digits
+     */
+    protected static BigDecimal parseDecimal(byte[] data, int offset, int length) {
+        long unscaledValue = 0;
+        int digits = 0;
+        int scale = -1;
+
+        for (int i = offset; i < offset + length; i++) {
+            byte b = data[i];
+
+            if (b >= '0' && b <= '9') {
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaledValue = unscaledValue * 10 + b - '0';
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        return digits == 0 ? null : BigDecimal.valueOf(unscaledValue, Math.max(scale, 0));
+    }
+
     /**
      * Returns the channel id for this {@link CosemValueDescriptor}
      *
@@ -30,6 +30,29 @@ public class OBISIdentifier {
      */
     private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
 
+    /**
+     * Key returned for OBIS Identifiers that can't be packed into a long key
+     */
+    public static final long INVALID_KEY = -1;
+
+    /**
+     * Number of bits of each group in a packed key, groups A, C, D, E and B (with a flag if B is present)
+     */
+    private static final int KEY_GROUP_BITS = 12;
+    private static final int KEY_GROUP_MAX = (1 << KEY_GROUP_BITS) - 1;
+    private static final long KEY_GROUP_B_MASK = (1L << (KEY_GROUP_BITS + 1)) - 1;
+
+    /**
+     * Index of the groups in the array filled by {@link #parseGroups(byte[], int, int[])}
+     */
+    public static final int GROUP_A = 0;
+    public static final int GROUP_B = 1;
+    public static final int GROUP_C = 2;
+    public static final int GROUP_D = 3;
+    public static final int GROUP_E = 4;
+    public static final int GROUP_F = 5;
+    public static final int NR_OF_GROUPS = 6;
+
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private Integer groupB;
@@ -95,6 +118,158 @@ public class OBISIdentifier {
         }
     }
 
+    /**
+     * Parses an OBIS identifier from bytes into its groups, following the same syntax as
+     * {@link #OBISIdentifier(String)} but without creating any objects.
+     *
+     * Absent optional groups A and E are set to 0, absent optional groups B and F are set to -1.
+     *
+     * @param data the bytes containing the OBIS identifier
+     * @param length the number of bytes of the OBIS identifier
+     * @param groups array of at least {@link #NR_OF_GROUPS} elements to store the groups in
+     * @return true if the bytes are a valid OBIS identifier with groups that fit in a packed key, false otherwise
+     */
+    public static boolean parseGroups(byte[] data, int length, int[] groups) {
+        groups[GROUP_A] = 0;
+        groups[GROUP_B] = -1;
+        groups[GROUP_E] = 0;
+        groups[GROUP_F] = -1;
+
+        int pos = 0;
+        int end = scanNumber(data, pos, length);
+        if (end < 0) {
+            return false;
+        }
+        int value = parseNumber(data, pos, end);
+        pos = end;
+        // Optional value A
+        if (pos < length && data[pos] == '-') {
+            groups[GROUP_A] = value;
+            pos++;
+            end = scanNumber(data, pos, length);
+            if (end < 0) {
+                return false;
+            }
+            value = parseNumber(data, pos, end);
+            pos = end;
+        }
+        // Optional value B
+        if (pos < length && data[pos] == ':') {
+            groups[GROUP_B] = value;
+            pos++;
+            end = scanNumber(data, pos, length);
+            if (end < 0) {
+                return false;
+            }
+            value = parseNumber(data, pos, end);
+            pos = end;
+        }
+        // Required value C & D
+        if (pos >= length || data[pos] != '.') {
+            return false;
+        }
+        groups[GROUP_C] = value;
+        pos++;
+        end = scanNumber(data, pos, length);
+        if (end < 0) {
+            return false;
+        }
+        groups[GROUP_D] = parseNumber(data, pos, end);
+        pos = end;
+        // Optional value E
+        if (pos < length && data[pos] == '.' && (end = scanNumber(data, pos + 1, length)) > 0) {
+            groups[GROUP_E] = parseNumber(data, pos + 1, end);
+            pos = end;
+        }
+        // Optional value F, separated by any character
+        if (pos < length) {
+            end = scanNumber(data, pos + 1, length);
+            if (end != length) {
+                return false;
+            }
+            groups[GROUP_F] = parseNumber(data, pos + 1, end);
+        }
+        for (int group = 0; group < NR_OF_GROUPS; group++) {
+            if (groups[group] < -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the end of the number starting at the given position
+     *
+     * @return the position after the last digit or -1 if there is no digit at the given position
+     */
+    private static int scanNumber(byte[] data, int pos, int length) {
+        int end = pos;
+        while (end < length && data[end] >= '0' && data[end] <= '9') {
+            end++;
+        }
+        return end > pos ? end : -1;
+    }
+
+    /**
+     * Returns the value of the digits between start and end, or -2 if the value doesn't fit in a packed key
+     */
+    private static int parseNumber(byte[] data, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + data[i] - '0';
+            if (value > KEY_GROUP_MAX) {
+                return -2;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the packed key of a reduced OBIS identifier (i.e. without group F)
+     *
+     * @param groupA A value
+     * @param groupB B value or -1 if absent
+     * @param groupC C value
+     * @param groupD D value
+     * @param groupE E value
+     * @return the packed key or {@link #INVALID_KEY} if a group doesn't fit in a packed key
+     */
+    public static long reducedKey(int groupA, int groupB, int groupC, int groupD, int groupE) {
+        if (!fitsKey(groupA) || !fitsKey(groupC) || !fitsKey(groupD) || !fitsKey(groupE)
+                || (groupB != -1 && !fitsKey(groupB))) {
+            return INVALID_KEY;
+        }
+        long key = groupA;
+        key = (key << KEY_GROUP_BITS) | groupC;
+        key = (key << KEY_GROUP_BITS) | groupD;
+        key = (key << KEY_GROUP_BITS) | groupE;
+        return (key << (KEY_GROUP_BITS + 1)) | (groupB == -1 ? 0 : (1L << KEY_GROUP_BITS) | groupB);
+    }
+
+    /**
+     * Returns the packed key of the given key with group B removed, which is the key wild card OBIS identifiers are
+     * matched on
+     *
+     * @param key the packed key
+     * @return the packed key without group B
+     */
+    public static long wildCardKey(long key) {
+        return key & ~KEY_GROUP_B_MASK;
+    }
+
+    private static boolean fitsKey(int group) {
+        return group >= 0 && group <= KEY_GROUP_MAX;
+    }
+
+    /**
+     * Returns the packed key of the reduced OBIS identifier
+     *
+     * @return the packed key or {@link #INVALID_KEY} if a group doesn't fit in a packed key
+     */
+    public long getReducedKey() {
+        return reducedKey(groupA, groupB == null ? -1 : groupB, groupC, groupD, groupE);
+    }
+
     /**
      * @return the groupA
      */
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Hash table with the packed key of an {@link OBISIdentifier} as key.
+ *
+ * The table uses open addressing on primitive long keys, so a lookup doesn't create any objects. It is not thread
+ * safe, like the {@link CosemObjectFactory} it is used by.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <V> type of the values in the table
+ */
+@NonNullByDefault
+class OBISLookupTable<V> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private @Nullable Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the value for the given key
+     *
+     * @param key packed key of an {@link OBISIdentifier}
+     * @return the value or null if the key is not in the table
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long key) {
+        return (V) values[find(keys, values, key)];
+    }
+
+    /**
+     * Stores the value for the given key, replacing the value already stored for the key
+     *
+     * @param key packed key of an {@link OBISIdentifier}, must not be {@link OBISIdentifier#INVALID_KEY}
+     * @param value the value to store
+     */
+    public void put(long key, V value) {
+        int slot = find(keys, values, key);
+
+        if (values[slot] == null) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+                slot = find(keys, values, key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * @return the number of keys in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] newKeys = new long[keys.length * 2];
+        @Nullable
+        Object[] newValues = new Object[values.length * 2];
+
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                int slot = find(newKeys, newValues, keys[i]);
+
+                newKeys[slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int find(long[] keys, @Nullable Object[] values, long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -10,6 +10,7 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -64,12 +65,22 @@ public class P1TelegramParser {
     /**
      * current obisId buffer.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] obisId = new byte[32];
+
+    /**
+     * Number of bytes in the current obisId buffer.
+     */
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder cosemObjectValuesString = new StringBuilder();
+    private byte[] cosemObjectValues = new byte[256];
+
+    /**
+     * Number of bytes in the current cosem object values buffer.
+     */
+    private int cosemObjectValuesLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -306,15 +317,18 @@ public class P1TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                if (obisIdLength == obisId.length) {
+                    obisId = Arrays.copyOf(obisId, obisIdLength * 2);
+                }
+                obisId[obisIdLength++] = (byte) c;
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                cosemObjectValuesString.append(c);
-                crc.processByte((byte) c);
-                break;
             case DATA_OBIS_VALUE_END:
-                cosemObjectValuesString.append(c);
+                if (cosemObjectValuesLength == cosemObjectValues.length) {
+                    cosemObjectValues = Arrays.copyOf(cosemObjectValues, cosemObjectValuesLength * 2);
+                }
+                cosemObjectValues[cosemObjectValuesLength++] = (byte) c;
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
@@ -334,8 +348,8 @@ public class P1TelegramParser {
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
         rawData.setLength(0);
         crcValue.setLength(0);
         crc.initialize();
@@ -349,18 +363,17 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+        if (obisIdLength > 0) {
+            CosemObject cosemObject = factory.getCosemObject(obisId, obisIdLength, cosemObjectValues,
+                    cosemObjectValuesLength);
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
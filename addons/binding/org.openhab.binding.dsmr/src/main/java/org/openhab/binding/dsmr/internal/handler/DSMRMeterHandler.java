@@ -16,6 +16,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -26,9 +27,11 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.openhab.binding.dsmr.internal.DSMRBindingConstants;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramListener;
+import org.openhab.binding.dsmr.internal.meter.DSMRChannelStateFilter;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeter;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterConfiguration;
 import org.openhab.binding.dsmr.internal.meter.DSMRMeterDescriptor;
@@ -41,6 +44,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Separated thing state update cycle from meter values received cycle
+ * @author agent - Only update changed states
  */
 @NonNullByDefault
 public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramListener {
@@ -52,6 +56,11 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     private @Nullable DSMRMeter meter;
 
+    /**
+     * Filter of unchanged channel states
+     */
+    private DSMRChannelStateFilter stateFilter = new DSMRChannelStateFilter(0);
+
     /**
      * Last received cosem objects.
      */
@@ -77,6 +86,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
+            stateFilter.reset();
             updateState();
         }
     }
@@ -104,12 +114,32 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         DSMRMeterConfiguration meterConfig = getConfigAs(DSMRMeterConfiguration.class);
         DSMRMeterDescriptor meterDescriptor = new DSMRMeterDescriptor(meterType, meterConfig.channel);
         meter = new DSMRMeter(meterDescriptor);
+        stateFilter = createStateFilter(meterConfig);
 
         meterWatchdog = scheduler.scheduleWithFixedDelay(this::updateState, meterConfig.refresh, meterConfig.refresh,
                 TimeUnit.SECONDS);
         updateStatus(ThingStatus.UNKNOWN);
     }
 
+    /**
+     * Creates the filter of unchanged channel states with the maximum age of the meter and the channels
+     *
+     * @param meterConfig the configuration of the meter
+     * @return the filter
+     */
+    private DSMRChannelStateFilter createStateFilter(DSMRMeterConfiguration meterConfig) {
+        DSMRChannelStateFilter filter = new DSMRChannelStateFilter(meterConfig.maxAge);
+
+        for (Channel channel : getThing().getChannels()) {
+            Object maxAge = channel.getConfiguration().get(DSMRBindingConstants.CHANNEL_CONFIGURATION_MAX_AGE);
+
+            if (maxAge instanceof Number) {
+                filter.setMaxAge(channel.getUID().getId(), ((Number) maxAge).intValue());
+            }
+        }
+        return filter;
+    }
+
     @Override
     public void dispose() {
         if (meterWatchdog != null) {
@@ -121,24 +151,32 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     /**
      * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedValues are
      * cleared after processing here so when it does contain values the next time this method is called and it contains
-     * values those are new values.
+     * values those are new values. Only states that changed or that weren't updated within the maximum age are
+     * updated.
      */
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
         if (!lastReceivedValues.isEmpty()) {
+            long now = System.currentTimeMillis();
+
             for (CosemObject cosemObject : lastReceivedValues) {
-                String channel = cosemObject.getType().name().toLowerCase();
+                String cosemChannel = cosemObject.getType().name().toLowerCase();
 
                 for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
-                    if (!entry.getKey().isEmpty()) {
-                        /* CosemObject has a specific sub channel */
-                        channel += "_" + entry.getKey();
-                    }
+                    /* CosemObject can have a specific sub channel */
+                    String channel = entry.getKey().isEmpty() ? cosemChannel : cosemChannel + "_" + entry.getKey();
                     State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
+
+                    if (stateFilter.publish(channel, newState, now)) {
+                        logger.debug("Updating state for channel {} to value {}", channel, newState);
+                        updateState(channel, newState);
+                    }
                 }
             }
+            int suppressed = stateFilter.getAndResetSuppressed();
+
+            logger.trace("Skipped {} unchanged states for device: {}", suppressed,
+                    getThing().getThingTypeUID().getId());
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
             }
@@ -197,5 +235,6 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     private void setDeviceOffline(ThingStatusDetail status, @Nullable String details) {
         updateStatus(ThingStatus.OFFLINE, status, details);
         getThing().getChannels().forEach(c -> updateState(c.getUID(), UnDefType.NULL));
+        stateFilter.reset();
     }
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.meter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Filters the channel states of a meter, so only states that changed are published.
+ *
+ * A state that didn't change is published again when the last time it was published is longer ago than the maximum
+ * age of the channel. The maximum age can be set per channel, channels without a maximum age use the default maximum
+ * age of the meter. A maximum age of 0 disables the filter for the channel, i.e. all states are published.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRChannelStateFilter {
+
+    /**
+     * Last published state of a channel
+     */
+    private static class PublishedState {
+        private final State state;
+        private final long timestamp;
+
+        private PublishedState(State state, long timestamp) {
+            this.state = state;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Maximum age of channels without a channel specific maximum age in milliseconds
+     */
+    private final long defaultMaxAge;
+
+    /**
+     * Channel specific maximum age in milliseconds
+     */
+    private final Map<String, Long> channelMaxAge = new HashMap<>();
+
+    /**
+     * Last published state per channel
+     */
+    private final Map<String, PublishedState> publishedStates = new HashMap<>();
+
+    /**
+     * Number of states not published since the last call to {@link #getAndResetSuppressed()}
+     */
+    private int suppressed;
+
+    /**
+     * Creates a new filter
+     *
+     * @param defaultMaxAge maximum age in seconds of channels without a channel specific maximum age
+     */
+    public DSMRChannelStateFilter(int defaultMaxAge) {
+        this.defaultMaxAge = TimeUnit.SECONDS.toMillis(Math.max(0, defaultMaxAge));
+    }
+
+    /**
+     * Sets the maximum age of a channel
+     *
+     * @param channel the channel id
+     * @param maxAge maximum age in seconds, 0 to publish all states of the channel
+     */
+    public synchronized void setMaxAge(String channel, int maxAge) {
+        channelMaxAge.put(channel, TimeUnit.SECONDS.toMillis(Math.max(0, maxAge)));
+    }
+
+    /**
+     * Returns whether the state must be published, because it changed or the last published state is older than the
+     * maximum age of the channel. If so the state is registered as published.
+     *
+     * @param channel the channel id
+     * @param state the new state of the channel
+     * @param now the current time in milliseconds
+     * @return true if the state must be published
+     */
+    public synchronized boolean publish(String channel, State state, long now) {
+        Long maxAge = channelMaxAge.get(channel);
+        long channelMaxAgeMillis = maxAge == null ? defaultMaxAge : maxAge;
+        @Nullable
+        PublishedState published = publishedStates.get(channel);
+
+        if (channelMaxAgeMillis > 0 && published != null && published.state.equals(state)
+                && now - published.timestamp < channelMaxAgeMillis) {
+            suppressed++;
+            return false;
+        }
+        publishedStates.put(channel, new PublishedState(state, now));
+        return true;
+    }
+
+    /**
+     * Forgets all published states, so the next state of each channel is published.
+     */
+    public synchronized void reset() {
+        publishedStates.clear();
+    }
+
+    /**
+     * @return the number of states not published since the last call of this method
+     */
+    public synchronized int getAndResetSuppressed() {
+        int result = suppressed;
+
+        suppressed = 0;
+        return result;
+    }
+}
@@ -13,6 +13,7 @@ package org.openhab.binding.dsmr.internal.meter;
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Added refresh field
+ * @author agent - Added maxAge field
  */
 public class DSMRMeterConfiguration {
     /**
@@ -25,8 +26,13 @@ public class DSMRMeterConfiguration {
      */
     public int refresh;
 
+    /**
+     * Maximum time in seconds an unchanged state is not updated, 0 to update all states at each refresh.
+     */
+    public int maxAge = 600;
+
     @Override
     public String toString() {
-        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ")";
+        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ",maxAge=" + maxAge + ")";
     }
 }
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class GroupAddressDispatcherTest {
+
+    private static class RecordingListener implements GroupAddressListener {
+        private final Set<GroupAddress> groupAddresses;
+        private final List<GroupAddress> received = new ArrayList<>();
+
+        private RecordingListener(GroupAddress... groupAddresses) {
+            this.groupAddresses = new HashSet<>(Arrays.asList(groupAddresses));
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add(destination);
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add(destination);
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add(destination);
+        }
+    }
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 5);
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private GroupAddressDispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        tasks.clear();
+        dispatcher = new GroupAddressDispatcher(tasks::add);
+    }
+
+    private void dispatch(GroupAddress destination) {
+        dispatcher.dispatch(destination, listener -> listener.onGroupWrite(null, null, destination, new byte[0]));
+    }
+
+    private void runTasks() {
+        List<Runnable> current = new ArrayList<>(tasks);
+        tasks.clear();
+        current.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testDispatchToListenersOfAddress() {
+        RecordingListener first = new RecordingListener(GA_1, GA_2);
+        RecordingListener second = new RecordingListener(GA_2);
+        assertTrue(dispatcher.register(first));
+        assertTrue(dispatcher.register(second));
+
+        dispatch(GA_1);
+        dispatch(GA_2);
+        dispatch(GA_3);
+        runTasks();
+
+        assertEquals(Arrays.asList(GA_1, GA_2), first.received);
+        assertEquals(Arrays.asList(GA_2), second.received);
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), dispatcher.getListeners(GA_2));
+        assertTrue(dispatcher.getListeners(GA_3).isEmpty());
+    }
+
+    @Test
+    public void testOneTaskPerListener() {
+        RecordingListener listener = new RecordingListener(GA_1, GA_2);
+        dispatcher.register(listener);
+
+        dispatch(GA_2);
+        dispatch(GA_1);
+        dispatch(GA_2);
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        assertEquals(Arrays.asList(GA_2, GA_1, GA_2), listener.received);
+
+        dispatch(GA_1);
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testRegisterAgainUpdatesAddresses() {
+        RecordingListener listener = new RecordingListener(GA_1);
+        dispatcher.register(listener);
+        listener.groupAddresses.clear();
+        listener.groupAddresses.add(GA_3);
+        assertFalse(dispatcher.register(listener));
+
+        dispatch(GA_1);
+        dispatch(GA_3);
+        runTasks();
+
+        assertEquals(Arrays.asList(GA_3), listener.received);
+    }
+
+    @Test
+    public void testUnregisterDropsPendingNotifications() {
+        RecordingListener listener = new RecordingListener(GA_1);
+        dispatcher.register(listener);
+
+        dispatch(GA_1);
+        assertTrue(dispatcher.unregister(listener));
+        assertFalse(dispatcher.unregister(listener));
+        runTasks();
+        dispatch(GA_1);
+
+        assertTrue(listener.received.isEmpty());
+        assertTrue(tasks.isEmpty());
+    }
+
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXTimeoutException;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class OutboundTelegramQueueTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 4);
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Long> delays = new ArrayList<>();
+    private final List<String> sent = new ArrayList<>();
+    private long now;
+    private boolean failing;
+    private OutboundTelegramQueue<String> queue;
+
+    @Before
+    public void setup() {
+        tasks.clear();
+        delays.clear();
+        sent.clear();
+        now = 0;
+        failing = false;
+        queue = new OutboundTelegramQueue<>((groupAddress, response, payload) -> {
+            now += TimeUnit.MILLISECONDS.toNanos(10);
+            if (failing) {
+                throw new KNXTimeoutException("no confirmation");
+            }
+            sent.add(groupAddress + (response ? " response " : " write ") + payload);
+        }, (task, delayNanos) -> {
+            tasks.add(task);
+            delays.add(delayNanos);
+        }, 10, () -> now);
+    }
+
+    private void runTasks() {
+        List<Runnable> current = new ArrayList<>(tasks);
+        tasks.clear();
+        current.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testSupersededWritesAreCoalesced() {
+        queue.add(GA_1, false, "a", true);
+        queue.add(GA_2, false, "b", true);
+        queue.add(GA_1, false, "c", true);
+        queue.add(GA_1, true, "d", true);
+        assertEquals(1, tasks.size());
+        assertEquals(3, queue.size());
+
+        runTasks();
+        now += TimeUnit.SECONDS.toNanos(1);
+        runTasks();
+
+        assertEquals(Arrays.asList("1/2/4 write b", "1/2/3 write c", "1/2/3 response d"), sent);
+        assertEquals(3, queue.getSent());
+        assertEquals(1, queue.getSuperseded());
+        assertEquals(10.0, queue.getSmoothedLatencyMillis(), 0.001);
+        assertEquals(10.0, queue.getMaxLatencyMillis(), 0.001);
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void testRelativeWritesAreAlwaysSent() {
+        queue.add(GA_1, false, "a", false);
+        queue.add(GA_1, false, "b", false);
+        queue.add(GA_1, false, "c", true);
+        queue.add(GA_1, false, "d", false);
+        queue.add(GA_1, false, "e", true);
+        assertEquals(5, queue.size());
+
+        runTasks();
+        now += TimeUnit.SECONDS.toNanos(1);
+        runTasks();
+
+        assertEquals(Arrays.asList("1/2/3 write a", "1/2/3 write b", "1/2/3 write c", "1/2/3 write d"), sent);
+        now += TimeUnit.SECONDS.toNanos(1);
+        runTasks();
+        assertEquals(5, sent.size());
+        assertEquals(0, queue.getSuperseded());
+    }
+
+    @Test
+    public void testRateLimit() {
+        for (int i = 0; i < 5; i++) {
+            queue.add(new GroupAddress(1, 1, i), false, "v", true);
+        }
+        runTasks();
+
+        // the bucket of 10 telegrams/s holds 2 tokens, the rest waits
+        assertEquals(2, sent.size());
+        assertEquals(1, tasks.size());
+        assertTrue(delays.get(delays.size() - 1) > 0);
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        runTasks();
+        assertEquals(4, sent.size());
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testFailureDoesNotStopQueue() {
+        failing = true;
+        queue.add(GA_1, false, "a", true);
+        runTasks();
+        assertEquals(1, queue.getFailed());
+
+        failing = false;
+        queue.add(GA_2, false, "b", true);
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(Arrays.asList("1/2/4 write b"), sent);
+    }
+
+    @Test
+    public void testClear() {
+        queue.add(GA_1, false, "a", true);
+        queue.clear();
+        runTasks();
+
+        assertTrue(sent.isEmpty());
+        queue.add(GA_2, false, "b", true);
+        runTasks();
+        assertEquals(Arrays.asList("1/2/4 write b"), sent);
+    }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadDatapointQueueTest {
+
+    private final ReadDatapointQueue queue = new ReadDatapointQueue();
+
+    private static ReadDatapoint datapoint(int subGroup, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 1, subGroup), "test", 0, "1.001"), 3, priority);
+    }
+
+    private static int pollSubGroup(ReadDatapointQueue queue) {
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().getRawAddress() & 0xFF;
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        queue.add(datapoint(1, ReadPriority.PERIODIC));
+        queue.add(datapoint(2, ReadPriority.STARTUP));
+        queue.add(datapoint(3, ReadPriority.REFRESH));
+        queue.add(datapoint(4, ReadPriority.STARTUP));
+
+        assertEquals(1, queue.size(ReadPriority.REFRESH));
+        assertEquals(2, queue.size(ReadPriority.STARTUP));
+        assertEquals(3, pollSubGroup(queue));
+        assertEquals(2, pollSubGroup(queue));
+        assertEquals(4, pollSubGroup(queue));
+        assertEquals(1, pollSubGroup(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDuplicatesIgnored() {
+        assertTrue(queue.add(datapoint(1, ReadPriority.STARTUP)));
+        assertFalse(queue.add(datapoint(1, ReadPriority.STARTUP)));
+        assertFalse(queue.add(datapoint(1, ReadPriority.PERIODIC)));
+
+        assertEquals(1, queue.size());
+        assertEquals(1, pollSubGroup(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDuplicateRaisesPriority() {
+        queue.add(datapoint(1, ReadPriority.PERIODIC));
+        queue.add(datapoint(2, ReadPriority.PERIODIC));
+        assertTrue(queue.add(datapoint(2, ReadPriority.REFRESH)));
+
+        assertEquals(2, queue.size());
+        assertEquals(2, pollSubGroup(queue));
+        assertEquals(1, pollSubGroup(queue));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRetryAddsAgain() {
+        ReadDatapoint datapoint = datapoint(1, ReadPriority.STARTUP);
+        queue.add(datapoint);
+        assertSame(datapoint, queue.poll());
+
+        assertTrue(queue.add(datapoint));
+        assertTrue(queue.contains(new GroupAddress(1, 1, 1)));
+        assertSame(datapoint, queue.poll());
+    }
+
+    @Test
+    public void testBatch() {
+        queue.add(datapoint(1, ReadPriority.STARTUP));
+        queue.add(datapoint(2, ReadPriority.STARTUP));
+        queue.poll();
+        queue.recordRead();
+        assertFalse(queue.finishBatch());
+        queue.poll();
+        queue.recordFailed();
+        assertTrue(queue.finishBatch());
+        assertFalse(queue.finishBatch());
+
+        assertEquals(1, queue.getBatchRead());
+        assertEquals(1, queue.getBatchFailed());
+
+        queue.add(datapoint(3, ReadPriority.STARTUP));
+        assertEquals(0, queue.getBatchRead());
+    }
+
+}
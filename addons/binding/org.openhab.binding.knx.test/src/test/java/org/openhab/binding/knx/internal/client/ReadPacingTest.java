@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadPacingTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ReadPacing pacing = new ReadPacing(50);
+
+    @Test
+    public void testQuietBus() {
+        pacing.recordSuccess(TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(50, pacing.getPauseMillis(0));
+    }
+
+    @Test
+    public void testBackoffOnFailure() {
+        pacing.recordFailure();
+        pacing.recordFailure();
+        assertEquals(200, pacing.getPauseMillis(0));
+        for (int i = 0; i < 10; i++) {
+            pacing.recordFailure();
+        }
+        assertEquals(50 * ReadPacing.MAX_BACKOFF, pacing.getPauseMillis(0));
+
+        pacing.recordSuccess(TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(50 * ReadPacing.MAX_BACKOFF / 2, pacing.getPauseMillis(0));
+    }
+
+    @Test
+    public void testBusyBus() {
+        pacing.recordSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+        long start = 10 * SECOND;
+        pacing.recordTelegram(start);
+        for (int i = 1; i < 2 * ReadPacing.BUSY_TELEGRAMS_PER_SECOND; i++) {
+            pacing.recordTelegram(start + i * SECOND / 100);
+        }
+
+        // 40 telegrams per second, twice the busy limit
+        assertEquals(40, pacing.getTelegramsPerSecond(start + SECOND));
+        assertEquals(50 + 200, pacing.getPauseMillis(start + SECOND));
+
+        // the load is forgotten when the bus is quiet again
+        assertEquals(50, pacing.getPauseMillis(start + 3 * SECOND));
+    }
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TelegramRateLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRate() {
+        TelegramRateLimiter limiter = new TelegramRateLimiter(20, 0);
+
+        // a burst of a fifth of a second is sent without delay
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire(0));
+        }
+        assertEquals(50 * MILLIS, limiter.tryAcquire(0));
+        assertEquals(20 * MILLIS, limiter.tryAcquire(30 * MILLIS));
+        assertEquals(0, limiter.tryAcquire(50 * MILLIS));
+        assertTrue(limiter.tryAcquire(50 * MILLIS) > 0);
+    }
+
+    @Test
+    public void testCapacityIsLimited() {
+        TelegramRateLimiter limiter = new TelegramRateLimiter(20, 0);
+
+        long later = TimeUnit.SECONDS.toNanos(10);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire(later));
+        }
+        assertTrue(limiter.tryAcquire(later) > 0);
+    }
+
+    @Test
+    public void testLowRate() {
+        TelegramRateLimiter limiter = new TelegramRateLimiter(2, 0);
+
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(500 * MILLIS, limiter.tryAcquire(0));
+    }
+
+    @Test
+    public void testUnlimited() {
+        TelegramRateLimiter limiter = new TelegramRateLimiter(0, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire(0));
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
+import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
+import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+import tuwien.auto.calimero.dptxlator.DPTXlatorRGB;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Verifies that the direct decoders return the same values as the calimero translators
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class DPTCodecTest {
+
+    private static DPTXlator translator(String dptID, byte[] data) throws KNXException {
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dptID);
+        translator.setData(data);
+        return translator;
+    }
+
+    @Test
+    public void testBoolean() throws KNXException {
+        for (int i = 0; i < 256; i++) {
+            byte[] data = new byte[] { (byte) i };
+            assertEquals(((DPTXlatorBoolean) translator("1.001", data)).getValueBoolean(),
+                    DPTCodec.decodeBoolean(data));
+        }
+    }
+
+    @Test
+    public void test8BitUnsigned() throws KNXException {
+        for (int i = 0; i < 256; i++) {
+            byte[] data = new byte[] { (byte) i };
+            assertEquals(translator(DPTXlator8BitUnsigned.DPT_SCALING.getID(), data).getNumericValue(),
+                    DPTCodec.decodeScaling(data), 0);
+            assertEquals(translator(DPTXlator8BitUnsigned.DPT_ANGLE.getID(), data).getNumericValue(),
+                    DPTCodec.decodeAngle(data), 0);
+            assertEquals(translator(DPTXlator8BitUnsigned.DPT_VALUE_1_UCOUNT.getID(), data).getNumericValue(),
+                    DPTCodec.decode8BitUnsigned(data), 0);
+        }
+    }
+
+    @Test
+    public void test2ByteFloat() throws KNXException {
+        for (int i = 0; i < 0x10000; i++) {
+            byte[] data = new byte[] { (byte) (i >> 8), (byte) i };
+            assertEquals(translator(DPTXlator2ByteFloat.DPT_TEMPERATURE.getID(), data).getNumericValue(),
+                    DPTCodec.decode2ByteFloat(data), 0);
+        }
+    }
+
+    @Test
+    public void test4ByteFloat() throws KNXException {
+        float[] values = new float[] { 0f, -0f, 1f, -1f, 21.3f, 3.14159E20f, Float.MIN_VALUE, Float.MAX_VALUE,
+                Float.NEGATIVE_INFINITY, Float.NaN };
+        for (float value : values) {
+            int bits = Float.floatToRawIntBits(value);
+            byte[] data = new byte[] { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits };
+            assertEquals(translator(DPTXlator4ByteFloat.DPT_POWER.getID(), data).getNumericValue(),
+                    DPTCodec.decode4ByteFloat(data), 0);
+        }
+    }
+
+    @Test
+    public void testRGB() throws KNXException {
+        byte[] data = new byte[] { (byte) 255, 0, (byte) 128 };
+        assertEquals(translator(DPTXlatorRGB.DPT_RGB.getID(), data).getValue(),
+                "r:" + DPTCodec.decodeRGBComponent(data, 0) + " g:" + DPTCodec.decodeRGBComponent(data, 1) + " b:"
+                        + DPTCodec.decodeRGBComponent(data, 2));
+    }
+
+}
@@ -11,8 +11,15 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -20,10 +27,61 @@ import org.junit.Test;
  */
 public class KNXCoreTypeMapperTest {
 
+    private static final String[] SAMPLE_DPTS = { "1.001", "5.001", "9.001", "14.056", "232.600" };
+    private static final byte[][] SAMPLE_DATA = { { 1 }, { (byte) 128 }, { 0x0C, 0x1A }, { 0x41, (byte) 0xAA, 0, 0 },
+            { (byte) 255, 0, (byte) 128 } };
+
+    private final KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+
+    private static Datapoint datapoint(String dpt) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+    }
+
     @Test
     public void testToDPTValue_trailingZeroesStrippedOff() {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_directDecoding() {
+        assertEquals(OnOffType.ON, mapper.toType(datapoint("1.001"), new byte[] { 1 }));
+        assertEquals(new PercentType(50), mapper.toType(datapoint("5.001"), new byte[] { (byte) 128 }));
+        assertEquals(new DecimalType(21.0), mapper.toType(datapoint("9.001"), new byte[] { 0x0C, 0x1A }));
+        assertEquals(new DecimalType(21.25), mapper.toType(datapoint("14.056"), new byte[] { 0x41, (byte) 0xAA, 0, 0 }));
+        assertEquals(HSBType.fromRGB(255, 0, 128),
+                mapper.toType(datapoint("232.600"), new byte[] { (byte) 255, 0, (byte) 128 }));
+    }
+
+    @Test
+    public void testToType_sameAsTranslator() {
+        for (String dpt : new String[] { "1.001", "1.008", "1.009", "1.010", "1.019", "1.022" }) {
+            for (int i = 0; i < 2; i++) {
+                byte[] data = new byte[] { (byte) i };
+                assertEquals(mapper.toTypeWithTranslator(datapoint(dpt), data), mapper.toType(datapoint(dpt), data));
+            }
+        }
+        for (String dpt : new String[] { "5.001", "5.003", "5.010" }) {
+            for (int i = 0; i < 256; i++) {
+                byte[] data = new byte[] { (byte) i };
+                assertEquals(mapper.toTypeWithTranslator(datapoint(dpt), data), mapper.toType(datapoint(dpt), data));
+            }
+        }
+        for (int i = 0; i < 0x10000; i += 7) {
+            byte[] data = new byte[] { (byte) (i >> 8), (byte) i };
+            assertEquals(mapper.toTypeWithTranslator(datapoint("9.001"), data), mapper.toType(datapoint("9.001"), data));
+        }
+        for (int i = 0; i < SAMPLE_DPTS.length; i++) {
+            assertEquals(mapper.toTypeWithTranslator(datapoint(SAMPLE_DPTS[i]), SAMPLE_DATA[i]),
+                    mapper.toType(datapoint(SAMPLE_DPTS[i]), SAMPLE_DATA[i]));
+        }
+    }
+
+    @Test
+    public void testToType_wrongLengthUsesTranslator() {
+        // the translator decodes the first of several values
+        assertEquals(mapper.toTypeWithTranslator(datapoint("9.001"), new byte[] { 0x0C, 0x1A, 0x0C, 0x1A }),
+                mapper.toType(datapoint("9.001"), new byte[] { 0x0C, 0x1A, 0x0C, 0x1A }));
+    }
+
 }
@@ -59,6 +59,8 @@ public interface KNXClient {
     /**
      * Register the given listener to be informed on KNX bus traffic.
      *
+     * Registering a listener again updates the group addresses it listens to.
+     *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
      */
@@ -75,13 +77,19 @@ public interface KNXClient {
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * A data point which is scheduled already is read only once, with the higher of the priorities.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
      *
+     * The command is queued and sent asynchronously, at the rate allowed for the bridge. A queued command to the same
+     * group address which was not sent yet is superseded.
+     *
      * @param commandSpec the outbound spec
      * @throws KNXException if any problem with the communication arises.
      */
@@ -90,6 +98,8 @@ public interface KNXClient {
     /**
      * Send a state as a read-response to the KNX bus.
      *
+     * The response is queued and sent asynchronously, like {@link #writeToKNX(OutboundSpec)}.
+     *
      * @param responseSpec the outbound spec
      * @throws KNXException if any problem with the communication arises.
      */
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.client;
+
+/**
+ * Priority of a read request to the KNX bus. Requests with higher priority are sent first.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public enum ReadPriority {
+
+    /**
+     * Read triggered by a refresh command
+     */
+    REFRESH,
+
+    /**
+     * Initial read of the state, when a thing is initialized or a channel is linked
+     */
+    STARTUP,
+
+    /**
+     * Periodic read according to the read interval of a thing
+     */
+    PERIODIC;
+
+}
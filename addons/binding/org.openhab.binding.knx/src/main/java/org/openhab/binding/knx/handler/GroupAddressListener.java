@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.knx.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -30,4 +32,14 @@ public interface GroupAddressListener extends BusMessageListener {
      */
     public boolean listensTo(GroupAddress destination);
 
+    /**
+     * Get all the GroupAddresses the GroupAddressListener has an interest in
+     *
+     * The client indexes the listener by these addresses when the listener is registered. Listeners changing their
+     * addresses need to register again for the change to take effect.
+     *
+     * @return the group addresses
+     */
+    public Set<GroupAddress> getGroupAddresses();
+
 }
@@ -8,9 +8,6 @@
  */
 package org.openhab.binding.knx.internal.client;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -26,6 +23,7 @@ import org.openhab.binding.knx.KNXTypeMapper;
 import org.openhab.binding.knx.client.DeviceInfoClient;
 import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.client.StatusUpdateCallback;
 import org.openhab.binding.knx.handler.GroupAddressListener;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -41,6 +39,7 @@ import tuwien.auto.calimero.KNXException;
 import tuwien.auto.calimero.datapoint.CommandDP;
 import tuwien.auto.calimero.datapoint.Datapoint;
 import tuwien.auto.calimero.device.ProcessCommunicationResponder;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
 import tuwien.auto.calimero.link.KNXNetworkLink;
 import tuwien.auto.calimero.link.NetworkLinkListener;
 import tuwien.auto.calimero.mgmt.Destination;
@@ -64,6 +63,8 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int READ_PROGRESS_INTERVAL = 100;
+    private static final String DPT_MAIN_NUMBER_3BIT_CONTROLLED = "3.";
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -85,8 +86,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressDispatcher groupAddressDispatcher;
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private final ReadPacing readPacing;
+    private long nextReadNanos;
+    private final OutboundTelegramQueue<OutboundSpec> outboundTelegrams;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -124,7 +128,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     };
 
     public AbstractKNXClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, StatusUpdateCallback statusUpdateCallback) {
+            int readRetriesLimit, int maxTelegramsPerSecond, ScheduledExecutorService knxScheduler,
+            StatusUpdateCallback statusUpdateCallback) {
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
@@ -132,6 +137,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.groupAddressDispatcher = new GroupAddressDispatcher(knxScheduler);
+        this.readPacing = new ReadPacing(readingPause);
+        this.nextReadNanos = System.nanoTime();
+        this.outboundTelegrams = new OutboundTelegramQueue<>(this::sendQueued,
+                (task, delayNanos) -> knxScheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS),
+                maxTelegramsPerSecond);
     }
 
     public void initialize() {
@@ -220,8 +231,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     private void releaseConnection() {
-        logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
+        logger.debug("Bridge {} is disconnecting from the KNX bus, {}", thingUID, outboundTelegrams);
         readDatapoints.clear();
+        outboundTelegrams.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -249,11 +261,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
-        }
+        readPacing.recordTelegram(System.nanoTime());
+        groupAddressDispatcher.dispatch(destination, listener -> action.apply(listener, source, destination, asdu));
     }
 
     /**
@@ -276,25 +285,51 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
+        if (System.nanoTime() - nextReadNanos < 0) {
+            return;
+        }
         ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
+        if (datapoint == null) {
+            if (readDatapoints.finishBatch()) {
+                logger.debug("Finished reading from the KNX bus: {} datapoints read, {} failed in {}ms",
+                        readDatapoints.getBatchRead(), readDatapoints.getBatchFailed(),
+                        readDatapoints.getBatchDurationMillis());
             }
+            return;
+        }
+        datapoint.incrementRetries();
+        long start = System.nanoTime();
+        boolean completed = true;
+        try {
+            logger.trace("Sending a Group Read Request telegram for {} ({})", datapoint.getDatapoint().getMainAddress(),
+                    datapoint.getPriority());
+            processCommunicator.read(datapoint.getDatapoint());
+            readPacing.recordSuccess(System.nanoTime() - start);
+            readDatapoints.recordRead();
+        } catch (KNXException e) {
+            readPacing.recordFailure();
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                completed = false;
+                readDatapoints.add(datapoint);
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                        datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            } else {
+                readDatapoints.recordFailed();
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
+            }
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted sending KNX read request");
+            return;
+        }
+        long now = System.nanoTime();
+        nextReadNanos = now + TimeUnit.MILLISECONDS.toNanos(readPacing.getPauseMillis(now));
+        int processed = readDatapoints.getBatchRead() + readDatapoints.getBatchFailed();
+        if (completed && processed % READ_PROGRESS_INTERVAL == 0) {
+            logger.debug("Reading from the KNX bus: {} datapoints read, {} failed, {} pending ({} refresh, {} startup)"
+                    + " in {}ms, {}", readDatapoints.getBatchRead(), readDatapoints.getBatchFailed(),
+                    readDatapoints.size(), readDatapoints.size(ReadPriority.REFRESH),
+                    readDatapoints.size(ReadPriority.STARTUP), readDatapoints.getBatchDurationMillis(), readPacing);
         }
     }
 
@@ -362,23 +397,18 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        return groupAddressDispatcher.register(listener);
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        return groupAddressDispatcher.unregister(listener);
     }
 
     @Override
@@ -410,7 +440,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         logger.trace("writeToKNX groupAddress '{}', commandSpec '{}'", groupAddress, commandSpec);
 
         if (groupAddress != null) {
-            sendToKNX(processCommunicator, link, groupAddress, commandSpec.getDPT(), commandSpec.getType());
+            outboundTelegrams.add(groupAddress, false, commandSpec, isAbsoluteState(commandSpec.getDPT()));
         }
     }
 
@@ -429,8 +459,27 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         logger.trace("respondToKNX groupAddress '{}', responseSpec '{}'", groupAddress, responseSpec);
 
         if (groupAddress != null) {
-            sendToKNX(responseCommunicator, link, groupAddress, responseSpec.getDPT(), responseSpec.getType());
+            outboundTelegrams.add(groupAddress, true, responseSpec, isAbsoluteState(responseSpec.getDPT()));
+        }
+    }
+
+    /**
+     * Steps, triggers and relative dimming or blind controls (DPT 3.xxx) add up on the bus, so every one of them has
+     * to be sent. Any other value is an absolute state which makes earlier values of the same group address obsolete.
+     */
+    private static boolean isAbsoluteState(String dpt) {
+        return !dpt.startsWith(DPT_MAIN_NUMBER_3BIT_CONTROLLED) && !dpt.equals(DPTXlatorBoolean.DPT_STEP.getID())
+                && !dpt.equals(DPTXlatorBoolean.DPT_TRIGGER.getID());
+    }
+
+    private void sendQueued(GroupAddress groupAddress, boolean response, OutboundSpec spec) throws KNXException {
+        ProcessCommunicationBase communicator = response ? responseCommunicator : processCommunicator;
+        KNXNetworkLink link = this.link;
+        if (communicator == null || link == null) {
+            logger.debug("Dropping telegram to '{}', the bridge {} is disconnected", groupAddress, thingUID);
+            return;
         }
+        sendToKNX(communicator, link, groupAddress, spec.getDPT(), spec.getType());
     }
 
     private void sendToKNX(ProcessCommunicationBase communicator, KNXNetworkLink link, GroupAddress groupAddress,
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Dispatches telegrams to the {@link GroupAddressListener}s interested in the destination group address.
+ *
+ * The listeners are indexed by their group addresses when they are registered, so that finding the listeners of a
+ * telegram does not depend on the number of registered listeners.
+ *
+ * Each listener has its own queue of pending notifications. A single task is executed per listener to process all the
+ * notifications queued for it, so that the notifications of a listener are processed in the order of the telegrams.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupAddressDispatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcher.class);
+
+    /**
+     * Pending notifications of a single listener
+     */
+    private class Mailbox implements Runnable {
+        private final GroupAddressListener listener;
+        private final Queue<Consumer<GroupAddressListener>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private Set<GroupAddress> groupAddresses;
+        private volatile boolean closed;
+
+        private Mailbox(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+            this.listener = listener;
+            this.groupAddresses = groupAddresses;
+        }
+
+        private void post(Consumer<GroupAddressListener> notification) {
+            pending.add(notification);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Could not notify listener {}: {}", listener, e.getMessage());
+                    pending.clear();
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Consumer<GroupAddressListener> notification;
+                while ((notification = pending.poll()) != null) {
+                    if (closed) {
+                        pending.clear();
+                        break;
+                    }
+                    try {
+                        notification.accept(listener);
+                    } catch (RuntimeException e) {
+                        logger.warn("Listener {} failed to process a telegram: {}", listener, e.getMessage(), e);
+                    }
+                }
+                scheduled.set(false);
+                // a notification might have been posted after the queue was found empty, but before the flag was
+                // cleared
+            } while (!pending.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+
+    private final Executor executor;
+    private final Map<GroupAddress, Set<Mailbox>> index = new ConcurrentHashMap<>();
+    // guarded by this
+    private final Map<GroupAddressListener, Mailbox> mailboxes = new HashMap<>();
+
+    /**
+     * @param executor executor used to notify the listeners
+     */
+    public GroupAddressDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register the given listener, or update the group addresses of the listener if it is registered already.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        Set<GroupAddress> groupAddresses = new HashSet<>(listener.getGroupAddresses());
+        Mailbox mailbox = mailboxes.get(listener);
+        if (mailbox != null) {
+            unindex(mailbox);
+            mailbox.groupAddresses = groupAddresses;
+            index(mailbox);
+            return false;
+        }
+        mailbox = new Mailbox(listener, groupAddresses);
+        mailboxes.put(listener, mailbox);
+        index(mailbox);
+        return true;
+    }
+
+    /**
+     * Remove the given listener. Notifications still pending for the listener are dropped.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was successfully removed
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        Mailbox mailbox = mailboxes.remove(listener);
+        if (mailbox == null) {
+            return false;
+        }
+        mailbox.closed = true;
+        unindex(mailbox);
+        return true;
+    }
+
+    /**
+     * Get the listeners registered for the given group address
+     *
+     * @param destination the group address
+     * @return the listeners
+     */
+    public Set<GroupAddressListener> getListeners(GroupAddress destination) {
+        Set<Mailbox> targets = index.get(destination);
+        if (targets == null) {
+            return Collections.emptySet();
+        }
+        Set<GroupAddressListener> listeners = new HashSet<>();
+        for (Mailbox mailbox : targets) {
+            listeners.add(mailbox.listener);
+        }
+        return listeners;
+    }
+
+    /**
+     * Queue the notification for all the listeners of the given group address
+     *
+     * @param destination the destination of the telegram
+     * @param notification notification to apply to each of the listeners
+     * @return {@code true} if there were any listeners for the group address
+     */
+    public boolean dispatch(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        Set<Mailbox> targets = index.get(destination);
+        if (targets == null) {
+            return false;
+        }
+        boolean dispatched = false;
+        for (Mailbox mailbox : targets) {
+            mailbox.post(notification);
+            dispatched = true;
+        }
+        return dispatched;
+    }
+
+    private void index(Mailbox mailbox) {
+        for (GroupAddress groupAddress : mailbox.groupAddresses) {
+            index.computeIfAbsent(groupAddress, key -> new CopyOnWriteArraySet<>()).add(mailbox);
+        }
+    }
+
+    private void unindex(Mailbox mailbox) {
+        for (GroupAddress groupAddress : mailbox.groupAddresses) {
+            Set<Mailbox> targets = index.get(groupAddress);
+            if (targets != null) {
+                targets.remove(mailbox);
+                if (targets.isEmpty()) {
+                    index.remove(groupAddress);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+
+/**
+ * Queue of telegrams to be sent to the KNX bus.
+ *
+ * The telegrams are sent one at a time by a single task, at most at the rate allowed by the
+ * {@link TelegramRateLimiter}, in the order they have been queued.
+ *
+ * Telegrams carrying an absolute state may be superseded: if such a telegram is still queued when a newer one of the
+ * same kind is queued for the same group address, the older one is dropped and only the latest value is sent, at the
+ * position of the newer one. Telegrams which are not superseded, e.g. relative dimming steps, are always sent.
+ *
+ * The time each telegram takes to be sent, which includes waiting for the confirmation of the gateway, is tracked.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> the payload of the telegrams
+ */
+@NonNullByDefault
+public class OutboundTelegramQueue<T> {
+
+    /**
+     * Sends a telegram to the KNX bus
+     */
+    @FunctionalInterface
+    public interface Sender<T> {
+        void send(GroupAddress groupAddress, boolean response, T payload) throws KNXException;
+    }
+
+    /**
+     * Runs a task after the given delay
+     */
+    @FunctionalInterface
+    public interface Scheduler {
+        void schedule(Runnable task, long delayNanos);
+    }
+
+    private static class Key {
+        private final GroupAddress groupAddress;
+        private final boolean response;
+
+        private Key(GroupAddress groupAddress, boolean response) {
+            this.groupAddress = groupAddress;
+            this.response = response;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupAddress, response);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return response == other.response && groupAddress.equals(other.groupAddress);
+        }
+    }
+
+    private class Telegram {
+        private final Key key;
+        private final T payload;
+        private boolean superseded;
+
+        private Telegram(Key key, T payload) {
+            this.key = key;
+            this.payload = payload;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(OutboundTelegramQueue.class);
+
+    private final Sender<T> sender;
+    private final Scheduler scheduler;
+    private final TelegramRateLimiter rateLimiter;
+    private final LongSupplier nanoTime;
+
+    private final Deque<Telegram> pending = new ArrayDeque<>();
+    /**
+     * The queued telegram which may be superseded, per destination
+     */
+    private final Map<Key, Telegram> supersedable = new HashMap<>();
+    private int size;
+    private boolean scheduled;
+
+    private long sent;
+    private long superseded;
+    private long failed;
+    private double smoothedLatencyMillis;
+    private double maxLatencyMillis;
+
+    public OutboundTelegramQueue(Sender<T> sender, Scheduler scheduler, int telegramsPerSecond) {
+        this(sender, scheduler, telegramsPerSecond, System::nanoTime);
+    }
+
+    OutboundTelegramQueue(Sender<T> sender, Scheduler scheduler, int telegramsPerSecond, LongSupplier nanoTime) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.nanoTime = nanoTime;
+        this.rateLimiter = new TelegramRateLimiter(telegramsPerSecond, nanoTime.getAsLong());
+    }
+
+    /**
+     * Queue a telegram
+     *
+     * @param groupAddress the destination
+     * @param response {@code true} for a group read response, {@code false} for a group write
+     * @param payload the payload
+     * @param supersede {@code true} if the payload is an absolute state, which supersedes a queued telegram of the
+     *            same kind to the same group address and can be superseded itself
+     */
+    public void add(GroupAddress groupAddress, boolean response, T payload, boolean supersede) {
+        synchronized (this) {
+            Key key = new Key(groupAddress, response);
+            Telegram telegram = new Telegram(key, payload);
+            Telegram previous = supersede ? supersedable.put(key, telegram) : supersedable.remove(key);
+            if (supersede && previous != null) {
+                // Dropped instead of replaced in place, so that telegrams are never sent before earlier ones
+                previous.superseded = true;
+                size--;
+                superseded++;
+                logger.trace("Superseded queued telegram to '{}' by '{}'", groupAddress, payload);
+            }
+            pending.add(telegram);
+            size++;
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        scheduler.schedule(this::drain, 0);
+    }
+
+    /**
+     * Drop all queued telegrams
+     */
+    public synchronized void clear() {
+        pending.clear();
+        supersedable.clear();
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void drain() {
+        while (true) {
+            Telegram next;
+            synchronized (this) {
+                while (!pending.isEmpty() && pending.peek().superseded) {
+                    pending.poll();
+                }
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+                long delay = rateLimiter.tryAcquire(nanoTime.getAsLong());
+                if (delay > 0) {
+                    scheduler.schedule(this::drain, delay);
+                    return;
+                }
+                next = pending.poll();
+                supersedable.remove(next.key, next);
+                size--;
+            }
+            Key key = next.key;
+            long start = nanoTime.getAsLong();
+            try {
+                sender.send(key.groupAddress, key.response, next.payload);
+                recordSent(nanoTime.getAsLong() - start);
+            } catch (KNXException e) {
+                recordFailed();
+                logger.warn("Could not send telegram to '{}': {}", key.groupAddress, e.getMessage());
+            } catch (RuntimeException e) {
+                recordFailed();
+                logger.warn("Error sending telegram to '{}': {}", key.groupAddress, e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized void recordSent(long latencyNanos) {
+        double latencyMillis = latencyNanos / 1_000_000.0;
+        smoothedLatencyMillis = sent == 0 ? latencyMillis : 0.875 * smoothedLatencyMillis + 0.125 * latencyMillis;
+        maxLatencyMillis = Math.max(maxLatencyMillis, latencyMillis);
+        sent++;
+        logger.trace("Telegram confirmed after {}ms", Math.round(latencyMillis));
+    }
+
+    private synchronized void recordFailed() {
+        failed++;
+    }
+
+    /**
+     * @return number of telegrams sent successfully
+     */
+    public synchronized long getSent() {
+        return sent;
+    }
+
+    /**
+     * @return number of telegrams which were dropped because a newer one to the same group address was queued
+     */
+    public synchronized long getSuperseded() {
+        return superseded;
+    }
+
+    /**
+     * @return number of telegrams which could not be sent
+     */
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return moving average of the time until sent telegrams were confirmed, in milliseconds
+     */
+    public synchronized double getSmoothedLatencyMillis() {
+        return smoothedLatencyMillis;
+    }
+
+    /**
+     * @return maximum time until a sent telegram was confirmed, in milliseconds
+     */
+    public synchronized double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "OutboundTelegramQueue(telegramsPerSecond=" + rateLimiter.getTelegramsPerSecond() + ", pending="
+                + size + ", sent=" + sent + ", superseded=" + superseded + ", failed=" + failed
+                + ", smoothedLatencyMillis=" + Math.round(smoothedLatencyMillis) + ", maxLatencyMillis="
+                + Math.round(maxLatencyMillis) + ")";
+    }
+
+}
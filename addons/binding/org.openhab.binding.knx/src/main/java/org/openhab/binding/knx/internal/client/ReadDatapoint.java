@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import org.openhab.binding.knx.client.ReadPriority;
+
 import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
@@ -20,11 +22,17 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
 
     public ReadDatapoint(Datapoint datapoint, int limit) {
+        this(datapoint, limit, ReadPriority.PERIODIC);
+    }
+
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
     }
 
     public Datapoint getDatapoint() {
@@ -43,6 +51,14 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of data points to be read from the KNX bus.
+ *
+ * The queue holds at most one data point per group address. Adding a data point for a group address which is queued
+ * already only raises the priority of the queued data point, if needed. Data points are returned in the order of
+ * {@link ReadPriority}, and in the order they were added within the same priority.
+ *
+ * The queue also keeps track of the progress of the current batch of reads, i.e. the reads since the queue was last
+ * empty.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueue {
+
+    private final Map<GroupAddress, ReadDatapoint> index = new HashMap<>();
+    private final Map<ReadPriority, Queue<ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+
+    private boolean batchActive;
+    private long batchStartNanos;
+    private long batchEndNanos;
+    private int batchRead;
+    private int batchFailed;
+
+    public ReadDatapointQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Add the data point to the queue
+     *
+     * @param datapoint the data point
+     * @return {@code true} if the data point was added or the priority of the queued data point was raised
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = index.get(groupAddress);
+        if (queued != null) {
+            if (datapoint.getPriority().compareTo(queued.getPriority()) >= 0) {
+                return false;
+            }
+            // the entry in the queue of the lower priority is skipped by poll()
+            queued.setPriority(datapoint.getPriority());
+            queues.get(queued.getPriority()).add(queued);
+            return true;
+        }
+        if (!batchActive) {
+            batchActive = true;
+            batchStartNanos = System.nanoTime();
+            batchRead = 0;
+            batchFailed = 0;
+        }
+        index.put(groupAddress, datapoint);
+        queues.get(datapoint.getPriority()).add(datapoint);
+        return true;
+    }
+
+    /**
+     * Retrieve and remove the data point with the highest priority
+     *
+     * @return the data point, or {@code null} if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        for (Entry<ReadPriority, Queue<ReadDatapoint>> entry : queues.entrySet()) {
+            ReadDatapoint datapoint;
+            while ((datapoint = entry.getValue().poll()) != null) {
+                GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+                if (index.get(groupAddress) == datapoint && datapoint.getPriority() == entry.getKey()) {
+                    index.remove(groupAddress);
+                    return datapoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    public synchronized boolean contains(GroupAddress groupAddress) {
+        return index.containsKey(groupAddress);
+    }
+
+    public synchronized void clear() {
+        index.clear();
+        queues.values().forEach(Queue::clear);
+        batchActive = false;
+    }
+
+    /**
+     * Get the number of queued data points
+     *
+     * @param priority the priority
+     * @return number of data points queued with the given priority
+     */
+    public synchronized int size(ReadPriority priority) {
+        return (int) index.values().stream().filter(datapoint -> datapoint.getPriority() == priority).count();
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Record a data point of the current batch read successfully
+     */
+    public synchronized void recordRead() {
+        batchRead++;
+    }
+
+    /**
+     * Record a data point of the current batch which could not be read, and will not be retried
+     */
+    public synchronized void recordFailed() {
+        batchFailed++;
+    }
+
+    /**
+     * Finish the current batch, if all of its data points have been processed
+     *
+     * @return {@code true} if the batch was finished by this call
+     */
+    public synchronized boolean finishBatch() {
+        if (!batchActive || !index.isEmpty()) {
+            return false;
+        }
+        batchActive = false;
+        batchEndNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * @return number of data points read successfully in the current (or last finished) batch
+     */
+    public synchronized int getBatchRead() {
+        return batchRead;
+    }
+
+    /**
+     * @return number of data points given up in the current (or last finished) batch
+     */
+    public synchronized int getBatchFailed() {
+        return batchFailed;
+    }
+
+    /**
+     * @return duration of the current (or last finished) batch in milliseconds
+     */
+    public synchronized long getBatchDurationMillis() {
+        long end = batchActive ? System.nanoTime() : batchEndNanos;
+        return (end - batchStartNanos) / 1_000_000;
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Pause between read requests, adapted to the load of the KNX bus and the response time of the read requests.
+ *
+ * The configured reading pause is the minimum pause. The pause is doubled for each failed read request, and halved
+ * again with each successful one. When the bus is busy with other telegrams, the pause is extended in proportion to the
+ * load and the response time of the read requests, so that the reads do not congest the bus.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadPacing {
+
+    /**
+     * Telegrams per second above which the bus is considered busy
+     */
+    static final int BUSY_TELEGRAMS_PER_SECOND = 20;
+
+    static final int MAX_BACKOFF = 32;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int minPauseMillis;
+
+    private int backoff = 1;
+    private double smoothedLatencyMillis;
+    private long windowStartNanos;
+    private int windowTelegrams;
+    private int telegramsPerSecond;
+
+    public ReadPacing(int minPauseMillis) {
+        this.minPauseMillis = minPauseMillis;
+    }
+
+    /**
+     * Record a telegram seen on the bus
+     *
+     * @param nowNanos current value of {@link System#nanoTime()}
+     */
+    public synchronized void recordTelegram(long nowNanos) {
+        rollWindow(nowNanos);
+        windowTelegrams++;
+    }
+
+    /**
+     * Record a read request which was answered
+     *
+     * @param latencyNanos time between sending the request and receiving the response
+     */
+    public synchronized void recordSuccess(long latencyNanos) {
+        double latencyMillis = latencyNanos / 1_000_000.0;
+        smoothedLatencyMillis = smoothedLatencyMillis == 0 ? latencyMillis
+                : 0.875 * smoothedLatencyMillis + 0.125 * latencyMillis;
+        backoff = Math.max(1, backoff / 2);
+    }
+
+    /**
+     * Record a read request which failed or timed out
+     */
+    public synchronized void recordFailure() {
+        backoff = Math.min(MAX_BACKOFF, backoff * 2);
+    }
+
+    /**
+     * Get the pause before the next read request
+     *
+     * @param nowNanos current value of {@link System#nanoTime()}
+     * @return pause in milliseconds
+     */
+    public synchronized long getPauseMillis(long nowNanos) {
+        rollWindow(nowNanos);
+        long pause = (long) minPauseMillis * backoff;
+        if (telegramsPerSecond > BUSY_TELEGRAMS_PER_SECOND) {
+            pause += Math.round(smoothedLatencyMillis * telegramsPerSecond / BUSY_TELEGRAMS_PER_SECOND);
+        }
+        return pause;
+    }
+
+    /**
+     * @return number of telegrams seen during the last complete second
+     */
+    public synchronized int getTelegramsPerSecond(long nowNanos) {
+        rollWindow(nowNanos);
+        return telegramsPerSecond;
+    }
+
+    private void rollWindow(long nowNanos) {
+        long elapsed = nowNanos - windowStartNanos;
+        if (elapsed < WINDOW_NANOS) {
+            return;
+        }
+        // telegrams of the previous window only count if it ended just now
+        telegramsPerSecond = elapsed < 2 * WINDOW_NANOS ? windowTelegrams : 0;
+        windowTelegrams = 0;
+        windowStartNanos = nowNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ReadPacing(backoff=" + backoff + ", smoothedLatencyMillis=" + Math.round(smoothedLatencyMillis)
+                + ", telegramsPerSecond=" + telegramsPerSecond + ")";
+    }
+
+}
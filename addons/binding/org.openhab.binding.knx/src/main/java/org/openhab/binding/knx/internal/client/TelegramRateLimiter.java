@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Token bucket limiting the rate of telegrams sent to the KNX bus.
+ *
+ * The bucket is refilled at the configured rate, and holds the tokens of at most a fifth of a second, so that short
+ * bursts are sent without delay while longer bursts are spread at the configured rate.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class TelegramRateLimiter {
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int telegramsPerSecond;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param telegramsPerSecond maximum rate of telegrams, 0 or less for unlimited rate
+     * @param nowNanos current value of {@link System#nanoTime()}
+     */
+    public TelegramRateLimiter(int telegramsPerSecond, long nowNanos) {
+        this.telegramsPerSecond = telegramsPerSecond;
+        this.capacity = Math.max(1, telegramsPerSecond / 5);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Take a token for sending a telegram, if available
+     *
+     * @param nowNanos current value of {@link System#nanoTime()}
+     * @return 0 if the telegram may be sent now, otherwise the time to wait in nanoseconds before trying again
+     */
+    public synchronized long tryAcquire(long nowNanos) {
+        if (telegramsPerSecond <= 0) {
+            return 0;
+        }
+        tokens = Math.min(capacity, tokens + (double) (nowNanos - lastRefillNanos) * telegramsPerSecond / SECOND_NANOS);
+        lastRefillNanos = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * SECOND_NANOS / telegramsPerSecond);
+    }
+
+    public int getTelegramsPerSecond() {
+        return telegramsPerSecond;
+    }
+
+}
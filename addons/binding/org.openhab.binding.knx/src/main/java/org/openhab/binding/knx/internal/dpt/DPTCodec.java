@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+/**
+ * Decodes the ASDU of the most common datapoint types directly, without creating a calimero translator.
+ *
+ * The computations are the same as in the calimero translators, so that the results are identical to the values
+ * returned by the translators. All methods expect the ASDU to have the exact size of the datapoint type.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public final class DPTCodec {
+
+    private DPTCodec() {
+        // static methods only
+    }
+
+    /**
+     * Decode B1 value (main number 1)
+     *
+     * @param data ASDU, 1 byte
+     * @return the boolean value
+     */
+    public static boolean decodeBoolean(byte[] data) {
+        return (data[0] & 0x01) != 0;
+    }
+
+    /**
+     * Decode 8-bit unsigned value (main number 5) without scaling
+     *
+     * @param data ASDU, 1 byte
+     * @return the value 0...255
+     */
+    public static double decode8BitUnsigned(byte[] data) {
+        return data[0] & 0xFF;
+    }
+
+    /**
+     * Decode 8-bit unsigned value scaled to 0...100 % (5.001)
+     *
+     * @param data ASDU, 1 byte
+     * @return the value 0...100
+     */
+    public static double decodeScaling(byte[] data) {
+        return (data[0] & 0xFF) * 100.0 / 255.0;
+    }
+
+    /**
+     * Decode 8-bit unsigned value scaled to 0...360 degrees (5.003)
+     *
+     * @param data ASDU, 1 byte
+     * @return the value 0...360
+     */
+    public static double decodeAngle(byte[] data) {
+        return (data[0] & 0xFF) * 360.0 / 255.0;
+    }
+
+    /**
+     * Decode 2-octet float value (main number 9)
+     *
+     * @param data ASDU, 2 bytes
+     * @return the value
+     */
+    public static double decode2ByteFloat(byte[] data) {
+        int high = data[0] & 0xFF;
+        int low = data[1] & 0xFF;
+        // 12 bit two's complement mantissa: sign bit, then 11 bits
+        int mantissa = ((high & 0x80) << 24 | (high & 0x07) << 28 | low << 20) >> 20;
+        int exponent = (high & 0x78) >> 3;
+        return (double) ((1 << exponent) * mantissa) * 0.01;
+    }
+
+    /**
+     * Decode 4-octet IEEE 754 float value (main number 14)
+     *
+     * @param data ASDU, 4 bytes
+     * @return the value
+     */
+    public static double decode4ByteFloat(byte[] data) {
+        int bits = (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Decode one of the color components of a RGB value (232.600)
+     *
+     * @param data ASDU, 3 bytes
+     * @param component 0 for red, 1 for green, 2 for blue
+     * @return the component 0...255
+     */
+    public static int decodeRGBComponent(byte[] data, int component) {
+        return data[component] & 0xFF;
+    }
+
+}
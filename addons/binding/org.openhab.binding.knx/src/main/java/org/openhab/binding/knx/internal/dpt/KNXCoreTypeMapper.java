@@ -15,11 +15,15 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -103,6 +107,15 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /**
+     * stores direct decoders of the ASDU for the most common KNX datapoint types.
+     * The decoders return {@code null} if they can't handle the data, and the calimero translator is used instead.
+     */
+    private final Map<String, Function<byte[], Type>> decoderMap;
+
+    /** caches the calimero datapoint types by datapoint type id */
+    private final Map<String, DPT> dptCache = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -565,6 +578,96 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         defaultDptMap.put(DateTimeType.class, DPTXlatorTime.DPT_TIMEOFDAY.getID());
         defaultDptMap.put(StringType.class, DPTXlatorString.DPT_STRING_8859_1.getID());
         defaultDptMap.put(HSBType.class, DPTXlatorRGB.DPT_RGB.getID());
+
+        decoderMap = new HashMap<String, Function<byte[], Type>>();
+        registerDecoders();
+    }
+
+    /**
+     * Registers the direct decoders for the datapoint types of main numbers 1, 5, 9, 14 and 232. Only the datapoint
+     * types known to calimero are registered, so that the supported datapoint types are the same with and without the
+     * direct decoders.
+     */
+    private void registerDecoders() {
+        for (String id : getSubTypeIDs(1)) {
+            Function<Boolean, Type> mapping;
+            switch (getSubNumber(id)) {
+                case 8:
+                    mapping = value -> value ? UpDownType.DOWN : UpDownType.UP;
+                    break;
+                case 9:
+                case 19:
+                    mapping = value -> value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    break;
+                case 10:
+                    mapping = value -> value ? StopMoveType.MOVE : StopMoveType.STOP;
+                    break;
+                case 22:
+                    mapping = value -> DecimalType.valueOf(value ? "1" : "0");
+                    break;
+                default:
+                    mapping = value -> value ? OnOffType.ON : OnOffType.OFF;
+                    break;
+            }
+            decoderMap.put(id, data -> data.length == 1 ? mapping.apply(DPTCodec.decodeBoolean(data)) : null);
+        }
+        for (String id : getSubTypeIDs(5)) {
+            if (DPTXlator8BitUnsigned.DPT_SCALING.getID().equals(id)) {
+                registerNumericDecoder(id, 1, DPTCodec::decodeScaling);
+            } else if (DPTXlator8BitUnsigned.DPT_ANGLE.getID().equals(id)) {
+                registerNumericDecoder(id, 1, DPTCodec::decodeAngle);
+            } else {
+                registerNumericDecoder(id, 1, DPTCodec::decode8BitUnsigned);
+            }
+        }
+        for (String id : getSubTypeIDs(9)) {
+            registerNumericDecoder(id, 2, DPTCodec::decode2ByteFloat);
+        }
+        for (String id : getSubTypeIDs(14)) {
+            registerNumericDecoder(id, 4, DPTCodec::decode4ByteFloat);
+        }
+        for (String id : getSubTypeIDs(232)) {
+            if (HSBType.class.equals(toTypeClass(id))) {
+                decoderMap.put(id, data -> data.length == 3 ? HSBType.fromRGB(DPTCodec.decodeRGBComponent(data, 0),
+                        DPTCodec.decodeRGBComponent(data, 1), DPTCodec.decodeRGBComponent(data, 2)) : null);
+            }
+        }
+    }
+
+    private void registerNumericDecoder(String id, int size, ToDoubleFunction<byte[]> decoder) {
+        Class<? extends Type> typeClass = toTypeClass(id);
+        if (PercentType.class.equals(typeClass)) {
+            decoderMap.put(id, data -> data.length == size
+                    ? new PercentType(BigDecimal.valueOf(Math.round(decoder.applyAsDouble(data)))) : null);
+        } else if (DecimalType.class.equals(typeClass)) {
+            decoderMap.put(id, data -> data.length == size ? new DecimalType(decoder.applyAsDouble(data)) : null);
+        }
+    }
+
+    private Iterable<String> getSubTypeIDs(int mainNumber) {
+        try {
+            return TranslatorTypes.getMainType(mainNumber).getSubTypes().keySet();
+        } catch (KNXException | RuntimeException e) {
+            logger.debug("Could not get the datapoint types of main number {}: {}", mainNumber, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Retrieves the calimero datapoint type, creating a translator only on first use of the datapoint type id.
+     *
+     * @param mainNumber the main number
+     * @param dptID the datapoint type id
+     * @return the datapoint type
+     * @throws KNXException if there is no translator for the datapoint type id
+     */
+    private DPT getDPT(int mainNumber, String dptID) throws KNXException {
+        DPT dpt = dptCache.get(dptID);
+        if (dpt == null) {
+            dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+            dptCache.put(dptID, dpt);
+        }
+        return dpt;
     }
 
     @Override
@@ -583,8 +686,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         }
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
+            dpt = getDPT(mainNumber, dptID);
         } catch (KNXException e) {
             return null;
         }
@@ -662,6 +764,24 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        Function<byte[], Type> decoder = decoderMap.get(datapoint.getDPT());
+        if (decoder != null) {
+            Type type = decoder.apply(data);
+            if (type != null) {
+                return type;
+            }
+        }
+        return toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Converts the data using the calimero translator of the datapoint type
+     *
+     * @param datapoint the datapoint
+     * @param data the ASDU
+     * @return the openHAB type, or {@code null} if the data could not be converted
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -11,6 +11,8 @@ package org.openhab.binding.knx.internal.handler;
 import static org.openhab.binding.knx.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -37,6 +39,7 @@ import org.openhab.binding.knx.KNXBindingConstants;
 import org.openhab.binding.knx.KNXTypeMapper;
 import org.openhab.binding.knx.client.InboundSpec;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.handler.AbstractKNXThingHandler;
 import org.openhab.binding.knx.internal.channel.KNXChannelType;
 import org.openhab.binding.knx.internal.channel.KNXChannelTypes;
@@ -68,27 +71,77 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     private final Set<GroupAddress> groupAddresses = new HashSet<>();
     private final Map<GroupAddress, @Nullable ScheduledFuture<?>> readFutures = new HashMap<>();
     private final Map<ChannelUID, @Nullable ScheduledFuture<?>> channelFutures = new HashMap<>();
+    private volatile Map<GroupAddress, List<ListenRoute>> listenRoutes = Collections.emptyMap();
+    private volatile Map<GroupAddress, List<ChannelUID>> responseRoutes = Collections.emptyMap();
     private @Nullable IndividualAddress address;
     private int readInterval;
 
+    /**
+     * Channel receiving the telegrams of a group address, with the listen spec matching the group address
+     */
+    private static class ListenRoute {
+        private final ChannelUID channelUID;
+        private final InboundSpec listenSpec;
+
+        private ListenRoute(ChannelUID channelUID, InboundSpec listenSpec) {
+            this.channelUID = channelUID;
+            this.listenSpec = listenSpec;
+        }
+    }
+
     public DeviceThingHandler(Thing thing) {
         super(thing);
     }
 
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // the group addresses must be known before the handler is registered with the client
         initializeGroupAddresses();
+        super.initialize();
     }
 
     private void initializeGroupAddresses() {
+        groupAddresses.clear();
         forAllChannels((selector, channelConfiguration) -> {
             groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
             groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
             groupAddresses.addAll(selector.getListenAddresses(channelConfiguration));
         });
+        initializeRoutes();
+    }
+
+    /**
+     * Precompute the channels affected by the telegrams of each group address, so that the channel configurations do
+     * not need to be parsed for each received telegram.
+     */
+    private void initializeRoutes() {
+        Map<GroupAddress, List<ListenRoute>> listenRoutes = new HashMap<>();
+        Map<GroupAddress, List<ChannelUID>> responseRoutes = new HashMap<>();
+        for (Channel channel : getThing().getChannels()) {
+            ChannelUID channelUID = channel.getUID();
+            boolean control = isControl(channelUID);
+            withKNXType(channel, (selector, configuration) -> {
+                Set<GroupAddress> routed = new HashSet<>();
+                for (InboundSpec listenSpec : selector.getListenSpecs(configuration)) {
+                    for (GroupAddress groupAddress : listenSpec.getGroupAddresses()) {
+                        // only the first matching spec of the channel is used for a group address
+                        if (routed.add(groupAddress)) {
+                            listenRoutes.computeIfAbsent(groupAddress, ga -> new ArrayList<>())
+                                    .add(new ListenRoute(channelUID, listenSpec));
+                        }
+                    }
+                }
+                if (control) {
+                    for (GroupAddress groupAddress : selector.getWriteAddresses(configuration)) {
+                        responseRoutes.computeIfAbsent(groupAddress, ga -> new ArrayList<>()).add(channelUID);
+                    }
+                }
+            });
+        }
+        this.listenRoutes = listenRoutes;
+        this.responseRoutes = responseRoutes;
     }
 
     @Override
@@ -134,7 +187,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     public void channelLinked(ChannelUID channelUID) {
         if (!isControl(channelUID)) {
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, ReadPriority.STARTUP);
             });
         }
     }
@@ -145,42 +198,45 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         for (Channel channel : getThing().getChannels()) {
             if (isLinked(channel.getUID().getId()) && !isControl(channel.getUID())) {
                 withKNXType(channel, (selector, configuration) -> {
-                    scheduleRead(selector, configuration);
+                    scheduleRead(selector, configuration, ReadPriority.STARTUP);
                 });
             }
         }
     }
 
-    private void scheduleRead(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+    private void scheduleRead(KNXChannelType selector, Configuration configuration, ReadPriority priority)
+            throws KNXFormatException {
         List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
         for (InboundSpec readSpec : readSpecs) {
             for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
-                scheduleReadJob(groupAddress, readSpec.getDPT());
+                scheduleReadJob(groupAddress, readSpec.getDPT(), priority);
             }
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
-        if (readInterval > 0) {
+    private void scheduleReadJob(GroupAddress groupAddress, String dpt, ReadPriority priority) {
+        if (readInterval > 0 && priority != ReadPriority.REFRESH) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
+                future = getScheduler().scheduleWithFixedDelay(
+                        () -> readDatapoint(groupAddress, dpt, ReadPriority.PERIODIC), readInterval, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -189,13 +245,18 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         return groupAddresses.contains(destination);
     }
 
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return Collections.unmodifiableSet(groupAddresses);
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.trace("Handling command '{}' for channel '{}'", command, channelUID);
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, ReadPriority.REFRESH);
             });
         } else {
             switch (channelUID.getId()) {
@@ -239,16 +300,8 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         logger.trace("Thing '{}' received a Group Read Request telegram from '{}' for destination '{}'",
                 getThing().getUID(), source, destination);
 
-        for (Channel channel : getThing().getChannels()) {
-            if (isControl(channel.getUID())) {
-                withKNXType(channel, (selector, configuration) -> {
-                    OutboundSpec responseSpec = selector.getResponseSpec(configuration, destination,
-                            RefreshType.REFRESH);
-                    if (responseSpec != null) {
-                        postCommand(channel.getUID().getId(), RefreshType.REFRESH);
-                    }
-                });
-            }
+        for (ChannelUID channelUID : responseRoutes.getOrDefault(destination, Collections.emptyList())) {
+            postCommand(channelUID.getId(), RefreshType.REFRESH);
         }
     }
 
@@ -265,15 +318,10 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         logger.debug("Thing '{}' received a Group Write telegram from '{}' for destination '{}'", getThing().getUID(),
                 source, destination);
 
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, (selector, configuration) -> {
-                InboundSpec listenSpec = selector.getListenSpec(configuration, destination);
-                if (listenSpec != null) {
-                    logger.trace("Thing '{}' processes a Group Write telegram for destination '{}' for channel '{}'",
-                            getThing().getUID(), destination, channel.getUID());
-                    processDataReceived(destination, asdu, listenSpec, channel.getUID());
-                }
-            });
+        for (ListenRoute route : listenRoutes.getOrDefault(destination, Collections.emptyList())) {
+            logger.trace("Thing '{}' processes a Group Write telegram for destination '{}' for channel '{}'",
+                    getThing().getUID(), destination, route.channelUID);
+            processDataReceived(destination, asdu, route.listenSpec, route.channelUID);
         }
     }
 
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link MultiPatternMatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcherTest {
+
+    private static final String[] PATTERNS = { "ERROR+", "WARN+", "Exception", "\\[ERROR\\]", "connect timed out",
+            "192\\.168\\.1\\.1\\d?\\b", "Item '[A-Za-z_]+' received command (ON|OFF)", "^\\tat java\\.net", "OFF$",
+            "KNX bus.*failed", "Garage_?Door", "ab{0,2}cdx?y", "\\d{3}ms", "(?i)knx", "", "7", "\\x41BC", "\\u0041BC",
+            "\\0101BC", "\\cAxy", "(?<n>ab)\\k<n>", "(ab)\\1", "\\p{Lu}rror", "\\pLarn" };
+
+    @Test
+    public void testRequiredLiteral() {
+        assertEquals("ERROR", MultiPatternMatcher.getRequiredLiteral("ERROR+"));
+        assertEquals("[ERROR]", MultiPatternMatcher.getRequiredLiteral("\\[ERROR\\]"));
+        assertEquals("192.168.1.1", MultiPatternMatcher.getRequiredLiteral("192\\.168\\.1\\.1\\d?\\b"));
+        assertEquals("' received command ",
+                MultiPatternMatcher.getRequiredLiteral("Item '[A-Za-z_]+' received command (ON|OFF)"));
+        assertEquals("Garage", MultiPatternMatcher.getRequiredLiteral("Garage_?Door"));
+        assertEquals("cd", MultiPatternMatcher.getRequiredLiteral("cd"));
+        assertEquals("bcd", MultiPatternMatcher.getRequiredLiteral("ab{2}bcd"));
+        assertEquals("xab", MultiPatternMatcher.getRequiredLiteral("xab+c"));
+        assertEquals("cd", MultiPatternMatcher.getRequiredLiteral("ab?cd"));
+        assertNull("Too short", MultiPatternMatcher.getRequiredLiteral("a.b?c"));
+        assertNull("Inline flags", MultiPatternMatcher.getRequiredLiteral("(?i)error"));
+        assertNull("Alternatives", MultiPatternMatcher.getRequiredLiteral("error|warn"));
+        assertNull("Empty", MultiPatternMatcher.getRequiredLiteral(""));
+        assertEquals("\tat java.net", MultiPatternMatcher.getRequiredLiteral("^\\tat java\\.net"));
+        assertEquals("rror", MultiPatternMatcher.getRequiredLiteral("\\p{Lu}rror"));
+        assertNull("Hexadecimal escape", MultiPatternMatcher.getRequiredLiteral("\\x41BC"));
+        assertNull("Unicode escape", MultiPatternMatcher.getRequiredLiteral("\\u0041BC"));
+        assertNull("Octal escape", MultiPatternMatcher.getRequiredLiteral("\\0101BC"));
+        assertNull("Control character escape", MultiPatternMatcher.getRequiredLiteral("\\cAxy"));
+        assertNull("Back reference", MultiPatternMatcher.getRequiredLiteral("(ab)\\1"));
+    }
+
+    @Test
+    public void testSameResultAsRegularExpressions() {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String pattern : PATTERNS) {
+            patterns.add(Pattern.compile(pattern));
+        }
+        String[] data = { "2018-11-12 [ERROR] connect timed out", "WAR", "IllegalStateException", "192.168.1.10 up",
+                "192.168.1.100 up", "Item 'Garage_Door' received command OFF", "\tat java.net.Socket.connect",
+                " \tat java.net.Socket.connect", "KNX bus on 192.168.1.5 failed", "GarageDoor", "abbcdy", "acdx",
+                "took 5000ms", "Knx", "seven 7", "", "ABC", "41BC", "0041BC", "101BC", "\u0001xy", "Axy", "abab", "ab1",
+                "Error", "error", "Warn", "Larn" };
+
+        for (int i = 0; i < patterns.size(); i++) {
+            for (int j = i; j <= patterns.size(); j++) {
+                List<Pattern> subset = patterns.subList(i, j);
+                MultiPatternMatcher matcher = new MultiPatternMatcher(subset);
+                for (String line : data) {
+                    assertEquals(subset + " on " + line, find(subset, line), matcher.find(line));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOverlappingLiterals() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(
+                Arrays.asList(Pattern.compile("she"), Pattern.compile("hers\\d"), Pattern.compile("he")));
+
+        assertTrue(matcher.find("ushers"));
+        assertFalse(matcher.find("hrs"));
+        assertTrue(matcher.find("hers1"));
+        assertFalse(new MultiPatternMatcher(Arrays.asList(Pattern.compile("hers\\d"))).find("ushers"));
+    }
+
+    private static boolean find(List<Pattern> patterns, String data) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link SearchEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SearchEngineTest {
+
+    // Synthetic lines in the format of openhab.log, not a recorded log
+    private static final String LOG_FILE = "/synthetic-openhab.log";
+    private static final String PATTERNS = "ERROR+|WARN+|Exception|connect timed out|Item '[A-Za-z_]+' received command OFF|KNX bus.*failed|\\d{4}ms";
+    private static final String BLACKLISTING_PATTERNS = "Lights off|Garage_Door|SocketTimeout";
+
+    @Test
+    public void testBlacklisting() {
+        SearchEngine engine = new SearchEngine("ERROR+|Exception", "Lights off");
+
+        assertTrue(engine.isMatching("[ERROR] Connection refused"));
+        assertFalse("Blacklisted", engine.isMatching("[ERROR] Rule 'Lights off': NullPointerException"));
+        assertFalse(engine.isMatching("[INFO ] Lights off"));
+        assertTrue(engine.isMatching("java.lang.IllegalStateException"));
+        assertEquals(2, engine.getMatchCount());
+    }
+
+    @Test
+    public void testEmptyPatterns() {
+        SearchEngine engine = new SearchEngine("", null);
+
+        assertFalse(engine.isMatching("[ERROR] Connection refused"));
+    }
+
+    /**
+     * Test if the search engine finds the same lines of the synthetic log file as the plain regular expressions.
+     */
+    @Test
+    public void testLogFile() throws IOException {
+        SearchEngine engine = new SearchEngine(PATTERNS, BLACKLISTING_PATTERNS);
+        List<Pattern> patterns = compile(PATTERNS);
+        List<Pattern> blacklistingPatterns = compile(BLACKLISTING_PATTERNS);
+
+        long expected = 0;
+        for (String line : readLogFile()) {
+            boolean matching = find(patterns, line) && !find(blacklistingPatterns, line);
+            assertEquals(line, matching, engine.isMatching(line));
+            expected += matching ? 1 : 0;
+        }
+        assertEquals(expected, engine.getMatchCount());
+        assertTrue(expected > 0);
+    }
+
+    private List<String> readLogFile() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(getClass().getResourceAsStream(LOG_FILE), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static List<Pattern> compile(String patterns) {
+        List<Pattern> result = new ArrayList<>();
+        for (String pattern : patterns.split("\\|")) {
+            result.add(Pattern.compile(pattern));
+        }
+        return result;
+    }
+
+    private static boolean find(List<Pattern> patterns, String data) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
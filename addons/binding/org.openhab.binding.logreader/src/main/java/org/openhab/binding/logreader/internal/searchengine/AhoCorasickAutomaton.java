@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Aho-Corasick automaton which finds all occurrences of a set of literal strings in a single pass over the data.
+ *
+ * The failure links are resolved when the automaton is built, so the automaton is a deterministic state machine and
+ * every character of the data is handled by one table lookup.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class AhoCorasickAutomaton {
+
+    private static final int ROOT = 0;
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    /**
+     * Sorted characters of all literals. Symbol 0 is used for all characters not part of any literal.
+     */
+    private final char[] alphabet;
+    private final int[] asciiSymbols = new int[128];
+
+    private final int[][] transitions;
+    private final int[][] outputs;
+
+    /**
+     * Build the automaton.
+     *
+     * @param literals literals to search, the index of a literal in the list is reported as its id.
+     */
+    AhoCorasickAutomaton(List<String> literals) {
+        TreeSet<Character> characters = new TreeSet<>();
+        for (String literal : literals) {
+            for (int i = 0; i < literal.length(); i++) {
+                characters.add(literal.charAt(i));
+            }
+        }
+        alphabet = new char[characters.size()];
+        int index = 0;
+        for (char c : characters) {
+            alphabet[index++] = c;
+            if (c < asciiSymbols.length) {
+                asciiSymbols[c] = index;
+            }
+        }
+
+        // Build the trie
+        int symbols = alphabet.length + 1;
+        List<int[]> trie = new ArrayList<>();
+        List<int[]> trieOutputs = new ArrayList<>();
+        trie.add(new int[symbols]);
+        trieOutputs.add(NO_OUTPUTS);
+        for (int id = 0; id < literals.size(); id++) {
+            String literal = literals.get(id);
+            int state = ROOT;
+            for (int i = 0; i < literal.length(); i++) {
+                int symbol = symbol(literal.charAt(i));
+                if (trie.get(state)[symbol] == ROOT) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(new int[symbols]);
+                    trieOutputs.add(NO_OUTPUTS);
+                }
+                state = trie.get(state)[symbol];
+            }
+            trieOutputs.set(state, append(trieOutputs.get(state), id));
+        }
+
+        // Resolve the failure links breadth first, so the failure state of a state is always complete
+        transitions = trie.toArray(new int[trie.size()][]);
+        outputs = trieOutputs.toArray(new int[trieOutputs.size()][]);
+        int[] failure = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 1; symbol < symbols; symbol++) {
+            int next = transitions[ROOT][symbol];
+            if (next != ROOT) {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 1; symbol < symbols; symbol++) {
+                int next = transitions[state][symbol];
+                if (next != ROOT) {
+                    failure[next] = transitions[failure[state]][symbol];
+                    for (int id : outputs[failure[next]]) {
+                        outputs[next] = append(outputs[next], id);
+                    }
+                    queue.add(next);
+                } else {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the initial state of the automaton.
+     */
+    int getInitialState() {
+        return ROOT;
+    }
+
+    /**
+     * Move to the next state.
+     *
+     * @param state current state.
+     * @param c next character of the data.
+     * @return the next state.
+     */
+    int next(int state, char c) {
+        return transitions[state][symbol(c)];
+    }
+
+    /**
+     * @return ids of the literals which end at the given state.
+     */
+    int[] getOutputs(int state) {
+        return outputs[state];
+    }
+
+    private int symbol(char c) {
+        if (c < asciiSymbols.length) {
+            return asciiSymbols[c];
+        }
+        int index = Arrays.binarySearch(alphabet, c);
+        return index < 0 ? 0 : index + 1;
+    }
+
+    private static int[] append(int[] ids, int id) {
+        int[] result = Arrays.copyOf(ids, ids.length + 1);
+        result[ids.length] = id;
+        return result;
+    }
+}
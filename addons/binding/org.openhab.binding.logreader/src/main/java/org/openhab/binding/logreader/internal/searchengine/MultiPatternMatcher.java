@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Checks if any of a set of regular expressions is found in the data.
+ *
+ * Instead of running every regular expression against the data, a literal string which must be part of every match
+ * is extracted from each regular expression. All literals are searched with a single {@link AhoCorasickAutomaton}
+ * and a regular expression is only run if its literal is found. Regular expressions which are literals themselves
+ * don't need to be run at all. Regular expressions without a usable literal are always run.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MultiPatternMatcher {
+
+    /**
+     * Single characters are found on too many lines to save time.
+     */
+    private static final int MIN_LITERAL_LENGTH = 2;
+
+    private static final String QUANTIFIERS = "?*+{";
+
+    /**
+     * Escapes of a single character which is not a literal, i.e. character classes and boundaries.
+     */
+    private static final String CLASS_ESCAPES = "dDwWsShHvVRXbBAGzZ";
+
+    /**
+     * Escapes of control characters and the characters they stand for.
+     */
+    private static final String CONTROL_ESCAPES = "tnrfae";
+    private static final String CONTROL_CHARACTERS = "\t\n\r\f\u0007\u001B";
+
+    private final List<Pattern> alwaysRunPatterns = new ArrayList<>();
+
+    private final @Nullable AhoCorasickAutomaton automaton;
+
+    /**
+     * Patterns per literal id. A null entry means that the pattern is the literal itself.
+     */
+    private final List<List<@Nullable Pattern>> literalPatterns = new ArrayList<>();
+
+    /**
+     * Literal ids are checked at most once per search. A literal is checked when its entry equals the current search.
+     */
+    private final int[] checkedInSearch;
+    private int search;
+
+    MultiPatternMatcher(List<Pattern> patterns) {
+        Map<String, Integer> literalIds = new HashMap<>();
+        List<String> literals = new ArrayList<>();
+
+        for (Pattern pattern : patterns) {
+            String regex = pattern.pattern();
+            String literal = pattern.flags() == 0 ? getRequiredLiteral(regex) : null;
+            if (literal == null) {
+                alwaysRunPatterns.add(pattern);
+                continue;
+            }
+            Integer id = literalIds.get(literal);
+            if (id == null) {
+                id = literals.size();
+                literalIds.put(literal, id);
+                literals.add(literal);
+                literalPatterns.add(new ArrayList<>());
+            }
+            literalPatterns.get(id).add(isLiteral(regex) ? null : pattern);
+        }
+        automaton = literals.isEmpty() ? null : new AhoCorasickAutomaton(literals);
+        checkedInSearch = new int[literals.size()];
+    }
+
+    /**
+     * Check if one of the patterns is found in the data.
+     *
+     * @param data data against search will be done.
+     * @return true if one of the patterns is found.
+     */
+    boolean find(String data) {
+        AhoCorasickAutomaton automaton = this.automaton;
+        if (automaton != null) {
+            if (++search == 0) {
+                Arrays.fill(checkedInSearch, 0);
+                search = 1;
+            }
+            int state = automaton.getInitialState();
+            for (int i = 0; i < data.length(); i++) {
+                state = automaton.next(state, data.charAt(i));
+                for (int id : automaton.getOutputs(state)) {
+                    if (checkedInSearch[id] != search) {
+                        checkedInSearch[id] = search;
+                        if (find(literalPatterns.get(id), data)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return find(alwaysRunPatterns, data);
+    }
+
+    private static boolean find(List<? extends @Nullable Pattern> patterns, String data) {
+        for (Pattern pattern : patterns) {
+            if (pattern == null || pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the longest literal string which is part of every match of the regular expression. The regular expression
+     * is only analyzed as far as needed for common search patterns, for anything else no literal is returned.
+     *
+     * @param regex regular expression compiled without flags.
+     * @return the literal or null if no literal of the minimum length has been found.
+     */
+    static @Nullable String getRequiredLiteral(String regex) {
+        if (regex.contains("(?") || regex.contains("\\Q")) {
+            // Inline flags and quoting change the meaning of the characters
+            return null;
+        }
+        String longest = "";
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            int next = i + 1;
+            boolean isLiteralChar = false;
+
+            if (c == '\\') {
+                char escaped = regex.charAt(next++);
+                if (!Character.isLetterOrDigit(escaped)) {
+                    c = escaped;
+                    isLiteralChar = true;
+                } else if (CONTROL_ESCAPES.indexOf(escaped) >= 0) {
+                    c = CONTROL_CHARACTERS.charAt(CONTROL_ESCAPES.indexOf(escaped));
+                    isLiteralChar = true;
+                } else if (escaped == 'p' || escaped == 'P') {
+                    next = skipProperty(regex, next);
+                } else if (CLASS_ESCAPES.indexOf(escaped) < 0) {
+                    // Octal, hexadecimal, unicode and control character escapes, named characters and back
+                    // references consume the following characters
+                    return null;
+                }
+            } else if (c == '[') {
+                next = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                next = skipGroup(regex, i);
+            } else if (c == '|') {
+                // Alternatives have no common literal
+                return null;
+            } else if (".^$)]}".indexOf(c) < 0 && QUANTIFIERS.indexOf(c) < 0) {
+                isLiteralChar = true;
+            }
+
+            if (next < regex.length() && QUANTIFIERS.indexOf(regex.charAt(next)) >= 0) {
+                // The atom may be repeated, only a single occurrence of it is required if it's not optional
+                boolean required = regex.charAt(next) == '+' || isRequiredRepetition(regex, next);
+                if (isLiteralChar && required) {
+                    literal.append(c);
+                }
+                longest = longer(longest, literal);
+                literal.setLength(0);
+                next = skipQuantifier(regex, next);
+            } else if (isLiteralChar) {
+                literal.append(c);
+            } else {
+                longest = longer(longest, literal);
+                literal.setLength(0);
+            }
+            i = next;
+        }
+        longest = longer(longest, literal);
+        return longest.length() >= MIN_LITERAL_LENGTH || (!longest.isEmpty() && isLiteral(regex)) ? longest : null;
+    }
+
+    /**
+     * @return true if the regular expression only matches the literal string built from it.
+     */
+    private static boolean isLiteral(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (Character.isLetterOrDigit(regex.charAt(++i))) {
+                    return false;
+                }
+            } else if (".^$[](){}".indexOf(c) >= 0 || QUANTIFIERS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String longer(String longest, StringBuilder literal) {
+        return literal.length() > longest.length() ? literal.toString() : longest;
+    }
+
+    private static boolean isRequiredRepetition(String regex, int start) {
+        // {n}, {n,} and {n,m} with n > 0
+        if (regex.charAt(start) != '{') {
+            return false;
+        }
+        int i = start + 1;
+        while (i < regex.length() && regex.charAt(i) == '0') {
+            i++;
+        }
+        return i < regex.length() && Character.isDigit(regex.charAt(i));
+    }
+
+    private static int skipQuantifier(String regex, int start) {
+        int i = start;
+        if (regex.charAt(i) == '{') {
+            i = regex.indexOf('}', i);
+            if (i < 0) {
+                return regex.length();
+            }
+        }
+        i++;
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            // Reluctant or possessive quantifier
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipProperty(String regex, int start) {
+        // \p{Name} or \pL
+        if (start < regex.length() && regex.charAt(start) == '{') {
+            int end = regex.indexOf('}', start);
+            return end < 0 ? regex.length() : end + 1;
+        }
+        return start + 1;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+                if (regex.startsWith("^]", i + 1)) {
+                    i += 2;
+                } else if (regex.startsWith("]", i + 1)) {
+                    i++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+}
@@ -10,7 +10,6 @@ package org.openhab.binding.logreader.internal.searchengine;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -19,12 +18,15 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * This class implements logic for regular expression based searching.
  *
+ * The search patterns are combined into a {@link MultiPatternMatcher}, so a regular expression is only run against
+ * the data if a literal part of it has been found.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private MultiPatternMatcher matchers;
+    private MultiPatternMatcher blacklistingMatchers;
 
     private long matchCount;
 
@@ -36,8 +38,8 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        matchers = new MultiPatternMatcher(compilePatterns(patterns));
+        blacklistingMatchers = new MultiPatternMatcher(compilePatterns(blacklistingPatterns));
     }
 
     /**
@@ -47,7 +49,7 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
+        if (matchers.find(data)) {
             if (notBlacklisted(data)) {
                 matchCount++;
                 return true;
@@ -90,18 +92,6 @@ public class SearchEngine {
     }
 
     private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
-    }
-
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return !blacklistingMatchers.find(data);
     }
 }
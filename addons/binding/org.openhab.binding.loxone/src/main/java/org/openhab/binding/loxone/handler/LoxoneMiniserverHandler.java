@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -317,11 +318,45 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
             }
         });
 
+        if (!channelsChanged(channels)) {
+            logger.trace("Channels not changed, thing not updated");
+            return;
+        }
         logger.trace("Updating thing");
         builder.withChannels(channels);
         updateThing(builder.build());
     }
 
+    /**
+     * Check if a new list of channels differs from the channels of the thing.
+     * When the configuration of the Miniserver changes, usually only a few controls are changed, so in most cases
+     * the thing does not have to be updated, which would recreate all its channels.
+     *
+     * @param channels
+     *            new list of channels
+     * @return
+     *         true if any channel was added, removed or changed
+     */
+    private boolean channelsChanged(List<Channel> channels) {
+        List<Channel> current = getThing().getChannels();
+        if (current.size() != channels.size()) {
+            return true;
+        }
+        Map<ChannelUID, Channel> currentById = new HashMap<>();
+        current.forEach(channel -> currentById.put(channel.getUID(), channel));
+        for (Channel channel : channels) {
+            Channel old = currentById.get(channel.getUID());
+            if (old == null || !Objects.equals(old.getChannelTypeUID(), channel.getChannelTypeUID())
+                    || !Objects.equals(old.getAcceptedItemType(), channel.getAcceptedItemType())
+                    || !Objects.equals(old.getLabel(), channel.getLabel())
+                    || !Objects.equals(old.getDescription(), channel.getDescription())
+                    || !Objects.equals(old.getDefaultTags(), channel.getDefaultTags())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void onControlStateUpdate(LxControl control, String stateName) {
         ChannelUID channelId = getChannelIdForControl(control, 0);
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.codec.binary.Hex;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.openhab.binding.loxone.LoxoneBindingConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of Miniserver's structure file (LoxApp3.json) on disk.
+ * <p>
+ * The file is stored together with its version, which is the last modification date reported by the Miniserver, so
+ * that it does not have to be downloaded again until the configuration of the Miniserver is changed.
+ * The structure file contains only what the logged in user is permitted to see, so there is a separate file for each
+ * user and a cached file is dropped when the credentials it was downloaded with change.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxConfigCache {
+    private final File file;
+    private final String credentials;
+    private final int debugId;
+    private final Logger logger = LoggerFactory.getLogger(LxConfigCache.class);
+
+    /**
+     * Create a cache for a Miniserver
+     *
+     * @param debugId
+     *            instance of the client used for debugging purposes only
+     * @param host
+     *            Miniserver's host address
+     * @param port
+     *            Miniserver's web services port
+     * @param user
+     *            user the structure file is downloaded for
+     * @param password
+     *            password of the user
+     */
+    LxConfigCache(int debugId, String host, int port, String user, String password) {
+        this.debugId = debugId;
+        this.file = new File(ConfigConstants.getUserDataFolder() + File.separator + LoxoneBindingConstants.BINDING_ID
+                + File.separator + sanitize(host) + "_" + port + "_" + sanitize(user) + ".json");
+        this.credentials = fingerprint(user + ":" + password);
+    }
+
+    /**
+     * Read the structure file from the cache
+     *
+     * @param version
+     *            version of the structure file on the Miniserver
+     * @return
+     *         content of the structure file or null if it is not cached in this version
+     */
+    String load(String version) {
+        if (version == null || !file.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String cachedVersion = reader.readLine();
+            String cachedCredentials = reader.readLine();
+            if (credentials == null || !credentials.equals(cachedCredentials)) {
+                reader.close();
+                logger.debug("[{}] Credentials changed, dropping cached configuration {}", debugId, file);
+                Files.deleteIfExists(file.toPath());
+                return null;
+            }
+            if (!version.equals(cachedVersion)) {
+                logger.debug("[{}] Cached configuration version {} outdated, current {}", debugId, cachedVersion,
+                        version);
+                return null;
+            }
+            StringBuilder content = new StringBuilder((int) file.length());
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                content.append(buffer, 0, read);
+            }
+            return content.toString();
+        } catch (IOException e) {
+            logger.debug("[{}] Error reading cached configuration {}: {}", debugId, file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write the structure file to the cache
+     *
+     * @param version
+     *            version of the structure file on the Miniserver
+     * @param content
+     *            content of the structure file
+     */
+    void store(String version, String content) {
+        if (version == null || version.contains("\n") || credentials == null) {
+            return;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(version);
+                writer.newLine();
+                writer.write(credentials);
+                writer.newLine();
+                writer.write(content);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("[{}] Cached configuration version {} in {}", debugId, version, file);
+        } catch (IOException e) {
+            logger.debug("[{}] Error caching configuration in {}: {}", debugId, file, e.getMessage());
+        }
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9.-]", "_");
+    }
+
+    private String fingerprint(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Hex.encodeHexString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            logger.debug("[{}] Structure file will not be cached: {}", debugId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -79,6 +79,24 @@ class LxControlState {
         }
     }
 
+    /**
+     * Sets current value of the control's state, without creating a new object if the value did not change
+     *
+     * @param value
+     *            current state's value to set
+     */
+    void setValue(double value) {
+        uuid.setUpdate(true);
+
+        Double current = this.value;
+        if (current == null || Double.doubleToLongBits(current) != Double.doubleToLongBits(value)) {
+            this.value = value;
+            for (LxControlStateListener listener : listeners) {
+                listener.onStateChange(this);
+            }
+        }
+    }
+
     /**
      * Sets current text value of the control's state
      *
@@ -96,6 +96,8 @@ public class LxServer {
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private final Map<LxUuid, Map<LxUuid, LxControlState>> states = new HashMap<>();
+    // Snapshot of the states map for lookups of state updates, replaced whenever the configuration is updated
+    private volatile LxStateIndex stateIndex = LxStateIndex.EMPTY;
     private final List<LxServerListener> listeners = new ArrayList<>();
 
     // Services
@@ -444,24 +446,13 @@ public class LxServer {
                     }
                     break;
                 case STATE_UPDATE:
-                    LxWsStateUpdateEvent update = (LxWsStateUpdateEvent) wsMsg.getObject();
-                    Map<LxUuid, LxControlState> perStateUuid = findState(update.getUuid());
-                    if (perStateUuid != null) {
-                        perStateUuid.forEach((controlUuid, state) -> {
-                            state.setValue(update.getValue(), update.getText());
-                            LxControl control = state.getControl();
-                            if (control != null) {
-                                logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
-                                        update.getUuid(), control.getName(), state.getName(), update.getValue(),
-                                        update.getText());
-                                for (LxServerListener listener : listeners) {
-                                    listener.onControlStateUpdate(control, state.getName().toLowerCase());
-                                }
-                            } else {
-                                logger.debug("[{}] State update {} ({}) of unknown control", debugId, update.getUuid(),
-                                        state.getName());
-                            }
-                        });
+                    LxWsStateUpdateTable table = (LxWsStateUpdateTable) wsMsg.getObject();
+                    try {
+                        for (int i = 0; i < table.size(); i++) {
+                            processStateUpdate(table, i);
+                        }
+                    } finally {
+                        table.release();
                     }
                     break;
                 case SERVER_ONLINE:
@@ -506,6 +497,42 @@ public class LxServer {
             return true;
         }
 
+        /**
+         * Passes a state update to all controls that have the state configured
+         *
+         * @param table
+         *            table of state updates received from the Miniserver
+         * @param index
+         *            index of the state update in the table
+         */
+        private void processStateUpdate(LxWsStateUpdateTable table, int index) {
+            LxControlState[] perStateUuid = stateIndex.get(table.getUuidMsb(index), table.getUuidLsb(index));
+            if (perStateUuid == null) {
+                return;
+            }
+            String text = table.getText(index);
+            for (LxControlState state : perStateUuid) {
+                if (table.isTextStates()) {
+                    state.setValue(null, text);
+                } else {
+                    state.setValue(table.getValue(index));
+                }
+                LxControl control = state.getControl();
+                if (control != null) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId, state.getUuid(),
+                                control.getName(), state.getName(), table.isTextStates() ? null : table.getValue(index),
+                                text);
+                    }
+                    for (LxServerListener listener : listeners) {
+                        listener.onControlStateUpdate(control, state.getName().toLowerCase());
+                    }
+                } else {
+                    logger.debug("[{}] State update {} ({}) of unknown control", debugId, state.getUuid(),
+                            state.getName());
+                }
+            }
+        }
     }
 
     /**
@@ -565,6 +592,8 @@ public class LxServer {
         removeUnusedFromMap(categories);
         removeUnusedFromMap(controls);
         removeUnusedFromMap(states);
+        stateIndex = new LxStateIndex(states);
+        logger.trace("[{}] indexed {} of {} state UUIDs", debugId, stateIndex.size(), states.size());
     }
 
     /**
@@ -642,24 +671,6 @@ public class LxServer {
         return nr;
     }
 
-    /**
-     * Search for a state with given UUID
-     *
-     * @param id
-     *            UUID of state to locate
-     * @return
-     *         map of all state objects with control UUID as key
-     */
-    private Map<LxUuid, LxControlState> findState(LxUuid id) {
-        if (states == null || id == null) {
-            return null;
-        }
-        if (states.containsKey(id)) {
-            return states.get(id);
-        }
-        return null;
-    }
-
     /**
      * Search for a category on the server
      *
@@ -42,8 +42,8 @@ class LxServerEvent {
          */
         RECEIVED_CONFIG,
         /**
-         * Received control's state value or text update from Miniserver. There is a {@link LxWsStateUpdateEvent} object
-         * associated.
+         * Received a table of control's state value or text updates from Miniserver. There is a
+         * {@link LxWsStateUpdateTable} object associated, which must be released after processing.
          */
         STATE_UPDATE,
         /**
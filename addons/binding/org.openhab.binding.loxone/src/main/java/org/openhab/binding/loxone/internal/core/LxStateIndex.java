@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.util.Map;
+
+/**
+ * Immutable index of control's states by the binary form of the state UUID.
+ * <p>
+ * The index is an open addressing hash table keyed by the two long values of the UUID, so that a lookup for a state
+ * update received in a binary message takes no locks and creates no objects. It is built from the state map of
+ * {@link LxServer} whenever the configuration is updated and replaced as a whole.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxStateIndex {
+    static final LxStateIndex EMPTY = new LxStateIndex();
+
+    private static final LxControlState[] NO_STATES = new LxControlState[0];
+
+    private final long[] msb;
+    private final long[] lsb;
+    private final LxControlState[][] states;
+    private final int mask;
+    private final int size;
+
+    private LxStateIndex() {
+        msb = new long[1];
+        lsb = new long[1];
+        states = new LxControlState[1][];
+        mask = 0;
+        size = 0;
+    }
+
+    /**
+     * Create an index of states
+     *
+     * @param stateMap
+     *            map of state UUID to a map of control UUID and state objects
+     */
+    LxStateIndex(Map<LxUuid, Map<LxUuid, LxControlState>> stateMap) {
+        int capacity = Integer.highestOneBit(Math.max(1, stateMap.size() * 2 - 1)) << 1;
+        msb = new long[capacity];
+        lsb = new long[capacity];
+        states = new LxControlState[capacity][];
+        mask = capacity - 1;
+        int count = 0;
+        for (Map.Entry<LxUuid, Map<LxUuid, LxControlState>> entry : stateMap.entrySet()) {
+            LxUuid uuid = entry.getKey();
+            if (!uuid.isBinary() || entry.getValue().isEmpty()) {
+                continue;
+            }
+            int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (states[slot] == null) {
+                msb[slot] = uuid.getMostSignificantBits();
+                lsb[slot] = uuid.getLeastSignificantBits();
+                states[slot] = entry.getValue().values().toArray(NO_STATES);
+                count++;
+            }
+        }
+        size = count;
+    }
+
+    /**
+     * Get all state objects with given UUID
+     *
+     * @param uuidMsb
+     *            most significant bits of the state UUID
+     * @param uuidLsb
+     *            least significant bits of the state UUID
+     * @return
+     *         state objects of all controls that have the state configured, or null if there are none
+     */
+    LxControlState[] get(long uuidMsb, long uuidLsb) {
+        return states[find(uuidMsb, uuidLsb)];
+    }
+
+    /**
+     * Get number of state UUIDs in the index
+     *
+     * @return
+     *         number of state UUIDs
+     */
+    int size() {
+        return size;
+    }
+
+    private int find(long uuidMsb, long uuidLsb) {
+        int slot = hash(uuidMsb, uuidLsb) & mask;
+        while (states[slot] != null && (msb[slot] != uuidMsb || lsb[slot] != uuidLsb)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long uuidMsb, long uuidLsb) {
+        long h = uuidMsb * 0x9E3779B97F4A7C15L ^ uuidLsb;
+        h ^= h >>> 32;
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
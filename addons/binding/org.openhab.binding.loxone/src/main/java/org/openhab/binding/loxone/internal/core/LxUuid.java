@@ -8,9 +8,6 @@
  */
 package org.openhab.binding.loxone.internal.core;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
 /**
  * Unique identifier of an object on Loxone Miniserver.
  * <p>
@@ -24,6 +21,9 @@ public class LxUuid {
     private String uuid;
     private String uuidOriginal;
     private boolean updated;
+    private boolean binary;
+    private long msb;
+    private long lsb;
 
     /**
      * Create a new {@link LxUuid} object from an UUID on a Miniserver.
@@ -36,19 +36,108 @@ public class LxUuid {
     }
 
     public LxUuid(byte data[], int offset) {
-        String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
-                ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
-                ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
-                ByteBuffer.wrap(data, offset + 6, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(), data[offset + 8],
-                data[offset + 9], data[offset + 10], data[offset + 11], data[offset + 12], data[offset + 13],
-                data[offset + 14], data[offset + 15]);
-        init(id);
+        this(getMostSignificantBits(data, offset), getLeastSignificantBits(data, offset));
+    }
+
+    /**
+     * Create a new {@link LxUuid} object from the binary form of an UUID on a Miniserver.
+     *
+     * @param msb
+     *            most significant bits of the UUID, as returned by {@link #getMostSignificantBits(byte[], int)}
+     * @param lsb
+     *            least significant bits of the UUID, as returned by {@link #getLeastSignificantBits(byte[], int)}
+     */
+    public LxUuid(long msb, long lsb) {
+        char[] id = new char[35];
+        toHex(id, 0, msb >>> 32, 8);
+        id[8] = '-';
+        toHex(id, 9, msb >>> 16, 4);
+        id[13] = '-';
+        toHex(id, 14, msb, 4);
+        id[18] = '-';
+        toHex(id, 19, lsb, 16);
+        init(new String(id));
+    }
+
+    /**
+     * Get most significant bits of an UUID in a binary message from the Miniserver.
+     * <p>
+     * These are the first three fields of the UUID, which are stored in little endian byte order.
+     *
+     * @param data
+     *            buffer with binary message
+     * @param offset
+     *            offset of the UUID in the buffer
+     * @return
+     *         the first 8 bytes of the UUID as a long value
+     */
+    static long getMostSignificantBits(byte data[], int offset) {
+        long data1 = (data[offset] & 0xffL) | (data[offset + 1] & 0xffL) << 8 | (data[offset + 2] & 0xffL) << 16
+                | (data[offset + 3] & 0xffL) << 24;
+        long data2 = (data[offset + 4] & 0xffL) | (data[offset + 5] & 0xffL) << 8;
+        long data3 = (data[offset + 6] & 0xffL) | (data[offset + 7] & 0xffL) << 8;
+        return data1 << 32 | data2 << 16 | data3;
+    }
+
+    /**
+     * Get least significant bits of an UUID in a binary message from the Miniserver.
+     * <p>
+     * This is the last field of the UUID, which is stored in big endian byte order.
+     *
+     * @param data
+     *            buffer with binary message
+     * @param offset
+     *            offset of the UUID in the buffer
+     * @return
+     *         the last 8 bytes of the UUID as a long value
+     */
+    static long getLeastSignificantBits(byte data[], int offset) {
+        long bits = 0;
+        for (int i = 8; i < 16; i++) {
+            bits = bits << 8 | (data[offset + i] & 0xffL);
+        }
+        return bits;
+    }
+
+    private static void toHex(char[] buffer, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[offset + i] = Character.forDigit((int) ((value >>> (4 * (digits - 1 - i))) & 0xf), 16);
+        }
     }
 
     private void init(String uuid) {
         uuidOriginal = uuid;
         this.uuid = uuidOriginal.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
         updated = true;
+        parseBits();
+    }
+
+    /**
+     * Converts the UUID to its binary form, if it has the form used in binary messages (8-4-4-16 hex digits)
+     */
+    private void parseBits() {
+        if (uuid.length() != 35 || uuid.charAt(8) != '-' || uuid.charAt(13) != '-' || uuid.charAt(18) != '-') {
+            return;
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 35; i++) {
+            if (i == 8 || i == 13 || i == 18) {
+                continue;
+            }
+            int digit = Character.digit(uuid.charAt(i), 16);
+            if (digit < 0) {
+                return;
+            }
+            if (i < 18) {
+                high = high << 4 | digit;
+            } else {
+                low = low << 4 | digit;
+            }
+        }
+        msb = high;
+        lsb = low;
+        binary = true;
     }
 
     @Override
@@ -87,6 +176,36 @@ public class LxUuid {
         return uuidOriginal;
     }
 
+    /**
+     * Check if the UUID has a binary form, as used in binary messages from the Miniserver.
+     *
+     * @return
+     *         true if {@link #getMostSignificantBits()} and {@link #getLeastSignificantBits()} are valid
+     */
+    boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Get most significant bits of the binary form of the UUID.
+     *
+     * @return
+     *         most significant bits, as returned by {@link #getMostSignificantBits(byte[], int)}
+     */
+    long getMostSignificantBits() {
+        return msb;
+    }
+
+    /**
+     * Get least significant bits of the binary form of the UUID.
+     *
+     * @return
+     *         least significant bits, as returned by {@link #getLeastSignificantBits(byte[], int)}
+     */
+    long getLeastSignificantBits() {
+        return lsb;
+    }
+
     /**
      * Indicate the object corresponding to UUID has recently been updated.
      *
@@ -15,7 +15,9 @@ import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URL;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -68,12 +70,17 @@ class LxWsClient {
 
     private String swVersion;
     private String macAddress;
+    // version of the structure file last passed to LxServer and of the one being downloaded
+    private String configVersion;
+    private String pendingConfigVersion;
+    private final LxConfigCache configCache;
     private LxWsSecurityType securityType;
     private final Gson gson = new Gson();
     private ScheduledFuture<?> timeout;
     private LxWebSocket socket;
     private WebSocketClient wsClient;
     private BlockingQueue<LxServerEvent> queue;
+    private final Queue<LxWsStateUpdateTable> stateUpdateTables = new ConcurrentLinkedQueue<>();
     private ClientState state = ClientState.IDLE;
     private final Lock stateMachineLock = new ReentrantLock();
     private final Logger logger = LoggerFactory.getLogger(LxWsClient.class);
@@ -86,6 +93,7 @@ class LxWsClient {
     private static final String CMD_KEEPALIVE = "keepalive";
     private static final String CMD_ENABLE_UPDATES = "jdev/sps/enablebinstatusupdate";
     private static final String CMD_GET_APP_CONFIG = "data/LoxAPP3.json";
+    private static final String CMD_GET_APP_CONFIG_VERSION = "jdev/sps/LoxAPPversion3";
     private static final String CMD_CFG_API = "jdev/cfg/api";
 
     /**
@@ -243,6 +251,7 @@ class LxWsClient {
         this.port = port;
         this.user = user;
         this.password = password;
+        this.configCache = new LxConfigCache(debugId, host.getHostAddress(), port, user, password);
     }
 
     /**
@@ -651,20 +660,10 @@ class LxWsClient {
                     switch (header.type) {
                         case EVENT_TABLE_OF_VALUE_STATES:
                             stopResponseTimeout();
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(true, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            notifyStateUpdates(true, data, offset, length);
                             break;
                         case EVENT_TABLE_OF_TEXT_STATES:
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(false, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            notifyStateUpdates(false, data, offset, length);
                             break;
                         case KEEPALIVE_RESPONSE:
                         case TEXT_MESSAGE:
@@ -681,6 +680,30 @@ class LxWsClient {
             }
         }
 
+        /**
+         * Decodes a table of state updates and sends it to {@link LxServer} object as a single event
+         *
+         * @param isValueEvent
+         *            true if the table contains value states, false if it contains text states
+         * @param data
+         *            buffer with binary message
+         * @param offset
+         *            offset of the table in the buffer
+         * @param length
+         *            length of the table in bytes
+         */
+        private void notifyStateUpdates(boolean isValueEvent, byte data[], int offset, int length) {
+            LxWsStateUpdateTable table = LxWsStateUpdateTable.acquire(stateUpdateTables);
+            if (!table.decode(isValueEvent, data, offset, length)) {
+                logger.debug("[{}] malformed state table received, {} states decoded", debugId, table.size());
+            }
+            if (table.size() > 0) {
+                notifyMaster(EventType.STATE_UPDATE, null, table);
+            } else {
+                table.release();
+            }
+        }
+
         @OnWebSocketMessage
         public void onMessage(String msg) {
             stateMachineLock.lock();
@@ -702,22 +725,10 @@ class LxWsClient {
                         processResponse(msg);
                         break;
                     case UPDATING_CONFIGURATION:
-                        try {
-                            stopResponseTimeout();
-                            LxJsonApp3 config = gson.fromJson(msg, LxJsonApp3.class);
-                            if (config.msInfo != null) {
-                                config.msInfo.swVersion = swVersion;
-                                config.msInfo.macAddress = macAddress;
-                            }
-                            logger.debug("[{}] Received configuration from server", debugId);
-                            notifyMaster(EventType.RECEIVED_CONFIG, null, config);
-                            setClientState(ClientState.RUNNING);
-                            notifyMaster(EventType.SERVER_ONLINE, null, null);
-                            if (sendCmdWithResp(CMD_ENABLE_UPDATES, false, false) == null) {
-                                notifyAndClose(LxOfflineReason.COMMUNICATION_ERROR, "Failed to enable state updates.");
-                            }
-                        } catch (JsonParseException e) {
-                            notifyAndClose(LxOfflineReason.INTERNAL_ERROR, "Error processing received configuration");
+                        stopResponseTimeout();
+                        logger.debug("[{}] Received configuration from server", debugId);
+                        if (processConfiguration(msg)) {
+                            configCache.store(pendingConfigVersion, msg);
                         }
                         break;
                     case CLOSING:
@@ -947,12 +958,31 @@ class LxWsClient {
 
         /**
          * Perform actions after user authentication is successfully completed.
-         * This method sends a request to receive Miniserver configuration.
+         * This method checks the version of the Miniserver configuration. If it is the version which was already
+         * passed to {@link LxServer}, the configuration is not downloaded and parsed again. Otherwise the configuration
+         * is read from the cache on disk or requested from the Miniserver.
+         * It is executed in the authentication thread, so synchronous commands can be sent.
          */
         private void authenticated() {
             logger.debug("[{}] Websocket authentication successfull.", debugId);
+            String version = getConfigVersion();
             stateMachineLock.lock();
             try {
+                if (version != null && version.equals(configVersion)) {
+                    logger.debug("[{}] Configuration version {} not changed", debugId, version);
+                    startKeepAlive();
+                    configurationReady();
+                    return;
+                }
+                pendingConfigVersion = version;
+                String cached = configCache.load(version);
+                if (cached != null) {
+                    logger.debug("[{}] Using cached configuration version {}", debugId, version);
+                    setClientState(ClientState.UPDATING_CONFIGURATION);
+                    startKeepAlive();
+                    processConfiguration(cached);
+                    return;
+                }
                 setClientState(ClientState.UPDATING_CONFIGURATION);
                 if (sendCmdNoResp(CMD_GET_APP_CONFIG, false)) {
                     startResponseTimeout();
@@ -965,6 +995,68 @@ class LxWsClient {
             }
         }
 
+        /**
+         * Request the version of the structure file, which is the date of its last modification.
+         *
+         * @return
+         *         version of the structure file or null if it could not be retrieved
+         */
+        private String getConfigVersion() {
+            LxJsonSubResponse response = sendCmdWithResp(CMD_GET_APP_CONFIG_VERSION, true, false);
+            if (response == null || response.code != 200 || response.value == null) {
+                logger.debug("[{}] Could not get configuration version", debugId);
+                return null;
+            }
+            try {
+                return response.value.getAsString();
+            } catch (ClassCastException | IllegalStateException e) {
+                logger.debug("[{}] Error parsing configuration version: {}", debugId, e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Parse the structure file and pass it to {@link LxServer}.
+         * The caller must take care of thread synchronization.
+         *
+         * @param msg
+         *            content of the structure file
+         * @return
+         *         true if the configuration was parsed successfully
+         */
+        private boolean processConfiguration(String msg) {
+            try {
+                LxJsonApp3 config = gson.fromJson(msg, LxJsonApp3.class);
+                if (config == null) {
+                    throw new JsonParseException("Empty configuration");
+                }
+                if (config.msInfo != null) {
+                    config.msInfo.swVersion = swVersion;
+                    config.msInfo.macAddress = macAddress;
+                }
+                notifyMaster(EventType.RECEIVED_CONFIG, null, config);
+                configVersion = pendingConfigVersion;
+                configurationReady();
+                return true;
+            } catch (JsonParseException e) {
+                configVersion = null;
+                notifyAndClose(LxOfflineReason.INTERNAL_ERROR, "Error processing received configuration");
+                return false;
+            }
+        }
+
+        /**
+         * Go online with the configuration already passed to {@link LxServer} and enable state updates.
+         * The caller must take care of thread synchronization.
+         */
+        private void configurationReady() {
+            setClientState(ClientState.RUNNING);
+            notifyMaster(EventType.SERVER_ONLINE, null, null);
+            if (sendCmdWithResp(CMD_ENABLE_UPDATES, false, false) == null) {
+                notifyAndClose(LxOfflineReason.COMMUNICATION_ERROR, "Failed to enable state updates.");
+            }
+        }
+
         /**
          * Start keep alive thread. The thread will periodically send keep alive messages until {@link #stopKeepAlive()}
          * is called or a connection terminates.
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * A table of control's state updates received from Loxone Miniserver in a single binary message.
+ * <p>
+ * The whole event table is decoded in one pass into arrays, without creating objects per state, except for the text of
+ * text states. State UUIDs are kept in their binary form, as the two long values returned by
+ * {@link LxUuid#getMostSignificantBits(byte[], int)} and {@link LxUuid#getLeastSignificantBits(byte[], int)}.
+ * <p>
+ * Tables are reused: once the receiver has processed the table, it must call {@link #release()} to return it to the
+ * pool it was taken from.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxWsStateUpdateTable {
+    private static final int VALUE_EVENT_SIZE = 24;
+    private static final int TEXT_EVENT_HEADER_SIZE = 36;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Queue<LxWsStateUpdateTable> pool;
+    private long[] msb = new long[INITIAL_CAPACITY];
+    private long[] lsb = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private boolean textStates;
+    private int size;
+
+    /**
+     * Create a new empty table
+     *
+     * @param pool
+     *            pool of free tables, to which this table returns when released
+     */
+    LxWsStateUpdateTable(Queue<LxWsStateUpdateTable> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Get a free table from the pool or create a new one if the pool is empty
+     *
+     * @param pool
+     *            pool of free tables
+     * @return
+     *         an empty table
+     */
+    static LxWsStateUpdateTable acquire(Queue<LxWsStateUpdateTable> pool) {
+        LxWsStateUpdateTable table = pool.poll();
+        return table != null ? table : new LxWsStateUpdateTable(pool);
+    }
+
+    /**
+     * Decode a binary message with a table of value or text states.
+     * <p>
+     * Decoding stops at the first malformed state, states decoded before are kept in the table.
+     *
+     * @param isValueEvent
+     *            true if the table contains value states, false if it contains text states
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offsetParam
+     *            offset in buffer where the table begins
+     * @param lengthParam
+     *            length of the table in bytes
+     * @return
+     *         true if the whole table was decoded, false if it was malformed
+     */
+    boolean decode(boolean isValueEvent, byte data[], int offsetParam, int lengthParam) {
+        int offset = offsetParam;
+        int end = offsetParam + lengthParam;
+        size = 0;
+        textStates = !isValueEvent;
+        while (offset < end) {
+            int eventSize = isValueEvent ? VALUE_EVENT_SIZE : TEXT_EVENT_HEADER_SIZE;
+            if (offset + eventSize > end || offset + eventSize > data.length) {
+                return false;
+            }
+            ensureCapacity(size + 1);
+            msb[size] = LxUuid.getMostSignificantBits(data, offset);
+            lsb[size] = LxUuid.getLeastSignificantBits(data, offset);
+            if (isValueEvent) {
+                values[size] = Double.longBitsToDouble(getLong(data, offset + 16));
+            } else {
+                // icon UUID at offset + 16 is not used
+                int textLen = getInt(data, offset + 32);
+                if (textLen < 0 || offset + eventSize + textLen > data.length) {
+                    return false;
+                }
+                texts[size] = new String(data, offset + eventSize, textLen);
+                eventSize += textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen;
+            }
+            size++;
+            offset += eventSize;
+        }
+        return true;
+    }
+
+    /**
+     * Return the table to the pool, it must not be used afterwards
+     */
+    void release() {
+        if (textStates) {
+            Arrays.fill(texts, 0, size, null);
+        }
+        size = 0;
+        pool.offer(this);
+    }
+
+    /**
+     * Get number of states in the table
+     *
+     * @return
+     *         number of states
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Check if the table contains text states
+     *
+     * @return
+     *         true for text states, false for value states
+     */
+    boolean isTextStates() {
+        return textStates;
+    }
+
+    /**
+     * Get most significant bits of the UUID of a state
+     *
+     * @param index
+     *            index of the state in the table
+     * @return
+     *         most significant bits of the UUID
+     */
+    long getUuidMsb(int index) {
+        return msb[index];
+    }
+
+    /**
+     * Get least significant bits of the UUID of a state
+     *
+     * @param index
+     *            index of the state in the table
+     * @return
+     *         least significant bits of the UUID
+     */
+    long getUuidLsb(int index) {
+        return lsb[index];
+    }
+
+    /**
+     * Get value of a value state
+     *
+     * @param index
+     *            index of the state in the table
+     * @return
+     *         value of the state
+     */
+    double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Get text of a text state
+     *
+     * @param index
+     *            index of the state in the table
+     * @return
+     *         text of the state or null for value states
+     */
+    String getText(int index) {
+        return textStates ? texts[index] : null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= msb.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, msb.length * 2);
+        msb = Arrays.copyOf(msb, newCapacity);
+        lsb = Arrays.copyOf(lsb, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        texts = Arrays.copyOf(texts, newCapacity);
+    }
+
+    private static int getInt(byte[] data, int offset) {
+        return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8 | (data[offset + 2] & 0xff) << 16
+                | (data[offset + 3] & 0xff) << 24;
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        return (getInt(data, offset) & 0xffffffffL) | (long) getInt(data, offset + 4) << 32;
+    }
+}
@@ -16,6 +16,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -816,6 +817,108 @@ public class ModbusDataHandlerTest extends JavaTest {
         assertSingleStateUpdate(dataHandler, CHANNEL_STRING, is(equalTo(new StringType("ON"))));
     }
 
+    @SuppressWarnings("null")
+    private ModbusDataThingHandler createUpdateOnChangeHandler(ModbusReadRequestBlueprint request,
+            Consumer<Configuration> configurator) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "0");
+        dataConfig.put("readTransform", "default");
+        dataConfig.put("readValueType", ModbusConstants.ValueType.INT16.getConfigValue());
+        dataConfig.put("updateOnlyOnChange", true);
+        configurator.accept(dataConfig);
+
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private List<State> getStateUpdates(ModbusDataThingHandler handler, String channel) {
+        List<State> updates = stateUpdates.get(new ChannelUID(handler.getThing().getUID(), channel));
+        return updates == null ? new ArrayList<>() : updates;
+    }
+
+    @Test
+    public void testOnRegistersUpdateOnlyOnChange() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUpdateOnChangeHandler(request, config -> {
+        });
+
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(5));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(5));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(6));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(6));
+
+        assertThat(getStateUpdates(dataHandler, CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(6)))));
+        // Successful reads are reported even if the value has not changed
+        assertThat(getStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS).size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testOnRegistersUpdateOnlyOnChangeWithDeadband() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUpdateOnChangeHandler(request, config -> {
+            config.put("updateDeadband", new BigDecimal("1.5"));
+        });
+
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(10));
+        // within deadband of 10
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(11));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(9));
+        // exceeds deadband of 10
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(12));
+
+        assertThat(getStateUpdates(dataHandler, CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(10), new DecimalType(12)))));
+    }
+
+    @Test
+    public void testOnRegistersUpdateOnlyOnChangeAfterError() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUpdateOnChangeHandler(request, config -> {
+        });
+
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(5));
+        dataHandler.onError(request, new Exception("fooerror"));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.OFFLINE)));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(5));
+
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        assertThat(getStateUpdates(dataHandler, CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(5)))));
+    }
+
+    @Test
+    public void testOnRegistersUpdateOnlyOnChangeAfterWriteError() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUpdateOnChangeHandler(request, config -> {
+            config.put("writeStart", "0");
+            config.put("writeValueType", "int16");
+            config.put("writeType", "holding");
+        });
+
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(5));
+        dataHandler.onError(Mockito.mock(ModbusWriteRequestBlueprint.class), new Exception("fooerror"));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.OFFLINE)));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(5));
+
+        // Unchanged value does not update the data channels, but the status
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        assertThat(getStateUpdates(dataHandler, CHANNEL_NUMBER), is(equalTo(Arrays.asList(new DecimalType(5)))));
+        assertThat(getStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS).size(), is(equalTo(2)));
+    }
+
     @Test
     public void testWriteRealTransformation() throws InvalidSyntaxException {
         mockTransformation("MULTIPLY", new TransformationService() {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransformationTest {
+
+    private static final String FILTER = "(smarthome.transform=MAP)";
+    private static final String EXEC_FILTER = "(smarthome.transform=EXEC)";
+
+    @Mock
+    private BundleContext bundleContext;
+
+    private List<String> transformedInputs = new ArrayList<>();
+
+    @Before
+    public void setUp() throws InvalidSyntaxException {
+        TransformationService service = new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                transformedInputs.add(source);
+                return String.valueOf(Integer.parseInt(function) * Integer.parseInt(source));
+            }
+        };
+        doReturn(Arrays.asList(new Object[] { null })).when(bundleContext)
+                .getServiceReferences(TransformationService.class, FILTER);
+        doReturn(Arrays.asList(new Object[] { null })).when(bundleContext)
+                .getServiceReferences(TransformationService.class, EXEC_FILTER);
+        doReturn(service).when(bundleContext).getService(any());
+    }
+
+    @Test
+    public void testServiceIsLookedUpOnce() throws InvalidSyntaxException {
+        Transformation transformation = new Transformation("MAP(10)");
+        assertThat(transformation.transform(bundleContext, "1"), is(equalTo("10")));
+        assertThat(transformation.transform(bundleContext, "2"), is(equalTo("20")));
+        assertThat(transformation.transform(bundleContext, "3"), is(equalTo("30")));
+
+        verify(bundleContext, times(1)).getServiceReferences(TransformationService.class, FILTER);
+    }
+
+    @Test
+    public void testShortInputsAreMemoized() {
+        Transformation transformation = new Transformation("MAP(10)");
+        for (int i = 0; i < 10; i++) {
+            String expected = i % 2 == 0 ? "0" : "10";
+            assertThat(transformation.transform(bundleContext, String.valueOf(i % 2)), is(equalTo(expected)));
+        }
+        assertThat(transformedInputs, is(equalTo(Arrays.asList("0", "1"))));
+    }
+
+    @Test
+    public void testNonDeterministicServicesAreNotMemoized() throws InvalidSyntaxException {
+        Transformation transformation = new Transformation("EXEC(10)");
+        assertThat(transformation.transform(bundleContext, "1"), is(equalTo("10")));
+        assertThat(transformation.transform(bundleContext, "1"), is(equalTo("10")));
+        assertThat(transformedInputs, is(equalTo(Arrays.asList("1", "1"))));
+
+        verify(bundleContext, times(1)).getServiceReferences(TransformationService.class, EXEC_FILTER);
+    }
+
+    @Test
+    public void testLongInputsAreNotMemoized() {
+        Transformation transformation = new Transformation("MAP(1)");
+        String longInput = StringUtils.repeat("0", Transformation.MAX_MEMOIZED_INPUT_LENGTH) + "1";
+        transformation.transform(bundleContext, longInput);
+        transformation.transform(bundleContext, longInput);
+        assertThat(transformedInputs.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testNewInstanceDoesNotShareCache() {
+        new Transformation("MAP(10)").transform(bundleContext, "1");
+        new Transformation("MAP(10)").transform(bundleContext, "1");
+        assertThat(transformedInputs.size(), is(equalTo(2)));
+    }
+
+}
@@ -11,8 +11,14 @@ package org.openhab.binding.modbus.internal;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,6 +45,12 @@ import org.slf4j.LoggerFactory;
  *
  * Inspired from other openHAB binding "Transformation" classes.
  *
+ * The transformation configuration is parsed once on construction. With transformation services, the service is
+ * looked up once. With services known to be deterministic (e.g. MAP), the results of short inputs (e.g. enum-like
+ * register values) are memoized as well. The cached service and results expire periodically, so that changes in the
+ * available services and in the transformation files are picked up. New instance is constructed whenever the
+ * configuration changes, discarding all cached data.
+ *
  * @author Sami Salonen - Initial contribution
  *
  */
@@ -51,6 +63,25 @@ public class Transformation {
     /** RegEx to extract and parse a function String <code>'(.*?)\((.*)\)'</code> */
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(?<service>.*?)\\((?<arg>.*)\\)");
 
+    /**
+     * Time after which the transformation service is looked up again, and memoized results are discarded
+     */
+    static final long CACHE_EXPIRY_MILLIS = 10_000L;
+    /**
+     * Maximum number of memoized transformation results
+     */
+    static final int MAX_MEMOIZED_RESULTS = 64;
+    /**
+     * Maximum length of the input for its result to be memoized
+     */
+    static final int MAX_MEMOIZED_INPUT_LENGTH = 32;
+    /**
+     * Transformation services whose result depends only on the input and the transformation files. Results of other
+     * services (e.g. EXEC, JS or time-dependent scripts) are never memoized.
+     */
+    static final Set<String> MEMOIZED_SERVICES = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList("MAP", "SCALE", "REGEX", "JSONPATH", "XPATH", "XSLT")));
+
     /**
      * Ordered list of types that are tried out first when trying to parse transformed command
      */
@@ -76,6 +107,22 @@ public class Transformation {
     @Nullable
     private final String transformationServiceParam;
 
+    // Cached transformation service and memoized results, guarded by this
+    @Nullable
+    private TransformationService cachedService;
+    @Nullable
+    private BundleContext cachedServiceContext;
+    private long cacheExpiresMillis;
+    private final Map<String, String> memoizedResults = new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, String> eldest) {
+            return size() > MAX_MEMOIZED_RESULTS;
+        }
+    };
+
     /**
      *
      * @param transformation either FUN(VAL) (standard transformation syntax), default (identity transformation
@@ -133,11 +180,24 @@ public class Transformation {
                     throw new TransformationException(
                             "transformation service parameter is missing! Invalid transform?");
                 }
+                boolean memoize = value.length() <= MAX_MEMOIZED_INPUT_LENGTH
+                        && MEMOIZED_SERVICES.contains(transformationServiceName.toUpperCase());
                 @Nullable
-                TransformationService transformationService = TransformationHelper.getTransformationService(context,
-                        transformationServiceName);
+                TransformationService transformationService;
+                synchronized (this) {
+                    transformationService = getTransformationService(context, transformationServiceName);
+                    String memoized = memoize ? memoizedResults.get(value) : null;
+                    if (memoized != null) {
+                        return memoized;
+                    }
+                }
                 if (transformationService != null) {
                     transformedResponse = transformationService.transform(transformationServiceParam, value);
+                    if (memoize && transformedResponse != null) {
+                        synchronized (this) {
+                            memoizedResults.put(value, transformedResponse);
+                        }
+                    }
                 } else {
                     transformedResponse = value;
                     logger.warn("couldn't transform response because transformationService of type '{}' is unavailable",
@@ -162,6 +222,23 @@ public class Transformation {
         return transformedResponse == null ? "" : transformedResponse;
     }
 
+    /**
+     * Get the transformation service, using the cached service if it has not expired
+     *
+     * Expiry of the cached service discards memoized results as well. Must be called while holding the lock of this.
+     */
+    private @Nullable TransformationService getTransformationService(BundleContext context,
+            String transformationServiceName) {
+        long now = System.currentTimeMillis();
+        if (context != cachedServiceContext || now - cacheExpiresMillis >= 0) {
+            cachedService = TransformationHelper.getTransformationService(context, transformationServiceName);
+            cachedServiceContext = context;
+            cacheExpiresMillis = now + CACHE_EXPIRY_MILLIS;
+            memoizedResults.clear();
+        }
+        return cachedService;
+    }
+
     public boolean isIdentityTransform() {
         return TRANSFORM_DEFAULT.equalsIgnoreCase(this.transformation);
     }
@@ -36,6 +36,10 @@ public class ModbusDataConfiguration {
     private String writeValueType;
     private boolean writeMultipleEvenWithSingleRegisterOrCoil;
     private int writeMaxTries = 3; // backwards compatibility and tests
+    private boolean updateOnlyOnChange;
+    private double updateDeadband;
+    private double updateDeadbandPercent;
+    private long updateMaxSilenceMillis;
 
     public @Nullable String getReadStart() {
         return readStart;
@@ -108,4 +112,49 @@ public class ModbusDataConfiguration {
     public void setWriteMaxTries(int writeMaxTries) {
         this.writeMaxTries = writeMaxTries;
     }
+
+    /**
+     * Whether channels are updated only when the polled value changes
+     */
+    public boolean isUpdateOnlyOnChange() {
+        return updateOnlyOnChange;
+    }
+
+    public void setUpdateOnlyOnChange(boolean updateOnlyOnChange) {
+        this.updateOnlyOnChange = updateOnlyOnChange;
+    }
+
+    /**
+     * Get absolute deadband. Changes smaller than or equal to this are not considered changes.
+     */
+    public double getUpdateDeadband() {
+        return updateDeadband;
+    }
+
+    public void setUpdateDeadband(double updateDeadband) {
+        this.updateDeadband = updateDeadband;
+    }
+
+    /**
+     * Get relative deadband, in percents of the previously updated value
+     */
+    public double getUpdateDeadbandPercent() {
+        return updateDeadbandPercent;
+    }
+
+    public void setUpdateDeadbandPercent(double updateDeadbandPercent) {
+        this.updateDeadbandPercent = updateDeadbandPercent;
+    }
+
+    /**
+     * Get maximum time in milliseconds between channel updates, even if the value does not change. Zero means that
+     * unchanged values are never updated.
+     */
+    public long getUpdateMaxSilenceMillis() {
+        return updateMaxSilenceMillis;
+    }
+
+    public void setUpdateMaxSilenceMillis(long updateMaxSilenceMillis) {
+        this.updateMaxSilenceMillis = updateMaxSilenceMillis;
+    }
 }
@@ -39,6 +39,10 @@ public class ModbusSerialConfiguration {
     private int timeBetweenTransactionsMillis;
     private int connectMaxTries;
     private int connectTimeoutMillis;
+    private boolean adaptiveTuning;
+    private int minTimeBetweenTransactionsMillis;
+    private int maxTimeBetweenTransactionsMillis;
+    private int minReadTimeoutMillis;
 
     public @Nullable String getPort() {
         return port;
@@ -152,4 +156,36 @@ public class ModbusSerialConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public boolean isAdaptiveTuning() {
+        return adaptiveTuning;
+    }
+
+    public void setAdaptiveTuning(boolean adaptiveTuning) {
+        this.adaptiveTuning = adaptiveTuning;
+    }
+
+    public int getMinTimeBetweenTransactionsMillis() {
+        return minTimeBetweenTransactionsMillis;
+    }
+
+    public void setMinTimeBetweenTransactionsMillis(int minTimeBetweenTransactionsMillis) {
+        this.minTimeBetweenTransactionsMillis = minTimeBetweenTransactionsMillis;
+    }
+
+    public int getMaxTimeBetweenTransactionsMillis() {
+        return maxTimeBetweenTransactionsMillis;
+    }
+
+    public void setMaxTimeBetweenTransactionsMillis(int maxTimeBetweenTransactionsMillis) {
+        this.maxTimeBetweenTransactionsMillis = maxTimeBetweenTransactionsMillis;
+    }
+
+    public int getMinReadTimeoutMillis() {
+        return minReadTimeoutMillis;
+    }
+
+    public void setMinReadTimeoutMillis(int minReadTimeoutMillis) {
+        this.minReadTimeoutMillis = minReadTimeoutMillis;
+    }
+
 }
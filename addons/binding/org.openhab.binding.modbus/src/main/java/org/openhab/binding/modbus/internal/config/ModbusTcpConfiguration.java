@@ -28,6 +28,11 @@ public class ModbusTcpConfiguration {
     private int connectMaxTries;
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
+    private int maxInFlightTransactions = 1;
+    private boolean adaptiveTuning;
+    private int minTimeBetweenTransactionsMillis;
+    private int maxTimeBetweenTransactionsMillis;
+    private int minReadTimeoutMillis;
 
     public @Nullable String getHost() {
         return host;
@@ -93,4 +98,44 @@ public class ModbusTcpConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxInFlightTransactions() {
+        return maxInFlightTransactions;
+    }
+
+    public void setMaxInFlightTransactions(int maxInFlightTransactions) {
+        this.maxInFlightTransactions = maxInFlightTransactions;
+    }
+
+    public boolean isAdaptiveTuning() {
+        return adaptiveTuning;
+    }
+
+    public void setAdaptiveTuning(boolean adaptiveTuning) {
+        this.adaptiveTuning = adaptiveTuning;
+    }
+
+    public int getMinTimeBetweenTransactionsMillis() {
+        return minTimeBetweenTransactionsMillis;
+    }
+
+    public void setMinTimeBetweenTransactionsMillis(int minTimeBetweenTransactionsMillis) {
+        this.minTimeBetweenTransactionsMillis = minTimeBetweenTransactionsMillis;
+    }
+
+    public int getMaxTimeBetweenTransactionsMillis() {
+        return maxTimeBetweenTransactionsMillis;
+    }
+
+    public void setMaxTimeBetweenTransactionsMillis(int maxTimeBetweenTransactionsMillis) {
+        this.maxTimeBetweenTransactionsMillis = maxTimeBetweenTransactionsMillis;
+    }
+
+    public int getMinReadTimeoutMillis() {
+        return minReadTimeoutMillis;
+    }
+
+    public void setMinReadTimeoutMillis(int minReadTimeoutMillis) {
+        this.minReadTimeoutMillis = minReadTimeoutMillis;
+    }
+
 }
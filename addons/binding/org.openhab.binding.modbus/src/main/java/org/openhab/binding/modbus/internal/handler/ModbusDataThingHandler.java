@@ -131,6 +131,24 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile boolean transformationOnlyInWrite;
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
+    /**
+     * Last numeric state extracted from registers, and the value it represents. Reused as long as the value does not
+     * change. Guarded by this.
+     */
+    private @Nullable DecimalType lastNumericState;
+    private double lastNumericValue;
+    private volatile boolean updateOnlyOnChange;
+    private volatile double updateDeadband;
+    private volatile double updateDeadbandPercent;
+    private volatile long updateMaxSilenceMillis;
+    /**
+     * Raw data, numeric value and time of the last channel update. Used with updateOnlyOnChange to detect unchanged
+     * data. Guarded by this.
+     */
+    private boolean hasUpdatedValue;
+    private long lastUpdatedRaw;
+    private double lastUpdatedValue;
+    private long lastUpdatedMillis;
 
     public ModbusDataThingHandler(Thing thing) {
         super(thing);
@@ -317,6 +335,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         try {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             config = getConfigAs(ModbusDataConfiguration.class);
+            lastNumericState = null;
+            hasUpdatedValue = false;
             Bridge bridge = getBridge();
             if (bridge == null) {
                 logger.debug("Thing {} '{}' has no bridge", getThing().getUID(), getThing().getLabel());
@@ -389,6 +409,12 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         transformationOnlyInWrite = false;
         childOfEndpoint = false;
         pollerHandler = null;
+        lastNumericState = null;
+        updateOnlyOnChange = false;
+        updateDeadband = 0;
+        updateDeadbandPercent = 0;
+        updateMaxSilenceMillis = 0;
+        hasUpdatedValue = false;
     }
 
     @Override
@@ -478,6 +504,16 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             }
         }
         readTransformation = new Transformation(config.getReadTransform());
+        updateOnlyOnChange = config.isUpdateOnlyOnChange();
+        updateDeadband = config.getUpdateDeadband();
+        updateDeadbandPercent = config.getUpdateDeadbandPercent();
+        updateMaxSilenceMillis = config.getUpdateMaxSilenceMillis();
+        if (updateDeadband < 0 || updateDeadbandPercent < 0 || updateMaxSilenceMillis < 0) {
+            String errmsg = String.format(
+                    "Thing %s updateDeadband=%s, updateDeadbandPercent=%s and updateMaxSilenceMillis=%s must not be negative!",
+                    getThing().getUID(), updateDeadband, updateDeadbandPercent, updateMaxSilenceMillis);
+            throw new ModbusConfigurationException(errmsg);
+        }
 
         validateReadIndex(pollTask);
     }
@@ -650,9 +686,39 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType);
+        long now = System.currentTimeMillis();
+        long rawValue = 0;
+        if (updateOnlyOnChange) {
+            // Compare raw data before any decoding or transformation, keeping unchanged polls cheap
+            rawValue = extractRawValue(registers, extractIndex, readValueType);
+            if (isUnchanged(rawValue, now)) {
+                logger.trace("Thing {} data unchanged, channels not updated. Registers {} for request {}",
+                        thing.getUID(), registers, request);
+                processUnchangedValue();
+                return;
+            }
+        }
+
+        // Decode the primitive value first, and construct new state only when the value has changed
+        double numericValue = ModbusBitUtilities.extractDoubleFromRegisters(registers, extractIndex, readValueType);
+        if (updateOnlyOnChange && isWithinDeadband(numericValue, now)) {
+            logger.trace(
+                    "Thing {} value {} within deadband of previously updated value {}, channels not updated. Registers {} for request {}",
+                    thing.getUID(), numericValue, lastUpdatedValue, registers, request);
+            processUnchangedValue();
+            return;
+        }
+        DecimalType lastNumericState = this.lastNumericState;
+        if (lastNumericState != null && Double.compare(numericValue, lastNumericValue) == 0) {
+            numericState = lastNumericState;
+        } else {
+            numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType);
+            this.lastNumericState = numericState;
+            lastNumericValue = numericValue;
+        }
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        rememberUpdatedValue(rawValue, numericValue, now);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
@@ -667,8 +733,16 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        long now = System.currentTimeMillis();
+        if (updateOnlyOnChange && isUnchanged(boolValue ? 1 : 0, now)) {
+            logger.trace("Thing {} data unchanged, channels not updated. Bits {} for request {}", thing.getUID(), bits,
+                    request);
+            processUnchangedValue();
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        rememberUpdatedValue(boolValue ? 1 : 0, boolValue ? 1 : 0, now);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -703,6 +777,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                 tryUpdateState(uid, state);
             });
 
+            // Make sure next successful read updates the channels, and the status
+            hasUpdatedValue = false;
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     String.format("Error (%s) with read. Request: %s. Description: %s. Message: %s",
                             error.getClass().getSimpleName(), request, error.toString(), error.getMessage()));
@@ -828,6 +904,65 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         return states;
     }
 
+    /**
+     * Update status and the time of last successful read, when the linked channels are not updated since the polled
+     * data has not changed
+     */
+    private void processUnchangedValue() {
+        synchronized (this) {
+            updateStatus(ThingStatus.ONLINE);
+            tryUpdateState(
+                    new ChannelUID(getThing().getUID(), ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS),
+                    new DateTimeType());
+        }
+    }
+
+    /**
+     * Extract the raw data of the value, without interpreting it
+     *
+     * With value types of 16 bits or more, the registers are concatenated in the order they appear in the data. With
+     * smaller value types, the bits of the item are returned.
+     */
+    private static long extractRawValue(ModbusRegisterArray registers, int extractIndex, ValueType valueType) {
+        if (valueType.getBits() < 16) {
+            return ModbusBitUtilities.extractLongFromRegisters(registers, extractIndex, valueType);
+        }
+        long rawValue = 0;
+        for (int i = 0; i < valueType.getBits() / 16; i++) {
+            rawValue = (rawValue << 16) | registers.getUnsignedShort(extractIndex + i);
+        }
+        return rawValue;
+    }
+
+    /**
+     * Whether the raw data is the same as with the last channel update, and channels should not be updated
+     */
+    private boolean isUnchanged(long rawValue, long now) {
+        return hasUpdatedValue && rawValue == lastUpdatedRaw && !isSilenceExceeded(now);
+    }
+
+    /**
+     * Whether the numeric value differs from the value of the last channel update less than the configured deadbands
+     */
+    private boolean isWithinDeadband(double numericValue, long now) {
+        if (!hasUpdatedValue || isSilenceExceeded(now) || (updateDeadband <= 0 && updateDeadbandPercent <= 0)) {
+            return false;
+        }
+        double change = Math.abs(numericValue - lastUpdatedValue);
+        return change <= updateDeadband || change <= Math.abs(lastUpdatedValue) * updateDeadbandPercent / 100;
+    }
+
+    private boolean isSilenceExceeded(long now) {
+        return updateMaxSilenceMillis > 0 && now - lastUpdatedMillis >= updateMaxSilenceMillis;
+    }
+
+    private void rememberUpdatedValue(long rawValue, double numericValue, long now) {
+        hasUpdatedValue = true;
+        lastUpdatedRaw = rawValue;
+        lastUpdatedValue = numericValue;
+        lastUpdatedMillis = now;
+    }
+
     private void tryUpdateState(@NonNull ChannelUID uid, @NonNull State state) {
         try {
             updateState(uid, state);
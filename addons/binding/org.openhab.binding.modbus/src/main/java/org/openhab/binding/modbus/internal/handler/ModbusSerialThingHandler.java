@@ -56,6 +56,10 @@ public class ModbusSerialThingHandler
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
+        poolConfiguration.setAdaptiveTuning(config.isAdaptiveTuning());
+        poolConfiguration.setMinInterTransactionDelayMillis(config.getMinTimeBetweenTransactionsMillis());
+        poolConfiguration.setMaxInterTransactionDelayMillis(config.getMaxTimeBetweenTransactionsMillis());
+        poolConfiguration.setMinReadTimeoutMillis(config.getMinReadTimeoutMillis());
 
         // Never reconnect serial connections "automatically"
         poolConfiguration.setInterConnectDelayMillis(1000);
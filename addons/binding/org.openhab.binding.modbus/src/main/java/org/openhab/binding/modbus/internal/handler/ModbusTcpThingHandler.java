@@ -51,7 +51,12 @@ public class ModbusTcpThingHandler
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
+        poolConfiguration.setAdaptiveTuning(config.isAdaptiveTuning());
+        poolConfiguration.setMinInterTransactionDelayMillis(config.getMinTimeBetweenTransactionsMillis());
+        poolConfiguration.setMaxInterTransactionDelayMillis(config.getMaxTimeBetweenTransactionsMillis());
+        poolConfiguration.setMinReadTimeoutMillis(config.getMinReadTimeoutMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+        poolConfiguration.setMaxInFlightTransactions(config.getMaxInFlightTransactions());
     }
 
     @Override
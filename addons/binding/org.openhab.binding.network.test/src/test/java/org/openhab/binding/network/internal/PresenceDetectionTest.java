@@ -14,6 +14,8 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.concurrent.ExecutorService;
@@ -31,6 +33,8 @@ import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheHelpe
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PresenceProber;
+import org.openhab.binding.network.internal.utils.PresenceProber.ProbeCallback;
 
 /**
  * Tests cases for {@see PresenceDetectionValue}
@@ -51,6 +55,9 @@ public class PresenceDetectionTest {
     @Mock
     Consumer<PresenceDetectionValue> callback;
 
+    @Mock
+    PresenceProber prober;
+
     PresenceDetection subject;
 
     @Before
@@ -129,6 +136,41 @@ public class PresenceDetectionTest {
         assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, ICMP_PING, TCP_CONNECTION"));
     }
 
+    @Test
+    public void proberTest() throws InterruptedException, IOException {
+        doReturn(true).when(prober).isArpTableAvailable();
+        doAnswer(a -> {
+            ((ProbeCallback) a.getArgument(3)).probeFinished(true, 5);
+            return null;
+        }).when(prober).probeService(any(InetAddress.class), anyInt(), anyInt(), any(ProbeCallback.class));
+        doAnswer(a -> {
+            ((ProbeCallback) a.getArgument(2)).probeFinished(true, 7);
+            return null;
+        }).when(prober).probeArpTable(any(Inet4Address.class), anyInt(), any(ProbeCallback.class));
+        doNothing().when(subject).performSystemPing();
+
+        subject.setPresenceProber(prober);
+        subject.setUseArpTable(true);
+        assertTrue(subject.usesArpTable());
+        assertTrue(subject.performPresenceDetection(false));
+
+        // Thread count: ARP table + ICMP + 1*TCP, but only the ICMP ping needs a thread
+        verify(subject).getThreadsFor(eq(1));
+        subject.waitForPresenceDetection();
+
+        verify(subject, times(0)).performARPping(anyObject());
+        verify(subject, times(0)).performServicePing(anyInt());
+        verify(networkUtils, times(0)).nativeARPPing(anyObject(), anyString(), anyString(), anyString(), anyInt());
+        verify(prober).probeService(any(InetAddress.class), eq(1010), eq(300), any(ProbeCallback.class));
+
+        verify(listener, times(2)).partialDetectionResult(anyObject());
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener, times(1)).finalDetectionResult(capture.capture());
+
+        assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ARP_PING, TCP_CONNECTION"));
+        assertThat(capture.getValue().getLowestLatency(), is(5.0));
+    }
+
     @Test
     public void cacheTest() throws InterruptedException, IOException {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
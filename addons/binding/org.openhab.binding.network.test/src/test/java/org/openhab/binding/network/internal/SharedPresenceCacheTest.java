@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.binding.network.internal.utils.PresenceProber.ProbeCallback;
+
+/**
+ * Tests cases for {@see SharedPresenceCache}
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedPresenceCacheTest {
+    static final long CACHETIME = 2000L;
+    static final int TIMEOUT = 1000;
+
+    @Mock
+    ProbeCallback callback1;
+
+    @Mock
+    ProbeCallback callback2;
+
+    SharedPresenceCache subject;
+
+    // The callbacks of the started checks, to finish them manually
+    List<ProbeCallback> startedChecks = new ArrayList<>();
+
+    SharedPresenceCache.Check check = done -> startedChecks.add(done);
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        subject = spy(new SharedPresenceCache(CACHETIME));
+        when(subject.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test
+    public void joinOngoingCheck() {
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback1);
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback2);
+        assertEquals(1, startedChecks.size());
+        verify(callback1, times(0)).probeFinished(anyBoolean(), anyDouble());
+
+        startedChecks.get(0).probeFinished(true, 12);
+        verify(callback1).probeFinished(eq(true), eq(12.0));
+        verify(callback2).probeFinished(eq(true), eq(12.0));
+    }
+
+    @Test
+    public void reuseCachedResult() {
+        subject.check("10.0.0.1", "TCP 80", TIMEOUT, check, callback1);
+        startedChecks.get(0).probeFinished(false, 0);
+
+        // Within the cache time the result is reused
+        when(subject.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(1000 + CACHETIME - 1));
+        subject.check("10.0.0.1", "TCP 80", TIMEOUT, check, callback2);
+        assertEquals(1, startedChecks.size());
+        verify(callback2).probeFinished(eq(false), eq(0.0));
+
+        // After the cache time the check is performed again
+        when(subject.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(1000 + CACHETIME + 1));
+        subject.check("10.0.0.1", "TCP 80", TIMEOUT, check, callback2);
+        assertEquals(2, startedChecks.size());
+    }
+
+    @Test
+    public void separateHostsAndChecks() {
+        subject.check("10.0.0.1", "TCP 80", TIMEOUT, check, callback1);
+        subject.check("10.0.0.1", "TCP 81", TIMEOUT, check, callback1);
+        subject.check("10.0.0.2", "TCP 80", TIMEOUT, check, callback1);
+        assertEquals(3, startedChecks.size());
+    }
+
+    @Test
+    public void separateTimeouts() {
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback1);
+        subject.check("10.0.0.1", "ICMP", 2 * TIMEOUT, check, callback2);
+        assertEquals(2, startedChecks.size());
+
+        startedChecks.get(0).probeFinished(false, 0);
+        verify(callback2, times(0)).probeFinished(anyBoolean(), anyDouble());
+    }
+
+    @Test
+    public void invalidateForgetsResults() {
+        subject.check("10.0.0.1", "TCP 80", TIMEOUT, check, callback1);
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback1);
+        subject.check("10.0.0.10", "ICMP", TIMEOUT, check, callback1);
+        startedChecks.forEach(done -> done.probeFinished(false, 0));
+
+        subject.invalidate("10.0.0.1");
+        subject.check("10.0.0.1", "TCP 80", TIMEOUT, check, callback2);
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback2);
+        subject.check("10.0.0.10", "ICMP", TIMEOUT, check, callback2);
+        // Only the checks of the invalidated host are performed again
+        assertEquals(5, startedChecks.size());
+        verify(callback2).probeFinished(eq(false), eq(0.0));
+    }
+
+    @Test
+    public void failedStartFinishesCheck() {
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, done -> {
+            throw new IllegalStateException("rejected");
+        }, callback1);
+        verify(callback1).probeFinished(eq(false), eq(0.0));
+
+        // The check is not in flight anymore
+        when(subject.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(1000 + CACHETIME + 1));
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback2);
+        assertEquals(1, startedChecks.size());
+    }
+
+    @Test
+    public void failingBlockingCheckFinishes() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, subject.blocking(() -> {
+            throw new IllegalStateException("failed");
+        }), (reachable, latency) -> latch.countDown());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        subject.shutdown();
+    }
+
+    @Test
+    public void lostCheckExpires() {
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback1);
+
+        // The check never reports a result
+        when(subject.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS
+                .toNanos(1000 + TIMEOUT + SharedPresenceCache.IN_FLIGHT_GRACE_TIME_IN_MS + 1));
+        subject.check("10.0.0.1", "ICMP", TIMEOUT, check, callback2);
+        verify(callback1).probeFinished(eq(false), eq(0.0));
+        assertEquals(2, startedChecks.size());
+
+        // The lost check does not finish the new one
+        startedChecks.get(0).probeFinished(true, 10);
+        verify(callback2, times(0)).probeFinished(anyBoolean(), anyDouble());
+        startedChecks.get(1).probeFinished(true, 12);
+        verify(callback2).probeFinished(eq(true), eq(12.0));
+    }
+}
@@ -37,6 +37,21 @@ public class DHCPTest {
         assertThat(DHCPListenService.instance, is(nullValue()));
     }
 
+    @Test
+    public void testServiceMultipleListeners() throws SocketException {
+        String testIP = "10.1.2.3";
+        IPRequestReceivedCallback dhcpListener = mock(IPRequestReceivedCallback.class);
+        IPRequestReceivedCallback dhcpListener2 = mock(IPRequestReceivedCallback.class);
+        DHCPListenService.register(testIP, dhcpListener);
+        DHCPListenService.register(testIP, dhcpListener2);
+        assertThat(DHCPListenService.registeredListeners.get(testIP).size(), is(2));
+        // The service keeps running as long as one listener is registered for the address
+        DHCPListenService.unregister(testIP, dhcpListener);
+        assertThat(DHCPListenService.instance, is(notNullValue()));
+        DHCPListenService.unregister(testIP, dhcpListener2);
+        assertThat(DHCPListenService.instance, is(nullValue()));
+    }
+
     @Test
     public void testReceivePacketCallback() throws BadPacketException, IOException {
         String testIP = "10.1.2.3";
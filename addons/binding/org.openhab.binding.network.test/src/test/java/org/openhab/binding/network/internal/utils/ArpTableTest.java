@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see ArpTable}
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpTableTest {
+    static final String TABLE = "IP address       HW type     Flags       HW address            Mask     Device\n"
+            + "192.168.0.1      0x1         0x2         00:11:22:33:44:55     *        eth0\n"
+            + "192.168.0.2      0x1         0x0         00:00:00:00:00:00     *        eth0\n"
+            + "192.168.0.3      0x1         0x6         00:11:22:33:44:66     *        wlan0\n"
+            + "192.168.0.4      0x1         0xZ         00:11:22:33:44:77     *        eth0\n" + "\n";
+
+    @Test
+    public void parseResolvedEntries() throws IOException {
+        Map<String, String> resolved = ArpTable.parse(new BufferedReader(new StringReader(TABLE)));
+
+        assertThat(resolved.size(), is(2));
+        assertThat(resolved.get("192.168.0.1"), is("00:11:22:33:44:55"));
+        assertThat(resolved.get("192.168.0.3"), is("00:11:22:33:44:66"));
+    }
+
+    @Test
+    public void parseEmptyTable() throws IOException {
+        Map<String, String> resolved = ArpTable.parse(new BufferedReader(new StringReader(TABLE.split("\n")[0])));
+
+        assertTrue(resolved.isEmpty());
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see PresenceProber}
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProberTest {
+    ServerSocket serverSocket;
+    PresenceProber subject;
+
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 100, InetAddress.getLoopbackAddress());
+    }
+
+    @After
+    public void shutDown() throws IOException {
+        if (subject != null) {
+            subject.shutdown();
+        }
+        serverSocket.close();
+    }
+
+    @Test
+    public void serviceProbes() throws IOException, InterruptedException {
+        subject = new PresenceProber(new ArpTable(), 2);
+        // A port that was open a moment ago is most likely closed now
+        int closedPort;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = closed.getLocalPort();
+        }
+
+        CountDownLatch latch = new CountDownLatch(5);
+        AtomicInteger reachable = new AtomicInteger();
+        AtomicInteger unreachable = new AtomicInteger();
+        PresenceProber.ProbeCallback callback = (isReachable, latency) -> {
+            (isReachable ? reachable : unreachable).incrementAndGet();
+            latch.countDown();
+        };
+
+        // More probes than the in-flight window allows
+        for (int i = 0; i < 4; i++) {
+            subject.probeService(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 1000, callback);
+        }
+        subject.probeService(InetAddress.getLoopbackAddress(), closedPort, 1000, callback);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(4, reachable.get());
+        assertEquals(1, unreachable.get());
+    }
+
+    @Test
+    public void rateLimit() throws InterruptedException {
+        subject = new PresenceProber(new ArpTable(), 64, 20);
+
+        CountDownLatch latch = new CountDownLatch(5);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            subject.probeService(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 1000,
+                    (isReachable, latency) -> latch.countDown());
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // 20 probes per second: The fifth probe is started 200ms after the first one
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 190);
+    }
+
+    @Test
+    public void shutdownFinishesProbes() throws InterruptedException {
+        subject = new PresenceProber(new ArpTable(), 1, 1);
+
+        CountDownLatch latch = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            subject.probeService(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 1000,
+                    (isReachable, latency) -> latch.countDown());
+        }
+        subject.shutdown();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void preResolvedArpEntryIsReachable() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("arp", null);
+        try {
+            Files.write(file, ArpTableTest.TABLE.getBytes(StandardCharsets.US_ASCII));
+            subject = new PresenceProber(new ArpTable(file), 64);
+
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicBoolean reachable = new AtomicBoolean(false);
+            AtomicReference<Double> measuredLatency = new AtomicReference<>();
+            // Resolved before the probe and not removed by the kernel within the timeout
+            subject.probeArpTable((Inet4Address) InetAddress.getByName("192.168.0.1"), 500, (isReachable, latency) -> {
+                reachable.set(isReachable);
+                measuredLatency.set(latency);
+                latch.countDown();
+            });
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(reachable.get());
+            assertEquals(0, measuredLatency.get(), 0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void staleArpEntryIsNotReachable() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("arp", null);
+        try {
+            Files.write(file, ArpTableTest.TABLE.getBytes(StandardCharsets.US_ASCII));
+            subject = new PresenceProber(new ArpTable(file), 64);
+
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicBoolean reachable = new AtomicBoolean(true);
+            subject.probeArpTable((Inet4Address) InetAddress.getByName("192.168.0.1"), 1000, (isReachable, latency) -> {
+                reachable.set(isReachable);
+                latch.countDown();
+            });
+            // The kernel removes the stale entry of the absent host
+            Thread.sleep(100);
+            Files.write(file, ArpTableTest.TABLE.replace("0x2", "0x0").getBytes(StandardCharsets.US_ASCII));
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertFalse(reachable.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void failingCallbackDoesNotStopProber() throws InterruptedException {
+        subject = new PresenceProber(new ArpTable(), 64);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        subject.probeService(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 1000,
+                (isReachable, latency) -> {
+                    throw new IllegalStateException("callback failed");
+                });
+        subject.probeService(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 1000,
+                (isReachable, latency) -> latch.countDown());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void arpProbesAreLimitedByInFlightWindow() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("arp", null);
+        try {
+            Files.write(file, ArpTableTest.TABLE.getBytes(StandardCharsets.US_ASCII));
+            subject = new PresenceProber(new ArpTable(file), 1);
+
+            CountDownLatch latch = new CountDownLatch(2);
+            long start = System.nanoTime();
+            for (int i = 0; i < 2; i++) {
+                subject.probeArpTable((Inet4Address) InetAddress.getByName("192.168.0.1"), 300,
+                        (isReachable, latency) -> latch.countDown());
+            }
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            // The second probe is started after the first one timed out
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 590);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
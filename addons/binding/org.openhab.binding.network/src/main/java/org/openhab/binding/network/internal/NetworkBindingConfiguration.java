@@ -23,11 +23,19 @@ public class NetworkBindingConfiguration {
     public Boolean allowDHCPlisten = true;
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
+    public Boolean useInJvmProbes = false;
+    public Boolean discoverySweep = false;
+    public BigDecimal discoverySweepConcurrency = BigDecimal.valueOf(256);
+    public BigDecimal discoverySweepRate = BigDecimal.valueOf(1000);
 
     public void update(@NonNull NetworkBindingConfiguration newConfiguration) {
         this.allowSystemPings = newConfiguration.allowSystemPings;
         this.allowDHCPlisten = newConfiguration.allowDHCPlisten;
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
+        this.useInJvmProbes = newConfiguration.useInJvmProbes;
+        this.discoverySweep = newConfiguration.discoverySweep;
+        this.discoverySweepConcurrency = newConfiguration.discoverySweepConcurrency;
+        this.discoverySweepRate = newConfiguration.discoverySweepRate;
     }
 }
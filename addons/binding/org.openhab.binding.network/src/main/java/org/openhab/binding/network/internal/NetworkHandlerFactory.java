@@ -20,6 +20,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.openhab.binding.network.internal.handler.NetworkHandler;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -36,6 +37,13 @@ import org.osgi.service.component.annotations.Modified;
 public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @NonNull
     final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    // Shared by all handlers. The prober thread is only started with the first probe.
+    @NonNull
+    final PresenceProber prober = new PresenceProber();
+    // Shared by all handlers, so that checks for the same host are only performed once
+    @NonNull
+    final SharedPresenceCache sharedCache = new SharedPresenceCache(
+            configuration.cacheDeviceStateTimeInMS.longValue());
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -52,6 +60,8 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Override
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        prober.shutdown();
+        sharedCache.shutdown();
         super.deactivate(componentContext);
     }
 
@@ -61,6 +71,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        sharedCache.setCacheTime(configuration.cacheDeviceStateTimeInMS.longValue());
     }
 
     @Override
@@ -68,9 +79,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(PING_DEVICE) || thingTypeUID.equals(BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, false, configuration);
+            return new NetworkHandler(thing, false, configuration, prober, sharedCache);
         } else if (thingTypeUID.equals(SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, true, configuration);
+            return new NetworkHandler(thing, true, configuration, prober, sharedCache);
         }
         return null;
     }
@@ -15,6 +15,7 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -29,6 +30,8 @@ import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PresenceProber;
+import org.openhab.binding.network.internal.utils.PresenceProber.ProbeCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +53,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private IpPingMethodEnum pingMethod = null;
     private boolean iosDevice;
     private Set<Integer> tcpPorts = new HashSet<Integer>();
+    private PresenceProber prober;
+    private SharedPresenceCache sharedCache;
+    private boolean useArpTable = false;
 
     private long refreshIntervalInMS = 60000;
     private int timeoutInMS = 5000;
@@ -63,6 +69,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private ScheduledFuture<?> refreshJob;
     private InetAddress destination;
     ExecutorService executorService;
+    private CountDownLatch detectionFinished;
+    private int detectionRun;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -156,6 +164,43 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         arpPingMethod = networkUtils.determineNativeARPpingMethod(arpPingUtilPath);
     }
 
+    /**
+     * Use the given prober for TCP connection attempts and ARP pings. No thread is used per TCP port and
+     * the kernel ARP table is read instead of starting an arping process per interface, if it is available.
+     *
+     * @param prober A prober, shared by all presence detections, or null to use threads and external tools
+     */
+    public void setPresenceProber(PresenceProber prober) {
+        this.prober = prober;
+    }
+
+    /**
+     * Perform all checks with the given binding wide cache. Checks for the same host are shared with other
+     * presence detections and no own thread pool is created.
+     *
+     * @param sharedCache The shared cache or null to perform all checks with an own thread pool
+     */
+    public void setSharedCache(SharedPresenceCache sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    /**
+     * Enables or disables ARP pings with the {@link PresenceProber}. Will only be used if a prober is set,
+     * the destination is an IPv4 address and the kernel ARP table is available.
+     *
+     * @param enable Enable or disable ARP pings by reading the ARP table
+     */
+    public void setUseArpTable(boolean enable) {
+        this.useArpTable = enable;
+    }
+
+    /**
+     * Return true if ARP pings are performed by reading the kernel ARP table.
+     */
+    public boolean usesArpTable() {
+        return useArpTable && prober != null && destination instanceof Inet4Address && prober.isArpTableAvailable();
+    }
+
     public ArpPingUtilEnum arpPingMethod() {
         return arpPingMethod;
     }
@@ -214,6 +259,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
      *
+     * If a {@link PresenceProber} is set, TCP connection attempts and ARP pings are performed by the prober
+     * and only the ICMP ping needs a thread. If a {@link SharedPresenceCache} is set, the checks are shared
+     * with other presence detections for the same host and no own thread pool is created.
+     *
      * Please be aware of the following restrictions:
      * - ARP pings are only executed on IPv4 addresses.
      * - Non system / Java pings are not recommended at all
@@ -223,7 +272,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detectionFinished != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -235,13 +284,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
 
         Set<String> interfaceNames = null;
+        boolean useArpTable = usesArpTable();
 
         currentCheck = 0;
         detectionChecks = tcpPorts.size();
         if (pingMethod != null) {
             detectionChecks += 1;
         }
-        if (arpPingMethod != null) {
+        if (useArpTable) {
+            detectionChecks += 1;
+        } else if (arpPingMethod != null) {
             interfaceNames = networkUtils.getInterfaceNames();
             detectionChecks += interfaceNames.size();
         }
@@ -250,9 +302,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        executorService = getThreadsFor(detectionChecks);
+        synchronized (this) {
+            detectionFinished = new CountDownLatch(1);
+            detectionRun++;
+        }
+
+        if (sharedCache != null) {
+            performSharedChecks(interfaceNames, useArpTable);
+            if (waitForDetectionToFinish) {
+                waitForPresenceDetection();
+            }
+            return true;
+        }
+
+        // The prober performs all checks except the ICMP ping without an own thread
+        executorService = getThreadsFor(prober != null ? 1 : detectionChecks);
 
         for (Integer tcpPort : tcpPorts) {
+            if (prober != null) {
+                performServiceProbe(tcpPort);
+                continue;
+            }
             executorService.execute(() -> {
                 Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
                 performServicePing(tcpPort);
@@ -260,6 +330,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             });
         }
 
+        if (useArpTable) {
+            performARPtableProbe();
+        }
+
         // ARP ping for IPv4 addresses. Use an own executor for each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
@@ -299,12 +373,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        if (executorService == null) {
+        if (detectionFinished == null) {
             return;
         }
         // Finish the detection process
-        executorService.shutdownNow();
-        executorService = null;
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+        detectionFinished.countDown();
+        detectionFinished = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -336,22 +414,39 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         submitFinalResult();
     }
 
+    /**
+     * Like {@link #checkIfFinished()}, but ignores checks of a previous presence detection,
+     * which may finish late if they are shared with other presence detections.
+     */
+    private synchronized void checkIfFinished(int run) {
+        if (run == detectionRun) {
+            checkIfFinished();
+        }
+    }
+
     /**
      * Waits for the presence detection threads to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        if (executorService == null) {
+        // The detection may be finished by a check callback at any time
+        CountDownLatch finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            executorService.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            finished.await(timeoutInMS + 100, TimeUnit.MILLISECONDS);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            executorService.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (executorService != null) {
+                    executorService.shutdownNow();
+                    executorService = null;
+                }
+                detectionFinished = null;
+            }
         }
     }
 
@@ -396,6 +491,112 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
+    /**
+     * Performs all checks with the {@link SharedPresenceCache}. Each check is finished asynchronously,
+     * when the cache reports the result.
+     *
+     * @param interfaceNames The interfaces for ARP pings with the arping tool or null
+     * @param useArpTable Perform an ARP ping with the {@link PresenceProber}
+     */
+    private void performSharedChecks(Set<String> interfaceNames, boolean useArpTable) {
+        final int run = detectionRun;
+        final String hostAddress = destination.getHostAddress();
+        final int timeout = timeoutInMS;
+
+        for (Integer tcpPort : tcpPorts) {
+            logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
+            SharedPresenceCache.Check check = prober != null
+                    ? done -> prober.probeService(destination, tcpPort, timeout, done)
+                    : sharedCache.blocking(() -> networkUtils.servicePing(hostAddress, tcpPort, timeout));
+            sharedCache.check(hostAddress, "TCP " + tcpPort, timeout, check, (reachable, latency) -> {
+                if (reachable) {
+                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
+                    v.addReachableTcpService(tcpPort);
+                    updateListener.partialDetectionResult(v);
+                }
+                checkIfFinished(run);
+            });
+        }
+
+        ProbeCallback arpResult = reachableCallback(PresenceDetectionType.ARP_PING, run);
+        if (useArpTable) {
+            logger.trace("Perform ARP table presence detection for {}", hostname);
+            sharedCache.check(hostAddress, "ARP", timeout,
+                    done -> prober.probeArpTable((Inet4Address) destination, timeout, done), arpResult);
+        }
+        if (interfaceNames != null) {
+            final ArpPingUtilEnum method = arpPingMethod;
+            final String utilPath = arpPingUtilPath;
+            final boolean wakeUp = iosDevice;
+            for (final String interfaceName : interfaceNames) {
+                logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+                String checkName = "ARP " + interfaceName + (wakeUp ? " wakeup" : "");
+                sharedCache.check(hostAddress, checkName, timeout, sharedCache.blocking(() -> {
+                    if (wakeUp) {
+                        networkUtils.wakeUpIOS(destination);
+                        Thread.sleep(50);
+                    }
+                    return networkUtils.nativeARPPing(method, utilPath, interfaceName, hostAddress, timeout);
+                }), arpResult);
+            }
+        }
+
+        if (pingMethod != null) {
+            final IpPingMethodEnum method = pingMethod;
+            logger.trace("Perform {} presence detection for {}", method, hostname);
+            sharedCache.check(hostAddress, "ICMP " + method, timeout, sharedCache.blocking(() -> {
+                if (method == IpPingMethodEnum.JAVA_PING) {
+                    return destination.isReachable(timeout);
+                }
+                return networkUtils.nativePing(method, hostAddress, timeout);
+            }), reachableCallback(PresenceDetectionType.ICMP_PING, run));
+        }
+    }
+
+    private ProbeCallback reachableCallback(PresenceDetectionType type, int run) {
+        return (reachable, latency) -> {
+            if (reachable) {
+                PresenceDetectionValue v = updateReachableValue(type, latency);
+                updateListener.partialDetectionResult(v);
+            }
+            checkIfFinished(run);
+        };
+    }
+
+    /**
+     * Performs a TCP connection attempt with the {@link PresenceProber}. The check is finished
+     * asynchronously, when the prober reports the result.
+     *
+     * @param tcpPort The tcp port
+     */
+    protected void performServiceProbe(int tcpPort) {
+        logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
+        prober.probeService(destination, tcpPort, timeoutInMS, (reachable, latency) -> {
+            if (reachable) {
+                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
+                v.addReachableTcpService(tcpPort);
+                updateListener.partialDetectionResult(v);
+            }
+            checkIfFinished();
+        });
+    }
+
+    /**
+     * Performs an "ARP ping" with the {@link PresenceProber}: A packet is sent to the device to make the kernel
+     * resolve its hardware address, then the kernel ARP table is checked. This also wakes up iOS devices.
+     * The check is finished asynchronously, when the prober reports the result.
+     */
+    protected void performARPtableProbe() {
+        logger.trace("Perform ARP table presence detection for {}", hostname);
+        prober.probeArpTable((Inet4Address) destination, timeoutInMS, (reachable, latency) -> {
+            if (reachable) {
+                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
+                updateListener.partialDetectionResult(v);
+            }
+            checkIfFinished();
+        });
+    }
+
     /**
      * Performs an "ARP ping" (ARP request) on the given interface.
      * If it is an iOS device, the {@see NetworkUtils.wakeUpIOS()} method is
@@ -463,6 +664,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     @Override
     public void dhcpRequestReceived(String ipAddress) {
+        if (sharedCache != null) {
+            // Cached results of the checks are outdated
+            sharedCache.invalidate(destination.getHostAddress());
+        }
         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.DHCP_REQUEST, 0);
         updateListener.partialDetectionResult(v);
     }
@@ -521,7 +726,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 dhcpState = "Cannot use DHCP sniffing: " + e.getLocalizedMessage();
             }
         } else {
-            DHCPListenService.unregister(destination.getHostAddress());
+            DHCPListenService.unregister(destination.getHostAddress(), this);
             dhcpState = "off";
         }
     }
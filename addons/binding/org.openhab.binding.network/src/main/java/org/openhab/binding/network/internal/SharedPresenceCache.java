@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.binding.network.internal.utils.PresenceProber.ProbeCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binding wide cache of presence check results, shared by all {@link PresenceDetection} instances.
+ *
+ * The results are cached per host, check (for example an ICMP ping or a TCP connection attempt on a specific
+ * port) and timeout. If a check is requested while the same check for the same host is already in flight, the
+ * request joins the ongoing check instead of probing the host again. The result is reused by all requests within the
+ * cache time, unless the host was seen in the meantime, see {@link #invalidate(String)}.
+ * A check that did not report its result in time is considered lost, its requests are finished as not reachable.
+ *
+ * Checks that block a thread are performed on a single, shared thread pool instead of a thread pool per
+ * presence detection.
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedPresenceCache {
+    /**
+     * Time a check may take in addition to its timeout, for example while it waits for a free slot of the prober
+     */
+    static final long IN_FLIGHT_GRACE_TIME_IN_MS = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(SharedPresenceCache.class);
+
+    /**
+     * A check that reports its result to the given callback exactly once, possibly asynchronously.
+     */
+    @FunctionalInterface
+    public interface Check {
+        void start(ProbeCallback done);
+    }
+
+    /**
+     * A check that blocks the calling thread until the result is known.
+     */
+    @FunctionalInterface
+    public interface BlockingCheck {
+        /**
+         * @return Return true if the host responded
+         */
+        boolean perform() throws IOException, InterruptedException;
+    }
+
+    private static class Entry {
+        boolean inFlight;
+        long inFlightUntil;
+        boolean reachable;
+        double latency;
+        long expiresAt;
+        List<ProbeCallback> waitingCallbacks = new ArrayList<>();
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private long cacheTimeInNS;
+    private long nextCleanup;
+    private ExecutorService executorService;
+
+    /**
+     * Create a new instance.
+     *
+     * @param cacheTimeInMS The time in milliseconds for how long a check result is reused
+     */
+    public SharedPresenceCache(long cacheTimeInMS) {
+        setCacheTime(cacheTimeInMS);
+    }
+
+    public synchronized void setCacheTime(long cacheTimeInMS) {
+        cacheTimeInNS = TimeUnit.MILLISECONDS.toNanos(cacheTimeInMS);
+    }
+
+    /**
+     * Return the result of the given check for the given host to the callback. The check is only performed if
+     * there is no cached result and the same check is not in flight already. The callback may be called
+     * immediately or asynchronously.
+     *
+     * @param hostAddress The host address
+     * @param checkName The check, for example "ICMP" or "TCP 80". Checks of the same name must be equivalent,
+     *            options that change the result must be part of the name.
+     * @param timeoutInMS The timeout of the check in milliseconds. Checks are only shared with the same timeout.
+     * @param check Performs the check, if necessary
+     * @param callback Receives the result
+     */
+    public void check(String hostAddress, String checkName, int timeoutInMS, Check check, ProbeCallback callback) {
+        final String key = hostAddress + " " + checkName + " " + timeoutInMS;
+        final Entry entry;
+        final boolean startCheck;
+        List<Entry> lostEntries = new ArrayList<>();
+        try {
+            synchronized (this) {
+                long now = getCurrentNanoTime();
+                removeExpiredEntries(now, lostEntries);
+                Entry cached = entries.get(key);
+                if (cached != null && cached.inFlight && cached.inFlightUntil - now > 0) {
+                    logger.trace("Join ongoing {} check for {}", checkName, hostAddress);
+                    cached.waitingCallbacks.add(callback);
+                    return;
+                }
+                if (cached != null && cached.inFlight) {
+                    logger.debug("The {} check for {} did not finish in time", checkName, hostAddress);
+                    lostEntries.add(cached);
+                }
+                if (cached == null || cached.inFlight || cached.expiresAt - now <= 0) {
+                    entry = new Entry();
+                    entry.inFlight = true;
+                    entry.inFlightUntil = now
+                            + TimeUnit.MILLISECONDS.toNanos(timeoutInMS + IN_FLIGHT_GRACE_TIME_IN_MS);
+                    entry.waitingCallbacks.add(callback);
+                    entries.put(key, entry);
+                    startCheck = true;
+                } else {
+                    entry = cached;
+                    startCheck = false;
+                }
+            }
+        } finally {
+            lostEntries.forEach(lost -> finished(lost, false, 0));
+        }
+        if (startCheck) {
+            try {
+                check.start((reachable, latency) -> finished(entry, reachable, latency));
+            } catch (RuntimeException e) {
+                logger.warn("Could not start the {} check for {}", checkName, hostAddress, e);
+                finished(entry, false, 0);
+            }
+        } else {
+            // The result of a finished check never changes
+            callback.probeFinished(entry.reachable, entry.latency);
+        }
+    }
+
+    /**
+     * Create a check that performs the blocking check on the shared thread pool.
+     *
+     * @param blockingCheck The blocking check
+     * @return A check that can be used with {@link #check(String, String, Check, ProbeCallback)}
+     */
+    public Check blocking(BlockingCheck blockingCheck) {
+        return done -> getExecutorService().execute(() -> {
+            boolean reachable = false;
+            double pingTime = System.nanoTime();
+            try {
+                reachable = blockingCheck.perform();
+            } catch (IOException e) {
+                logger.trace("Presence check failed", e);
+            } catch (InterruptedException ignored) {
+                // The thread pool is shut down
+            } catch (RuntimeException e) {
+                logger.warn("Presence check failed", e);
+            } finally {
+                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
+                done.probeFinished(reachable, reachable ? latency : 0);
+            }
+        });
+    }
+
+    /**
+     * Forget the results of all checks for the given host, for example because it sent a DHCP request. Checks that
+     * are in flight still report their result to the waiting requests, but it is not reused.
+     *
+     * @param hostAddress The host address
+     */
+    public synchronized void invalidate(String hostAddress) {
+        String prefix = hostAddress + " ";
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Stop the shared thread pool and forget all cached results.
+     */
+    public synchronized void shutdown() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+        entries.values().removeIf(entry -> !entry.inFlight);
+    }
+
+    /**
+     * Returns an arbitrary time reference in nanoseconds.
+     * This is used for the cache to determine if a result has expired.
+     */
+    public long getCurrentNanoTime() {
+        return System.nanoTime();
+    }
+
+    private void finished(Entry entry, boolean reachable, double latency) {
+        List<ProbeCallback> callbacks;
+        synchronized (this) {
+            if (!entry.inFlight) {
+                // Lost check that finished after all
+                return;
+            }
+            entry.inFlight = false;
+            entry.reachable = reachable;
+            entry.latency = latency;
+            entry.expiresAt = getCurrentNanoTime() + cacheTimeInNS;
+            callbacks = entry.waitingCallbacks;
+            entry.waitingCallbacks = new ArrayList<>();
+        }
+        for (ProbeCallback callback : callbacks) {
+            try {
+                callback.probeFinished(reachable, latency);
+            } catch (RuntimeException e) {
+                logger.warn("Presence check callback failed", e);
+            }
+        }
+    }
+
+    /**
+     * Remove expired results and lost checks.
+     *
+     * @param lostEntries Receives the lost checks, which have to be finished outside of the lock
+     */
+    private void removeExpiredEntries(long now, List<Entry> lostEntries) {
+        if (nextCleanup - now > 0) {
+            return;
+        }
+        nextCleanup = now + cacheTimeInNS;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (entry.inFlight ? entry.inFlightUntil - now <= 0 : entry.expiresAt - now <= 0) {
+                it.remove();
+                if (entry.inFlight) {
+                    lostEntries.add(entry);
+                }
+            }
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "presenceCheck-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executorService;
+    }
+}
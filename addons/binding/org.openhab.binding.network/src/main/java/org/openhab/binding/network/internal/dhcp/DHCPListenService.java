@@ -9,6 +9,8 @@
 package org.openhab.binding.network.internal.dhcp;
 
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -20,23 +22,29 @@ import org.slf4j.LoggerFactory;
  * If the first one is registered and there is no singleton instance, an instance will be created and the
  * receiver thread will be started. If the last IPRequestReceivedCallback is removed, the thread will be stopped
  * after the receive socket is closed.
- * IPRequestReceivedCallback will be called for the address that is registered and matches the
- * DHO_DHCP_REQUESTED_ADDRESS address field.
+ * All IPRequestReceivedCallback objects will be called, that are registered for an address that matches the
+ * DHO_DHCP_REQUESTED_ADDRESS address field. Multiple objects can be registered for the same address.
  *
  * @author David Graeff - Initial contribution
  */
 public class DHCPListenService {
     static DHCPPacketListenerServer instance;
-    static Map<String, IPRequestReceivedCallback> registeredListeners = new TreeMap<>();
+    static Map<String, List<IPRequestReceivedCallback>> registeredListeners = new TreeMap<>();
     static Logger logger = LoggerFactory.getLogger(DHCPListenService.class);
 
     public static synchronized DHCPPacketListenerServer register(String hostAddress,
             IPRequestReceivedCallback dhcpListener) throws SocketException {
         if (instance == null) {
             instance = new DHCPPacketListenerServer((String ipAddress) -> {
-                IPRequestReceivedCallback listener = registeredListeners.get(ipAddress);
-                if (listener != null) {
-                    listener.dhcpRequestReceived(ipAddress);
+                List<IPRequestReceivedCallback> listeners;
+                synchronized (registeredListeners) {
+                    listeners = registeredListeners.get(ipAddress);
+                    listeners = listeners != null ? new ArrayList<>(listeners) : null;
+                }
+                if (listeners != null) {
+                    for (IPRequestReceivedCallback listener : listeners) {
+                        listener.dhcpRequestReceived(ipAddress);
+                    }
                 } else {
                     logger.trace("DHCP request for unknown address: {}", ipAddress);
                 }
@@ -44,14 +52,43 @@ public class DHCPListenService {
             instance.start();
         }
         synchronized (registeredListeners) {
-            registeredListeners.put(hostAddress, dhcpListener);
+            List<IPRequestReceivedCallback> listeners = registeredListeners.computeIfAbsent(hostAddress,
+                    k -> new ArrayList<>());
+            if (!listeners.contains(dhcpListener)) {
+                listeners.add(dhcpListener);
+            }
         }
         return instance;
     }
 
+    /**
+     * Unregister all listeners for the given address.
+     */
     public static void unregister(String hostAddress) {
         synchronized (registeredListeners) {
             registeredListeners.remove(hostAddress);
+        }
+        closeIfUnused();
+    }
+
+    /**
+     * Unregister the given listener for the given address. Other listeners for the same address stay registered.
+     */
+    public static void unregister(String hostAddress, IPRequestReceivedCallback dhcpListener) {
+        synchronized (registeredListeners) {
+            List<IPRequestReceivedCallback> listeners = registeredListeners.get(hostAddress);
+            if (listeners != null) {
+                listeners.remove(dhcpListener);
+                if (listeners.isEmpty()) {
+                    registeredListeners.remove(hostAddress);
+                }
+            }
+        }
+        closeIfUnused();
+    }
+
+    private static synchronized void closeIfUnused() {
+        synchronized (registeredListeners) {
             if (!registeredListeners.isEmpty()) {
                 return;
             }
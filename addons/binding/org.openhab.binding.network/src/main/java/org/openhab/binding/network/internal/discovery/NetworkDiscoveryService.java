@@ -10,7 +10,11 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +23,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,7 +36,9 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.ArpTable;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -51,6 +58,10 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    // A sweep covers up to a /20 subnet per interface
+    static final int SWEEP_MAXIMUM_IPS_PER_INTERFACE = 4094;
+    // Java pings block a thread each
+    static final int SWEEP_MAXIMUM_PING_THREADS = 32;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -61,6 +72,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
     private Integer scannedIPcount;
     private ExecutorService executorService = null;
+    private PresenceProber sweepProber = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     NetworkUtils networkUtils = new NetworkUtils();
 
@@ -115,6 +127,10 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
      */
     @Override
     protected void startScan() {
+        if (configuration.discoverySweep) {
+            startSweep();
+            return;
+        }
         if (executorService != null) {
             return;
         }
@@ -156,9 +172,104 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         }
     }
 
+    /**
+     * Starts an asynchronous sweep of all IPs on each interface on the network. All TCP connection attempts
+     * and ARP pings are pipelined by a single {@link PresenceProber}, with the configured concurrency and rate.
+     * ICMP pings are performed with the Java ping by a small thread pool.
+     * Devices are reported as soon as they respond.
+     */
+    private synchronized void startSweep() {
+        if (sweepProber != null || executorService != null) {
+            return;
+        }
+        removeOlderResults(getTimestampOfLastScan(), null);
+        logger.trace("Starting Network Device Sweep");
+
+        final List<InetAddress> addresses = new ArrayList<>();
+        for (String ip : networkUtils.getNetworkIPs(SWEEP_MAXIMUM_IPS_PER_INTERFACE)) {
+            try {
+                addresses.add(InetAddress.getByName(ip));
+            } catch (UnknownHostException unknownHostException) {
+                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
+            }
+        }
+
+        final PresenceProber prober = new PresenceProber(new ArpTable(),
+                configuration.discoverySweepConcurrency.intValue(), configuration.discoverySweepRate.intValue());
+        final boolean useArpTable = prober.isArpTableAvailable();
+        final AtomicInteger pendingProbes = new AtomicInteger();
+        for (InetAddress address : addresses) {
+            // One ICMP ping and the TCP ports
+            pendingProbes.addAndGet(1 + tcp_service_ports.size());
+            if (useArpTable && address instanceof Inet4Address) {
+                pendingProbes.incrementAndGet();
+            }
+        }
+        if (pendingProbes.get() == 0) {
+            stopScan();
+            return;
+        }
+        sweepProber = prober;
+        executorService = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(configuration.discoverySweepConcurrency.intValue(), SWEEP_MAXIMUM_PING_THREADS)));
+
+        for (InetAddress address : addresses) {
+            final String ip = address.getHostAddress();
+            executorService.execute(() -> {
+                if (isSweepRunning(prober)) {
+                    try {
+                        if (address.isReachable(PING_TIMEOUT_IN_MS)) {
+                            newPingDevice(ip);
+                        }
+                    } catch (IOException e) {
+                        logger.trace("Java ping of {} failed: {}", ip, e.getMessage());
+                    }
+                }
+                sweepProbeFinished(prober, pendingProbes);
+            });
+            if (useArpTable && address instanceof Inet4Address) {
+                prober.probeArpTable((Inet4Address) address, PING_TIMEOUT_IN_MS, (reachable, latency) -> {
+                    if (reachable) {
+                        newPingDevice(ip);
+                    }
+                    sweepProbeFinished(prober, pendingProbes);
+                });
+            }
+            for (int port : tcp_service_ports) {
+                prober.probeService(address, port, PING_TIMEOUT_IN_MS, (reachable, latency) -> {
+                    if (reachable) {
+                        newServiceDevice(ip, port);
+                    }
+                    sweepProbeFinished(prober, pendingProbes);
+                });
+            }
+        }
+    }
+
+    private synchronized boolean isSweepRunning(PresenceProber prober) {
+        return sweepProber == prober;
+    }
+
+    private void sweepProbeFinished(PresenceProber prober, AtomicInteger pendingProbes) {
+        if (pendingProbes.decrementAndGet() > 0) {
+            return;
+        }
+        synchronized (this) {
+            if (sweepProber == prober) {
+                logger.trace("Sweep of the network successful");
+                stopScan();
+            }
+        }
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        if (sweepProber != null) {
+            // Outstanding probes finish as not reachable
+            sweepProber.shutdown();
+            sweepProber = null;
+        }
         if (executorService == null) {
             return;
         }
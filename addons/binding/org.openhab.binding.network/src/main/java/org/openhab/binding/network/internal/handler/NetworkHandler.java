@@ -32,7 +32,9 @@ import org.openhab.binding.network.internal.NetworkHandlerConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.SharedPresenceCache;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +52,8 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
 
     private boolean isTCPServiceDevice;
     private NetworkBindingConfiguration configuration;
+    private PresenceProber prober;
+    private SharedPresenceCache sharedCache;
 
     // How many retries before a device is deemed offline
     int retries;
@@ -62,9 +66,23 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
      */
     public NetworkHandler(@NonNull Thing thing, boolean isTCPServiceDevice,
             @NonNull NetworkBindingConfiguration configuration) {
+        this(thing, isTCPServiceDevice, configuration, null, null);
+    }
+
+    /**
+     * Do not call this directly, but use the {@see NetworkHandlerBuilder} instead.
+     *
+     * @param prober The prober that is used instead of threads and external tools, if configured
+     * @param sharedCache The binding wide cache for checks of the same host by several things
+     */
+    public NetworkHandler(@NonNull Thing thing, boolean isTCPServiceDevice,
+            @NonNull NetworkBindingConfiguration configuration, PresenceProber prober,
+            SharedPresenceCache sharedCache) {
         super(thing);
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
+        this.prober = prober;
+        this.sharedCache = sharedCache;
     }
 
     private void refreshValue(ChannelUID channelUID) {
@@ -160,6 +178,12 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
             return;
         }
 
+        presenceDetection.setSharedCache(sharedCache);
+        boolean useInJvmProbes = configuration.useInJvmProbes && prober != null;
+        if (useInJvmProbes) {
+            presenceDetection.setPresenceProber(prober);
+        }
+
         if (isTCPServiceDevice) {
             if (handlerConfiguration.port == null) {
                 logger.error("You need to configure the port for a service device");
@@ -175,8 +199,18 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
             presenceDetection.setIOSDevice(true);
             // Hand over binding configurations to the network service
             presenceDetection.setUseDhcpSniffing(configuration.allowDHCPlisten);
-            presenceDetection.setUseIcmpPing(configuration.allowSystemPings);
-            presenceDetection.setUseArpPing(true, configuration.arpPingToolPath);
+            if (useInJvmProbes) {
+                // Java ping and the ARP table of the prober do not need external processes
+                presenceDetection.setUseIcmpPing(false);
+                presenceDetection.setUseArpTable(true);
+                if (!prober.isArpTableAvailable()) {
+                    // No kernel ARP table to read on this system, use the arping tool instead
+                    presenceDetection.setUseArpPing(true, configuration.arpPingToolPath);
+                }
+            } else {
+                presenceDetection.setUseIcmpPing(configuration.allowSystemPings);
+                presenceDetection.setUseArpPing(true, configuration.arpPingToolPath);
+            }
         }
 
         this.retries = handlerConfiguration.retry.intValue();
@@ -187,8 +221,14 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
         presenceDetection.startAutomaticRefresh(scheduler);
 
         // Update properties (after startAutomaticRefresh, to get the correct dhcp state)
-        updateProperty(NetworkBindingConstants.PROPERTY_ARP_STATE,
-                presenceDetection.arpPingMethod() != null ? presenceDetection.arpPingMethod().name() : "Disabled");
+        String arpState;
+        if (presenceDetection.usesArpTable()) {
+            arpState = "ARP_TABLE";
+        } else {
+            arpState = presenceDetection.arpPingMethod() != null ? presenceDetection.arpPingMethod().name()
+                    : "Disabled";
+        }
+        updateProperty(NetworkBindingConstants.PROPERTY_ARP_STATE, arpState);
         updateProperty(NetworkBindingConstants.PROPERTY_ICMP_STATE,
                 presenceDetection.getPingMethod() != null ? presenceDetection.getPingMethod().name() : "Disabled");
         updateProperty(NetworkBindingConstants.PROPERTY_PRESENCE_DETECTION_TYPE, "");
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the ARP/neighbour table of the kernel. The whole table is read in one pass, so the
+ * state of all IPv4 hosts is known with a single file read instead of one arping process per host.
+ *
+ * The table is only available on Linux (/proc/net/arp). An entry is considered resolved if
+ * the kernel has a complete hardware address for it. The table does not tell whether the entry
+ * has been confirmed recently, a resolved entry may also be stale.
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpTable {
+    public static final Path LINUX_ARP_TABLE = Paths.get("/proc/net/arp");
+
+    /// Flag of a resolved entry (ATF_COM in linux/if_arp.h)
+    private static final int ATF_COM = 0x02;
+
+    private final Path file;
+
+    public ArpTable() {
+        this(LINUX_ARP_TABLE);
+    }
+
+    public ArpTable(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Return true if the ARP table can be read on this system.
+     */
+    public boolean isAvailable() {
+        return Files.isReadable(file);
+    }
+
+    /**
+     * Read the table and return the IPv4 addresses of all resolved entries.
+     *
+     * @return The hardware addresses of all resolved entries by IPv4 address
+     * @throws IOException The table could not be read
+     */
+    public Map<String, String> getResolvedAddresses() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parse a table in the format of /proc/net/arp:
+     *
+     * <pre>
+     * IP address       HW type     Flags       HW address            Mask     Device
+     * 192.168.0.1      0x1         0x2         00:11:22:33:44:55     *        eth0
+     * </pre>
+     *
+     * The header line and malformed lines are skipped.
+     *
+     * @param reader The table content
+     * @return The hardware addresses of all resolved entries by IPv4 address
+     * @throws IOException The table could not be read
+     */
+    public static Map<String, String> parse(BufferedReader reader) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length < 4 || !columns[2].startsWith("0x")) {
+                continue;
+            }
+            try {
+                int flags = Integer.parseInt(columns[2].substring(2), 16);
+                if ((flags & ATF_COM) != 0) {
+                    result.put(columns[0], columns[3]);
+                }
+            } catch (NumberFormatException ignored) {
+                // Skip malformed lines
+            }
+        }
+        return result;
+    }
+}
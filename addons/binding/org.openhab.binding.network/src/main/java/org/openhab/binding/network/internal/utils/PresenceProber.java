@@ -0,0 +1,474 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs presence probes for many hosts within the JVM, without starting external processes.
+ *
+ * All probes are handled by a single thread. At most maxInFlight probes are pending at the same time
+ * and optionally at most maxProbesPerSecond probes are started per second, further probes wait in a queue.
+ * This also bounds the number of ARP table entries created by a sweep of a large network.
+ * - TCP connection attempts are non-blocking connects on one NIO selector.
+ * - ARP probes send a UDP packet to the host (port 5353, which also wakes up iOS devices), which makes
+ * the kernel resolve the hardware address. The kernel ARP table is then read periodically in one pass
+ * for all pending ARP probes, see {@link ArpTable}. Entries resolved after the probe was sent count at once,
+ * entries that were already resolved before must not be removed by the re-verification of the kernel.
+ *
+ * The callbacks are called on the prober thread and must return quickly.
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProber {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+    static final int ARP_TABLE_READ_INTERVAL_IN_MS = 200;
+    /**
+     * Time after which the kernel has re-verified a stale entry that is used by the probe packet and removed it if
+     * the host did not respond: delay_first_probe_time (5s) plus ucast_solicit (3) times retrans_time (1s).
+     */
+    static final int ARP_REVERIFY_TIME_IN_MS = 8000;
+    private static final int WAKEUP_PORT = 5353;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProber.class);
+
+    /**
+     * Callback for the result of a single probe.
+     */
+    @FunctionalInterface
+    public interface ProbeCallback {
+        /**
+         * @param reachable True if the host responded
+         * @param latencyInMS The time in milliseconds until the host responded
+         */
+        void probeFinished(boolean reachable, double latencyInMS);
+    }
+
+    private static class Probe {
+        final InetSocketAddress address;
+        final boolean arpProbe;
+        final long timeoutInNS;
+        final ProbeCallback callback;
+        long startTime;
+        /// Hardware address of the ARP table entry that was already resolved before the probe was sent
+        String previousHardwareAddress;
+
+        Probe(InetSocketAddress address, boolean arpProbe, int timeoutInMS, ProbeCallback callback) {
+            this.address = address;
+            this.arpProbe = arpProbe;
+            this.timeoutInNS = TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+            this.callback = callback;
+        }
+
+        long deadline() {
+            return startTime + timeoutInNS;
+        }
+    }
+
+    private final ArpTable arpTable;
+    private final int maxInFlight;
+    private final long startIntervalInNS;
+    private ProberThread proberThread;
+
+    public PresenceProber() {
+        this(new ArpTable(), DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param arpTable The ARP table to read for ARP probes
+     * @param maxInFlight The maximum number of simultaneous probes
+     */
+    public PresenceProber(ArpTable arpTable, int maxInFlight) {
+        this(arpTable, maxInFlight, 0);
+    }
+
+    /**
+     * @param arpTable The ARP table to read for ARP probes
+     * @param maxInFlight The maximum number of simultaneous probes
+     * @param maxProbesPerSecond The maximum number of probes started per second or 0 for no limit
+     */
+    public PresenceProber(ArpTable arpTable, int maxInFlight, int maxProbesPerSecond) {
+        this.arpTable = arpTable;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.startIntervalInNS = maxProbesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxProbesPerSecond : 0;
+    }
+
+    /**
+     * Return true if ARP probes can be performed on this system.
+     */
+    public boolean isArpTableAvailable() {
+        return arpTable.isAvailable();
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port. The host is not reachable if a timeout
+     * occurred or the connection was denied, equal to {@link NetworkUtils#servicePing(String, int, int)}.
+     *
+     * @param address The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeoutInMS Timeout in milliseconds, starting with the connection attempt
+     * @param callback Called with the result
+     */
+    public void probeService(InetAddress address, int port, int timeoutInMS, ProbeCallback callback) {
+        submit(new Probe(new InetSocketAddress(address, port), false, timeoutInMS, callback));
+    }
+
+    /**
+     * Make the kernel resolve the hardware address of the host and wait until it appears in the ARP table.
+     * The latency is only as accurate as the ARP table read interval.
+     *
+     * If the host was already in the ARP table before the probe, the entry may be stale. The kernel re-verifies it
+     * and removes it if the host does not respond. Such an entry is accepted if its hardware address changed or once
+     * it was not removed within the re-verification time ({@value #ARP_REVERIFY_TIME_IN_MS}ms) or the timeout,
+     * whichever is shorter. The latency is 0 in the latter case, because no response was measured.
+     *
+     * @param address The IPv4 address
+     * @param timeoutInMS Timeout in milliseconds
+     * @param callback Called with the result
+     */
+    public void probeArpTable(Inet4Address address, int timeoutInMS, ProbeCallback callback) {
+        submit(new Probe(new InetSocketAddress(address, WAKEUP_PORT), true, timeoutInMS, callback));
+    }
+
+    /**
+     * Stop the prober thread. All pending probes finish as not reachable.
+     * The prober is started again with the next probe.
+     */
+    public synchronized void shutdown() {
+        if (proberThread != null) {
+            proberThread.running = false;
+            proberThread.threadSelector.wakeup();
+            proberThread = null;
+        }
+    }
+
+    private synchronized void submit(Probe probe) {
+        if (proberThread == null) {
+            try {
+                proberThread = new ProberThread(Selector.open());
+            } catch (IOException e) {
+                logger.warn("Could not start the presence prober", e);
+                probe.callback.probeFinished(false, 0);
+                return;
+            }
+            proberThread.start();
+        }
+        proberThread.submittedProbes.add(probe);
+        proberThread.threadSelector.wakeup();
+    }
+
+    /**
+     * The prober thread. It runs until the prober is shut down and owns all state of the started probes.
+     */
+    private class ProberThread extends Thread {
+        private final Selector threadSelector;
+        private final Queue<Probe> submittedProbes = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+        private final Queue<Probe> waitingProbes = new ArrayDeque<>();
+        private final List<Probe> arpProbes = new ArrayList<>();
+        private DatagramChannel wakeupChannel;
+        private long nextArpTableRead;
+        private long nextStart;
+        private int inFlight;
+
+        ProberThread(Selector threadSelector) {
+            super("presenceProber");
+            setDaemon(true);
+            this.threadSelector = threadSelector;
+            this.nextStart = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            try {
+                probe();
+            } finally {
+                synchronized (PresenceProber.this) {
+                    if (proberThread == this) {
+                        proberThread = null;
+                    }
+                }
+                // No probes are submitted to this thread anymore
+                finishAll();
+            }
+        }
+
+        private void probe() {
+            try {
+                wakeupChannel = DatagramChannel.open();
+                wakeupChannel.configureBlocking(false);
+            } catch (IOException e) {
+                logger.debug("Could not open a datagram channel for ARP probes: {}", e.getMessage());
+                wakeupChannel = null;
+            }
+
+            while (running) {
+                try {
+                    Probe probe;
+                    while ((probe = submittedProbes.poll()) != null) {
+                        waitingProbes.add(probe);
+                    }
+                    Map<String, String> arpTableBeforeProbes = null;
+                    while (inFlight < maxInFlight && !waitingProbes.isEmpty() && mayStart(System.nanoTime())) {
+                        probe = waitingProbes.poll();
+                        if (probe.arpProbe) {
+                            if (arpTableBeforeProbes == null) {
+                                arpTableBeforeProbes = readArpTable();
+                            }
+                            startArpProbe(probe, arpTableBeforeProbes);
+                        } else {
+                            connect(probe);
+                        }
+                    }
+
+                    threadSelector.select(expireProbes(System.nanoTime()));
+
+                    for (SelectionKey key : threadSelector.selectedKeys()) {
+                        finishConnect(key);
+                    }
+                    threadSelector.selectedKeys().clear();
+                } catch (IOException e) {
+                    logger.debug("Presence prober failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Finish all outstanding probes as not reachable
+         */
+        private void finishAll() {
+            for (SelectionKey key : threadSelector.keys()) {
+                if (key.isValid()) {
+                    finish(key, false);
+                }
+            }
+            waitingProbes.addAll(submittedProbes);
+            submittedProbes.clear();
+            arpProbes.forEach(probe -> notify(probe, false, 0));
+            arpProbes.clear();
+            waitingProbes.forEach(probe -> notify(probe, false, 0));
+            waitingProbes.clear();
+            try {
+                threadSelector.close();
+                if (wakeupChannel != null) {
+                    wakeupChannel.close();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+
+        /**
+         * Call the callback of the probe. A failing callback must not stop the prober thread.
+         */
+        private void notify(Probe probe, boolean reachable, double latencyInMS) {
+            try {
+                probe.callback.probeFinished(reachable, latencyInMS);
+            } catch (RuntimeException e) {
+                logger.warn("Presence probe callback for {} failed", probe.address, e);
+            }
+        }
+
+        /**
+         * Return true if the rate limit allows to start a probe now, and reserve the start.
+         */
+        private boolean mayStart(long now) {
+            if (startIntervalInNS == 0) {
+                return true;
+            }
+            if (nextStart - now > 0) {
+                return false;
+            }
+            // Do not accumulate unused starts while idle
+            nextStart = Math.max(nextStart, now - startIntervalInNS) + startIntervalInNS;
+            return true;
+        }
+
+        private void connect(Probe probe) {
+            SocketChannel channel = null;
+            probe.startTime = System.nanoTime();
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                if (channel.connect(probe.address)) {
+                    channel.close();
+                    notify(probe, true, latency(probe, System.nanoTime()));
+                } else {
+                    channel.register(threadSelector, SelectionKey.OP_CONNECT, probe);
+                    inFlight++;
+                }
+            } catch (IOException e) {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                notify(probe, false, 0);
+            }
+        }
+
+        private void finishConnect(SelectionKey key) {
+            boolean reachable;
+            try {
+                reachable = ((SocketChannel) key.channel()).finishConnect();
+                if (!reachable) {
+                    // Not connected yet, keep waiting
+                    return;
+                }
+            } catch (IOException e) {
+                reachable = false;
+            }
+            finish(key, reachable);
+        }
+
+        private void finish(SelectionKey key, boolean reachable) {
+            Probe probe = (Probe) key.attachment();
+            long now = System.nanoTime();
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {
+            }
+            inFlight--;
+            notify(probe, reachable, reachable ? latency(probe, now) : 0);
+        }
+
+        private void startArpProbe(Probe probe, Map<String, String> arpTableBeforeProbe) {
+            probe.startTime = System.nanoTime();
+            probe.previousHardwareAddress = arpTableBeforeProbe.get(probe.address.getAddress().getHostAddress());
+            if (arpProbes.isEmpty()) {
+                // Give the kernel some time to resolve the address before reading the table
+                nextArpTableRead = probe.startTime + TimeUnit.MILLISECONDS.toNanos(ARP_TABLE_READ_INTERVAL_IN_MS);
+            }
+            if (wakeupChannel != null) {
+                try {
+                    wakeupChannel.send(ByteBuffer.allocate(0), probe.address);
+                } catch (IOException ignored) {
+                    // The kernel resolves the address even if the packet cannot be delivered
+                }
+            }
+            arpProbes.add(probe);
+            inFlight++;
+        }
+
+        /**
+         * Finish all probes that timed out and read the ARP table if necessary.
+         *
+         * @return The time in milliseconds until the next probe times out or 0 if no probe is pending
+         */
+        private long expireProbes(long now) {
+            long nextDeadline = Long.MAX_VALUE;
+
+            for (SelectionKey key : threadSelector.keys()) {
+                if (!key.isValid()) {
+                    continue;
+                }
+                long deadline = ((Probe) key.attachment()).deadline();
+                if (deadline - now <= 0) {
+                    finish(key, false);
+                } else {
+                    nextDeadline = Math.min(nextDeadline, deadline);
+                }
+            }
+
+            if (!arpProbes.isEmpty()) {
+                if (nextArpTableRead - now <= 0) {
+                    readArpTable(now);
+                }
+                if (!arpProbes.isEmpty()) {
+                    nextDeadline = Math.min(nextDeadline, nextArpTableRead);
+                }
+            }
+
+            // Finished probes make room for waiting probes
+            if (inFlight < maxInFlight && !waitingProbes.isEmpty()) {
+                nextDeadline = Math.min(nextDeadline, nextStart);
+            }
+
+            if (nextDeadline == Long.MAX_VALUE) {
+                return 0;
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline - now));
+        }
+
+        private Map<String, String> readArpTable() {
+            try {
+                return arpTable.getResolvedAddresses();
+            } catch (IOException e) {
+                logger.debug("Could not read the ARP table: {}", e.getMessage());
+                return Collections.emptyMap();
+            }
+        }
+
+        private void readArpTable(long now) {
+            Map<String, String> resolved = readArpTable();
+            nextArpTableRead = now + TimeUnit.MILLISECONDS.toNanos(ARP_TABLE_READ_INTERVAL_IN_MS);
+
+            for (Iterator<Probe> it = arpProbes.iterator(); it.hasNext();) {
+                Probe probe = it.next();
+                String hardwareAddress = resolved.get(probe.address.getAddress().getHostAddress());
+                if (isResolvedAfterProbe(probe, hardwareAddress)) {
+                    it.remove();
+                    inFlight--;
+                    notify(probe, true, latency(probe, now));
+                } else if (hardwareAddress != null && isKeptAfterReverify(probe, now)) {
+                    it.remove();
+                    inFlight--;
+                    notify(probe, true, 0);
+                } else if (probe.deadline() - now <= 0) {
+                    it.remove();
+                    inFlight--;
+                    notify(probe, false, 0);
+                }
+            }
+        }
+
+        private boolean isResolvedAfterProbe(Probe probe, String hardwareAddress) {
+            if (hardwareAddress == null) {
+                // Not resolved (anymore), the next resolved entry is a result of the probe
+                probe.previousHardwareAddress = null;
+                return false;
+            }
+            return probe.previousHardwareAddress == null || !probe.previousHardwareAddress.equals(hardwareAddress);
+        }
+
+        /**
+         * Return true if an entry that was resolved before the probe was not removed by the kernel until the
+         * re-verification time or the timeout of the probe passed, whichever comes first.
+         */
+        private boolean isKeptAfterReverify(Probe probe, long now) {
+            long waitTime = Math.min(TimeUnit.MILLISECONDS.toNanos(ARP_REVERIFY_TIME_IN_MS), probe.timeoutInNS);
+            return now - probe.startTime >= waitTime;
+        }
+    }
+
+    private static double latency(Probe probe, long now) {
+        return Math.round((now - probe.startTime) / 1000000.0f);
+    }
+}
@@ -15,8 +15,10 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
+import org.openhab.binding.smaenergymeter.internal.handler.EnergyMeterReceiverService;
 import org.openhab.binding.smaenergymeter.internal.handler.SMAEnergyMeterHandler;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
  * The {@link SMAEnergyMeterHandlerFactory} is responsible for creating things and thing
@@ -27,6 +29,8 @@ import org.osgi.service.component.annotations.Component;
 @Component(service = ThingHandlerFactory.class, configurationPid = "binding.smaenergymeter")
 public class SMAEnergyMeterHandlerFactory extends BaseThingHandlerFactory {
 
+    private EnergyMeterReceiverService receiverService;
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -37,10 +41,19 @@ public class SMAEnergyMeterHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_TYPE_ENERGY_METER)) {
-            return new SMAEnergyMeterHandler(thing);
+            return new SMAEnergyMeterHandler(thing, receiverService);
         }
 
         return null;
     }
 
+    @Reference
+    protected void setEnergyMeterReceiverService(EnergyMeterReceiverService receiverService) {
+        this.receiverService = receiverService;
+    }
+
+    protected void unsetEnergyMeterReceiverService(EnergyMeterReceiverService receiverService) {
+        this.receiverService = null;
+    }
+
 }
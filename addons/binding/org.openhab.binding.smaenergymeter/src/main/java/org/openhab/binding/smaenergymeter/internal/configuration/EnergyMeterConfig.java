@@ -18,6 +18,7 @@ public class EnergyMeterConfig {
     private String mcastGroup;
     private Integer port;
     private Integer pollingPeriod;
+    private Boolean average;
 
     public String getMcastGroup() {
         return mcastGroup;
@@ -43,4 +44,12 @@ public class EnergyMeterConfig {
         this.pollingPeriod = pollingPeriod;
     }
 
+    public Boolean getAverage() {
+        return average;
+    }
+
+    public void setAverage(Boolean average) {
+        this.average = average;
+    }
+
 }
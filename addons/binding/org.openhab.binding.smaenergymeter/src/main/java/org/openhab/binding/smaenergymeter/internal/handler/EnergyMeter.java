@@ -12,8 +12,6 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.MulticastSocket;
-import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.Date;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -30,7 +28,8 @@ public class EnergyMeter {
     private int port;
 
     private String serialNumber;
-    private Date lastUpdate;
+    private int serialNumberValue;
+    private long lastUpdate;
 
     private final FieldDTO powerIn;
     private final FieldDTO energyIn;
@@ -40,6 +39,13 @@ public class EnergyMeter {
     public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
     public static final int DEFAULT_MCAST_PORT = 9522;
 
+    /**
+     * Maximum size of a telegram
+     */
+    public static final int MAX_TELEGRAM_SIZE = 600;
+
+    private static final int SERIAL_NUMBER_ADDRESS = 0x14;
+
     public EnergyMeter(String multicastGroup, int port) {
         this.multicastGroup = multicastGroup;
         this.port = port;
@@ -50,8 +56,13 @@ public class EnergyMeter {
         energyOut = new FieldDTO(0x3C, 8, 3600000);
     }
 
+    /**
+     * Receives a single telegram on a new socket. To receive all telegrams use an {@link EnergyMeterReceiver}.
+     *
+     * @throws IOException if no valid telegram could be received
+     */
     public void update() throws IOException {
-        byte[] bytes = new byte[600];
+        byte[] bytes = new byte[MAX_TELEGRAM_SIZE];
         try (MulticastSocket socket = new MulticastSocket(port)) {
             socket.setSoTimeout(5000);
             InetAddress address = InetAddress.getByName(multicastGroup);
@@ -60,31 +71,72 @@ public class EnergyMeter {
             DatagramPacket msgPacket = new DatagramPacket(bytes, bytes.length);
             socket.receive(msgPacket);
 
-            String sma = new String(Arrays.copyOfRange(bytes, 0x00, 0x03));
-            if (!sma.equals("SMA")) {
-                throw new IOException("Not a SMA telegram." + sma);
+            if (!parse(bytes, msgPacket.getLength())) {
+                throw new IOException("Not a SMA telegram." + new String(bytes, 0, Math.min(3, msgPacket.getLength())));
             }
-
-            ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOfRange(bytes, 0x14, 0x18));
-            serialNumber = String.valueOf(buffer.getInt());
-
-            powerIn.updateValue(bytes);
-            energyIn.updateValue(bytes);
-            powerOut.updateValue(bytes);
-            energyOut.updateValue(bytes);
-
-            lastUpdate = new Date(System.currentTimeMillis());
         } catch (Exception e) {
             throw new IOException(e);
         }
     }
 
+    /**
+     * Extracts the data fields of a received telegram. The fields are at fixed offsets, so this doesn't allocate any
+     * objects, except for the serial number when it differs from the previous telegram.
+     *
+     * @param bytes the received telegram
+     * @param length the length of the received telegram
+     * @return true if the telegram is a SMA telegram, false if it was ignored
+     */
+    public boolean parse(byte[] bytes, int length) {
+        if (length < energyOut.getEnd() || bytes[0] != 'S' || bytes[1] != 'M' || bytes[2] != 'A') {
+            return false;
+        }
+
+        int serial = FieldDTO.readInt(bytes, SERIAL_NUMBER_ADDRESS);
+        if (serialNumber == null || serial != serialNumberValue) {
+            serialNumberValue = serial;
+            serialNumber = String.valueOf(serial);
+        }
+
+        powerIn.updateValue(bytes);
+        energyIn.updateValue(bytes);
+        powerOut.updateValue(bytes);
+        energyOut.updateValue(bytes);
+
+        lastUpdate = System.currentTimeMillis();
+        return true;
+    }
+
+    public String getMulticastGroup() {
+        return multicastGroup;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
     public String getSerialNumber() {
         return serialNumber;
     }
 
     public Date getLastUpdate() {
-        return lastUpdate;
+        return new Date(lastUpdate);
+    }
+
+    public float getPowerInValue() {
+        return powerIn.getValue();
+    }
+
+    public float getPowerOutValue() {
+        return powerOut.getValue();
+    }
+
+    public float getEnergyInValue() {
+        return energyIn.getValue();
+    }
+
+    public float getEnergyOutValue() {
+        return energyOut.getValue();
     }
 
     public DecimalType getPowerIn() {
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.internal.handler;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link EnergyMeterListener} is notified of every telegram received from an SMA Energy Meter.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface EnergyMeterListener {
+
+    /**
+     * Called on the receiver thread for every telegram received from the energy meter the listener is registered for.
+     * The energy meter is reused for the next telegram, so its values must be copied and not be kept after returning.
+     *
+     * @param energyMeter the energy meter with the values of the received telegram
+     */
+    void telegramReceived(EnergyMeter energyMeter);
+}
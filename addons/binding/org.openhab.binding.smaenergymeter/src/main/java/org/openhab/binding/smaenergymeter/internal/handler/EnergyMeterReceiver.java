@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.internal.handler;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link EnergyMeterReceiver} keeps a socket joined to a multicast group and receives all telegrams sent to the
+ * group on its own thread. Each telegram is parsed into the same {@link EnergyMeter} and routed by serial number to
+ * the listeners registered for that serial number and to the listeners registered for any serial number.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EnergyMeterReceiver implements Runnable {
+
+    private final Logger logger = LoggerFactory.getLogger(EnergyMeterReceiver.class);
+
+    private final EnergyMeter energyMeter;
+    private final MulticastSocket socket;
+    private final Thread thread;
+
+    private final Map<String, List<EnergyMeterListener>> listenersBySerialNumber = new ConcurrentHashMap<>();
+    private final List<EnergyMeterListener> listenersForAny = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = true;
+    private long receivedTelegrams;
+    private long ignoredTelegrams;
+
+    /**
+     * Opens a socket joined to the multicast group and starts receiving telegrams.
+     *
+     * @param multicastGroup the multicast group
+     * @param port the port of the multicast group
+     * @throws IOException if the socket could not be opened or the multicast group could not be joined
+     */
+    public EnergyMeterReceiver(String multicastGroup, int port) throws IOException {
+        energyMeter = new EnergyMeter(multicastGroup, port);
+        socket = new MulticastSocket(port);
+        try {
+            socket.joinGroup(InetAddress.getByName(multicastGroup));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        thread = new Thread(this, "SMAEnergyMeter receiver " + multicastGroup + ":" + port);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Adds a listener for the telegrams of an energy meter, replacing a previous registration of the listener.
+     *
+     * @param serialNumber serial number of the energy meter or null for the telegrams of all energy meters
+     * @param listener the listener
+     */
+    public void addListener(@Nullable String serialNumber, EnergyMeterListener listener) {
+        removeListener(listener);
+        if (serialNumber == null) {
+            listenersForAny.add(listener);
+        } else {
+            listenersBySerialNumber.computeIfAbsent(serialNumber, k -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+
+    /**
+     * Removes a listener, regardless of the serial number it was added for.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(EnergyMeterListener listener) {
+        listenersForAny.remove(listener);
+        listenersBySerialNumber.values().forEach(listeners -> listeners.remove(listener));
+        listenersBySerialNumber.values().removeIf(List::isEmpty);
+    }
+
+    /**
+     * @return true if no listeners are registered
+     */
+    public boolean hasNoListeners() {
+        return listenersForAny.isEmpty() && listenersBySerialNumber.isEmpty();
+    }
+
+    /**
+     * Stops receiving telegrams and closes the socket.
+     */
+    public void stop() {
+        running = false;
+        socket.close();
+    }
+
+    @Override
+    public void run() {
+        byte[] bytes = new byte[EnergyMeter.MAX_TELEGRAM_SIZE];
+        DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+
+        logger.debug("Receiving telegrams from {}:{}", energyMeter.getMulticastGroup(), energyMeter.getPort());
+        while (running) {
+            try {
+                packet.setLength(bytes.length);
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (socket.isClosed()) {
+                    break;
+                }
+                if (running) {
+                    logger.debug("Error receiving telegram from {}:{}: {}", energyMeter.getMulticastGroup(),
+                            energyMeter.getPort(), e.getMessage());
+                }
+                continue;
+            }
+            if (energyMeter.parse(bytes, packet.getLength())) {
+                receivedTelegrams++;
+                dispatch();
+            } else {
+                ignoredTelegrams++;
+            }
+        }
+        logger.debug("Stopped receiving telegrams from {}:{} after {} telegrams, {} ignored",
+                energyMeter.getMulticastGroup(), energyMeter.getPort(), receivedTelegrams, ignoredTelegrams);
+    }
+
+    private void dispatch() {
+        List<EnergyMeterListener> listeners = listenersBySerialNumber.get(energyMeter.getSerialNumber());
+
+        if (listeners != null) {
+            for (EnergyMeterListener listener : listeners) {
+                notifyListener(listener);
+            }
+        }
+        for (EnergyMeterListener listener : listenersForAny) {
+            notifyListener(listener);
+        }
+    }
+
+    private void notifyListener(EnergyMeterListener listener) {
+        try {
+            listener.telegramReceived(energyMeter);
+        } catch (RuntimeException e) {
+            logger.warn("Error processing telegram of SMA Energy Meter '{}': {}", energyMeter.getSerialNumber(),
+                    e.getMessage(), e);
+        }
+    }
+}
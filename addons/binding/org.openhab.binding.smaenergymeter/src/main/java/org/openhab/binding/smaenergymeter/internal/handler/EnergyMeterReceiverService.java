@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.internal.handler;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * The {@link EnergyMeterReceiverService} shares one {@link EnergyMeterReceiver} per multicast group and port between
+ * all listeners. A receiver is started when the first listener for its multicast group is added and stopped when the
+ * last listener is removed.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = EnergyMeterReceiverService.class)
+@NonNullByDefault
+public class EnergyMeterReceiverService {
+
+    private final Map<String, EnergyMeterReceiver> receivers = new HashMap<>();
+
+    /**
+     * Adds a listener for the telegrams of an energy meter, starting a receiver for the multicast group if needed. A
+     * listener that is already added for the multicast group is only registered for the new serial number.
+     *
+     * @param multicastGroup the multicast group
+     * @param port the port of the multicast group
+     * @param serialNumber serial number of the energy meter or null for the telegrams of all energy meters
+     * @param listener the listener
+     * @throws IOException if the receiver could not be started
+     */
+    public synchronized void addListener(String multicastGroup, int port, @Nullable String serialNumber,
+            EnergyMeterListener listener) throws IOException {
+        String key = multicastGroup + ":" + port;
+        EnergyMeterReceiver receiver = receivers.get(key);
+
+        if (receiver == null) {
+            receiver = new EnergyMeterReceiver(multicastGroup, port);
+            receivers.put(key, receiver);
+        }
+        receiver.addListener(serialNumber, listener);
+    }
+
+    /**
+     * Removes a listener, stopping the receiver for the multicast group if it was the last listener.
+     *
+     * @param multicastGroup the multicast group
+     * @param port the port of the multicast group
+     * @param listener the listener
+     */
+    public synchronized void removeListener(String multicastGroup, int port, EnergyMeterListener listener) {
+        String key = multicastGroup + ":" + port;
+        EnergyMeterReceiver receiver = receivers.get(key);
+
+        if (receiver != null) {
+            receiver.removeListener(listener);
+            if (receiver.hasNoListeners()) {
+                receiver.stop();
+                receivers.remove(key);
+            }
+        }
+    }
+
+    @Deactivate
+    protected synchronized void deactivate() {
+        receivers.values().forEach(EnergyMeterReceiver::stop);
+        receivers.clear();
+    }
+}
@@ -8,9 +8,6 @@
  */
 package org.openhab.binding.smaenergymeter.internal.handler;
 
-import java.nio.ByteBuffer;
-import java.util.Arrays;
-
 /**
  * The {@link FieldDTO} class holds the data for a single field (i.e. the power purchased).
  *
@@ -36,22 +33,33 @@ public class FieldDTO {
         return value;
     }
 
+    /**
+     * Reads the value of the field from a telegram, without allocating any objects.
+     *
+     * @param bytes the telegram
+     */
     public void updateValue(byte[] bytes) {
         if (length == 4) {
-            value = (float) bytesToUInt16(Arrays.copyOfRange(bytes, address, address + 4)) / divisor;
+            value = (float) readInt(bytes, address) / divisor;
         } else {
-            value = (float) bytesToUInt32(Arrays.copyOfRange(bytes, address, address + 8)) / divisor;
+            value = (float) readLong(bytes, address) / divisor;
         }
     }
 
-    private int bytesToUInt16(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getInt();
+    /**
+     * @return the offset of the first byte after the field in the telegram
+     */
+    public int getEnd() {
+        return address + length;
+    }
+
+    static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) << 24 | (bytes[offset + 1] & 0xff) << 16 | (bytes[offset + 2] & 0xff) << 8
+                | (bytes[offset + 3] & 0xff);
     }
 
-    private long bytesToUInt32(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getLong();
+    static long readLong(byte[] bytes, int offset) {
+        return (long) readInt(bytes, offset) << 32 | (readInt(bytes, offset + 4) & 0xffffffffL);
     }
 
 }
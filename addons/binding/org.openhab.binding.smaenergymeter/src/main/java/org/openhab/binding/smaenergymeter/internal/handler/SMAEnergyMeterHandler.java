@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -29,23 +30,46 @@ import org.slf4j.LoggerFactory;
  * The {@link SMAEnergyMeterHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The handler receives every telegram of its energy meter from the {@link EnergyMeterReceiverService}. The channels
+ * are updated once per polling period, with the last received values or with the average power of all telegrams
+ * received in the polling period.
+ *
  * @author Osman Basha - Initial contribution
  */
-public class SMAEnergyMeterHandler extends BaseThingHandler {
+public class SMAEnergyMeterHandler extends BaseThingHandler implements EnergyMeterListener {
 
     private final Logger logger = LoggerFactory.getLogger(SMAEnergyMeterHandler.class);
-    private EnergyMeter energyMeter;
+    private final EnergyMeterReceiverService receiverService;
     private ScheduledFuture<?> pollingJob;
 
-    public SMAEnergyMeterHandler(Thing thing) {
+    private String mcastGroup;
+    private int port;
+    private boolean average;
+    private String serialNumber;
+    private volatile boolean receiving;
+    /* guarded by this, no listener is added and no update is scheduled once the handler is disposed */
+    private boolean disposed;
+
+    /* values of the telegrams received in the current polling period, guarded by this */
+    private boolean received;
+    private int telegrams;
+    private double powerInSum;
+    private double powerOutSum;
+    private float powerIn;
+    private float powerOut;
+    private float energyIn;
+    private float energyOut;
+
+    public SMAEnergyMeterHandler(Thing thing, EnergyMeterReceiverService receiverService) {
         super(thing);
+        this.receiverService = receiverService;
     }
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
             logger.debug("Refreshing {}", channelUID);
-            updateData();
+            updateData(false);
         } else {
             logger.warn("This binding is a read-only binding and cannot handle commands");
         }
@@ -57,53 +81,138 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
 
         EnergyMeterConfig config = getConfigAs(EnergyMeterConfig.class);
 
-        int port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
-        energyMeter = new EnergyMeter(config.getMcastGroup(), port);
+        mcastGroup = config.getMcastGroup();
+        port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
+        average = Boolean.TRUE.equals(config.getAverage());
+        serialNumber = getThing().getProperties().get(Thing.PROPERTY_SERIAL_NUMBER);
+        receiving = false;
+        synchronized (this) {
+            disposed = false;
+            received = false;
+            telegrams = 0;
+            powerInSum = 0;
+            powerOutSum = 0;
+        }
         try {
-            energyMeter.update();
-
-            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
-            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-            logger.debug("Found a SMA Energy Meter with S/N '{}'", energyMeter.getSerialNumber());
+            receiverService.addListener(mcastGroup, port, serialNumber, this);
         } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             return;
         }
 
         int pollingPeriod = (config.getPollingPeriod() == null) ? 30 : config.getPollingPeriod();
-        pollingJob = scheduler.scheduleWithFixedDelay(this::updateData, 0, pollingPeriod, TimeUnit.SECONDS);
+        pollingJob = scheduler.scheduleWithFixedDelay(() -> updateData(true), pollingPeriod, pollingPeriod,
+                TimeUnit.SECONDS);
         logger.debug("Polling job scheduled to run every {} sec. for '{}'", pollingPeriod, getThing().getUID());
 
-        updateStatus(ThingStatus.ONLINE);
+        updateStatus(ThingStatus.UNKNOWN);
     }
 
     @Override
     public void dispose() {
         logger.debug("Disposing SMAEnergyMeter handler '{}'", getThing().getUID());
 
+        synchronized (this) {
+            disposed = true;
+        }
         if (pollingJob != null) {
             pollingJob.cancel(true);
             pollingJob = null;
         }
-        energyMeter = null;
+        receiverService.removeListener(mcastGroup, port, this);
+    }
+
+    @Override
+    public void telegramReceived(EnergyMeter energyMeter) {
+        boolean newSerialNumber = false;
+
+        synchronized (this) {
+            if (disposed) {
+                // a telegram that was already being delivered when the handler was disposed
+                return;
+            }
+            if (serialNumber == null) {
+                serialNumber = energyMeter.getSerialNumber();
+                newSerialNumber = true;
+                try {
+                    receiverService.addListener(mcastGroup, port, serialNumber, this);
+                } catch (IOException e) {
+                    logger.debug("Could not listen to SMA Energy Meter with S/N '{}': {}", serialNumber,
+                            e.getMessage());
+                }
+            }
+            received = true;
+            telegrams++;
+            powerIn = energyMeter.getPowerInValue();
+            powerOut = energyMeter.getPowerOutValue();
+            energyIn = energyMeter.getEnergyInValue();
+            energyOut = energyMeter.getEnergyOutValue();
+            powerInSum += powerIn;
+            powerOutSum += powerOut;
+            if (!receiving) {
+                // update the channels immediately when telegrams are received (again)
+                receiving = true;
+                scheduler.execute(() -> updateData(true));
+            }
+        }
+        if (newSerialNumber) {
+            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
+            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, serialNumber);
+            logger.debug("Found a SMA Energy Meter with S/N '{}'", serialNumber);
+        }
     }
 
-    private synchronized void updateData() {
+    /**
+     * Updates the channels with the values received in the current polling period.
+     *
+     * @param requireTelegrams if true the thing is set offline when no telegram was received in the polling period
+     */
+    private void updateData(boolean requireTelegrams) {
         logger.debug("Update SMAEnergyMeter data '{}'", getThing().getUID());
 
-        try {
-            energyMeter.update();
+        DecimalType powerInState;
+        DecimalType powerOutState;
+        DecimalType energyInState;
+        DecimalType energyOutState;
 
-            updateState(CHANNEL_POWER_IN, energyMeter.getPowerIn());
-            updateState(CHANNEL_POWER_OUT, energyMeter.getPowerOut());
-            updateState(CHANNEL_ENERGY_IN, energyMeter.getEnergyIn());
-            updateState(CHANNEL_ENERGY_OUT, energyMeter.getEnergyOut());
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            if (telegrams == 0 && (requireTelegrams || !received)) {
+                powerInState = null;
+                powerOutState = null;
+                energyInState = null;
+                energyOutState = null;
+            } else {
+                boolean averagePower = average && telegrams > 0;
+                powerInState = new DecimalType(averagePower ? powerInSum / telegrams : powerIn);
+                powerOutState = new DecimalType(averagePower ? powerOutSum / telegrams : powerOut);
+                energyInState = new DecimalType(energyIn);
+                energyOutState = new DecimalType(energyOut);
+                logger.trace("Received {} telegrams from SMA Energy Meter '{}'", telegrams, serialNumber);
+                telegrams = 0;
+                powerInSum = 0;
+                powerOutSum = 0;
+            }
+        }
 
-            if (getThing().getStatus().equals(ThingStatus.OFFLINE)) {
-                updateStatus(ThingStatus.ONLINE);
+        if (powerInState == null) {
+            if (requireTelegrams) {
+                receiving = false;
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                        "No telegram received from " + mcastGroup + ":" + port);
             }
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
+            return;
+        }
+
+        updateState(CHANNEL_POWER_IN, powerInState);
+        updateState(CHANNEL_POWER_OUT, powerOutState);
+        updateState(CHANNEL_ENERGY_IN, energyInState);
+        updateState(CHANNEL_ENERGY_OUT, energyOutState);
+
+        if (!getThing().getStatus().equals(ThingStatus.ONLINE)) {
+            updateStatus(ThingStatus.ONLINE);
         }
     }
 
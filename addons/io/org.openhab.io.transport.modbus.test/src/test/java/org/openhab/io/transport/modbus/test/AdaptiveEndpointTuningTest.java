@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.internal.pooling.AdaptiveEndpointTuning;
+
+public class AdaptiveEndpointTuningTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private static EndpointPoolConfiguration configuration(long delay, long minDelay, long maxDelay,
+            int minReadTimeout) {
+        EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+        configuration.setAdaptiveTuning(true);
+        configuration.setInterTransactionDelayMillis(delay);
+        configuration.setMinInterTransactionDelayMillis(minDelay);
+        configuration.setMaxInterTransactionDelayMillis(maxDelay);
+        configuration.setMinReadTimeoutMillis(minReadTimeout);
+        return configuration;
+    }
+
+    private static void recordSuccesses(AdaptiveEndpointTuning tuning, int count, long latencyMillis) {
+        for (int i = 0; i < count; i++) {
+            tuning.recordSuccess(latencyMillis * MILLIS);
+        }
+    }
+
+    @Test
+    public void testDelayIsLoweredOnHealthyEndpoint() {
+        AdaptiveEndpointTuning tuning = new AdaptiveEndpointTuning(configuration(60, 5, 0, 0));
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(60L)));
+
+        recordSuccesses(tuning, 19, 10);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(60L)));
+        recordSuccesses(tuning, 1, 10);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(45L)));
+
+        recordSuccesses(tuning, 1000, 10);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(5L)));
+    }
+
+    @Test
+    public void testDelayIsIncreasedOnErrors() {
+        AdaptiveEndpointTuning tuning = new AdaptiveEndpointTuning(configuration(60, 0, 200, 0));
+        tuning.recordFailure(false);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(120L)));
+        tuning.recordFailure(true);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(200L)));
+
+        // errors reset the success streak
+        recordSuccesses(tuning, 19, 10);
+        tuning.recordFailure(false);
+        recordSuccesses(tuning, 19, 10);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(200L)));
+    }
+
+    @Test
+    public void testDelayIsNotIncreasedAboveInitialByDefault() {
+        AdaptiveEndpointTuning tuning = new AdaptiveEndpointTuning(configuration(60, 0, 0, 0));
+        recordSuccesses(tuning, 1000, 10);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(0L)));
+        tuning.recordFailure(false);
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(10L)));
+        for (int i = 0; i < 10; i++) {
+            tuning.recordFailure(false);
+        }
+        assertThat(tuning.getInterTransactionDelayMillis(), is(equalTo(60L)));
+    }
+
+    @Test
+    public void testReadTimeoutFollowsLatency() {
+        AdaptiveEndpointTuning tuning = new AdaptiveEndpointTuning(configuration(0, 0, 0, 20));
+        // no measurements yet
+        assertThat(tuning.getReadTimeoutMillis(3000), is(equalTo(3000)));
+
+        // steady latency, deviation decays close to zero
+        recordSuccesses(tuning, 100, 50);
+        assertThat(tuning.getReadTimeoutMillis(3000), is(equalTo(51)));
+
+        // timeouts back off until the next success
+        tuning.recordFailure(true);
+        assertThat(tuning.getReadTimeoutMillis(3000), is(equalTo(101)));
+        for (int i = 0; i < 10; i++) {
+            tuning.recordFailure(true);
+        }
+        assertThat(tuning.getReadTimeoutMillis(3000), is(equalTo(3000)));
+        recordSuccesses(tuning, 1, 50);
+        assertThat(tuning.getReadTimeoutMillis(3000), is(equalTo(51)));
+
+        // never below the minimum
+        recordSuccesses(tuning, 100, 1);
+        assertThat(tuning.getReadTimeoutMillis(3000), is(equalTo(20)));
+    }
+
+    @Test
+    public void testReadTimeoutNotTunedByDefault() {
+        AdaptiveEndpointTuning tuning = new AdaptiveEndpointTuning(configuration(0, 0, 0, 0));
+        recordSuccesses(tuning, 100, 5);
+        assertThat(tuning.getReadTimeoutMillis(1500), is(equalTo(1500)));
+    }
+}
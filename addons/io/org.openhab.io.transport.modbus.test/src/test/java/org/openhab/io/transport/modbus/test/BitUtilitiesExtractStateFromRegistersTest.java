@@ -303,4 +303,15 @@ public class BitUtilitiesExtractStateFromRegistersTest {
         assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actualState,
                 is(equalTo(expectedResult)));
     }
+
+    @Test
+    public void testExtractDoubleFromRegisters() {
+        if (expectedResult instanceof Class && Exception.class.isAssignableFrom((Class) expectedResult)) {
+            shouldThrow.expect((Class) expectedResult);
+        }
+
+        double actualValue = ModbusBitUtilities.extractDoubleFromRegisters(this.registers, this.index, this.type);
+        assertThat(String.format("registers=%s, index=%d, type=%s", registers, index, type), actualValue,
+                is(equalTo(((DecimalType) expectedResult).doubleValue())));
+    }
 }
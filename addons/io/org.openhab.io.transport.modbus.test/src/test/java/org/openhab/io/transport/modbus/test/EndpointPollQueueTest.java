@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointPollQueue;
+import org.openhab.io.transport.modbus.internal.EndpointPollQueue.DuePoll;
+import org.openhab.io.transport.modbus.internal.EndpointPollQueue.OfferResult;
+
+public class EndpointPollQueueTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(int start) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 1, 1));
+    }
+
+    @Test
+    public void testOldestDeadlineFirst() {
+        EndpointPollQueue queue = new EndpointPollQueue(endpoint, 10);
+        PollTask late = task(0);
+        PollTask early = task(1);
+        assertThat(queue.offer(late, 200, 1), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+        assertThat(queue.offer(early, 100, 1), is(equalTo(OfferResult.QUEUED)));
+
+        DuePoll first = queue.take();
+        assertThat(first.getTask(), is(sameInstance(early)));
+        assertThat(queue.finish(first), is(equalTo(true)));
+        DuePoll second = queue.take();
+        assertThat(second.getTask(), is(sameInstance(late)));
+        assertThat(queue.finish(second), is(equalTo(false)));
+    }
+
+    @Test
+    public void testPendingPollIsSkipped() {
+        EndpointPollQueue queue = new EndpointPollQueue(endpoint, 10);
+        PollTask task = task(0);
+        assertThat(queue.offer(task, 100, 1), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+        assertThat(queue.offer(task, 200, 1), is(equalTo(OfferResult.SKIPPED_PENDING)));
+
+        // still pending while executing
+        DuePoll poll = queue.take();
+        assertThat(queue.offer(task, 300, 1), is(equalTo(OfferResult.SKIPPED_PENDING)));
+        assertThat(queue.finish(poll), is(equalTo(false)));
+
+        assertThat(queue.offer(task, 400, 1), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+        assertThat(queue.getSkippedCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testQueueIsBounded() {
+        EndpointPollQueue queue = new EndpointPollQueue(endpoint, 2);
+        assertThat(queue.offer(task(0), 100, 1), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+        assertThat(queue.offer(task(1), 100, 1), is(equalTo(OfferResult.QUEUED)));
+        assertThat(queue.offer(task(2), 100, 1), is(equalTo(OfferResult.SKIPPED_QUEUE_FULL)));
+        assertThat(queue.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testWorkersAreLimited() {
+        EndpointPollQueue queue = new EndpointPollQueue(endpoint, 10);
+        assertThat(queue.offer(task(0), 100, 2), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+        assertThat(queue.offer(task(1), 100, 2), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+        assertThat(queue.offer(task(2), 100, 2), is(equalTo(OfferResult.QUEUED)));
+
+        // first worker drains the whole queue, second finds it empty and stops
+        DuePoll poll;
+        int executed = 0;
+        while ((poll = queue.take()) != null) {
+            executed++;
+            if (!queue.finish(poll)) {
+                break;
+            }
+        }
+        assertThat(executed, is(equalTo(3)));
+        assertThat(queue.take(), is(nullValue()));
+
+        // both workers have stopped, new poll starts a worker again
+        assertThat(queue.offer(task(0), 200, 2), is(equalTo(OfferResult.QUEUED_START_WORKER)));
+    }
+
+    @Test
+    public void testRemovedPollIsNotPending() {
+        EndpointPollQueue queue = new EndpointPollQueue(endpoint, 10);
+        PollTask task = task(0);
+        queue.offer(task, 100, 1);
+        queue.remove(task);
+        assertThat(queue.size(), is(equalTo(0)));
+        assertThat(queue.offer(task, 200, 1), is(equalTo(OfferResult.QUEUED)));
+    }
+
+}
@@ -20,6 +20,7 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.function.LongSupplier;
 
 import org.apache.commons.lang.NotImplementedException;
@@ -29,8 +30,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.openhab.io.transport.modbus.endpoint.ModbusSerialSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
 import org.openhab.io.transport.modbus.internal.ModbusManagerImpl;
 
 import gnu.io.SerialPort;
@@ -270,6 +273,15 @@ public class IntegrationTestSupport extends JavaTest {
     }
 
     public ModbusSlaveEndpoint getEndpoint() {
+        if (ServerType.UDP.equals(serverType)) {
+            assert udpModbusPort > 0;
+            return new ModbusUDPSlaveEndpoint("127.0.0.1", udpModbusPort);
+        } else if (ServerType.SERIAL.equals(serverType)) {
+            SerialParameters params = SERIAL_PARAMETERS_CLIENT;
+            return new ModbusSerialSlaveEndpoint(params.getPortName(), params.getBaudRate(),
+                    params.getFlowControlIn(), params.getFlowControlOut(), params.getDatabits(), params.getStopbits(),
+                    params.getParity(), params.getEncoding(), params.isEcho(), params.getReceiveTimeoutMillis());
+        }
         assert tcpModbusPort > 0;
         return new ModbusTCPSlaveEndpoint("127.0.0.1", tcpModbusPort);
     }
@@ -348,7 +360,11 @@ public class IntegrationTestSupport extends JavaTest {
 
     public static class NonOSGIModbusManager extends ModbusManagerImpl implements AutoCloseable {
         public NonOSGIModbusManager() {
-            activate(new HashMap<>());
+            this(new HashMap<>());
+        }
+
+        public NonOSGIModbusManager(Map<String, Object> configProperties) {
+            activate(configProperties);
         }
 
         @Override
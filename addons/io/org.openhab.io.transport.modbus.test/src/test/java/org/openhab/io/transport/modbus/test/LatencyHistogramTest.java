@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.LatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointMetrics;
+
+public class LatencyHistogramTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    public void testBucketIndex() {
+        assertThat(LatencyHistogram.bucketIndex(0), is(equalTo(0)));
+        assertThat(LatencyHistogram.bucketIndex(1 * MILLIS), is(equalTo(0)));
+        assertThat(LatencyHistogram.bucketIndex(1 * MILLIS + 1), is(equalTo(1)));
+        assertThat(LatencyHistogram.bucketIndex(10 * MILLIS), is(equalTo(3)));
+        assertThat(LatencyHistogram.bucketIndex(60_000 * MILLIS),
+                is(equalTo(LatencyHistogram.BUCKET_UPPER_BOUNDS_MILLIS.length)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        EndpointMetrics metrics = new EndpointMetrics(new ModbusTCPSlaveEndpoint("localhost", 502));
+        for (int i = 0; i < 98; i++) {
+            metrics.recordTransaction(3 * MILLIS);
+        }
+        metrics.recordTransaction(150 * MILLIS);
+        metrics.recordTransaction(160 * MILLIS);
+
+        LatencyHistogram histogram = metrics.snapshot(0).getTransactionLatency();
+        assertThat(histogram.getCount(), is(equalTo(100L)));
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(5L)));
+        assertThat(histogram.getPercentileMillis(98), is(equalTo(5L)));
+        assertThat(histogram.getPercentileMillis(99), is(equalTo(160L)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(160L)));
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new EndpointMetrics(new ModbusTCPSlaveEndpoint("localhost", 502)).snapshot(0)
+                .getConnectionWait();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getPercentileMillis(99), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testCounters() {
+        EndpointMetrics metrics = new EndpointMetrics(new ModbusTCPSlaveEndpoint("localhost", 502));
+        metrics.recordRetry();
+        metrics.recordRetry();
+        metrics.recordTimeout();
+        metrics.recordPollOverrun();
+        metrics.recordSuccessfulOperation();
+        metrics.recordFailedOperation();
+
+        ModbusEndpointMetrics snapshot = metrics.snapshot(7);
+        assertThat(snapshot.getRetries(), is(equalTo(2L)));
+        assertThat(snapshot.getTimeouts(), is(equalTo(1L)));
+        assertThat(snapshot.getPollOverruns(), is(equalTo(1L)));
+        assertThat(snapshot.getSuccessfulOperations(), is(equalTo(1L)));
+        assertThat(snapshot.getFailedOperations(), is(equalTo(1L)));
+        assertThat(snapshot.getConnectionFailures(), is(equalTo(0L)));
+        assertThat(snapshot.getQueueDepth(), is(equalTo(7)));
+    }
+}
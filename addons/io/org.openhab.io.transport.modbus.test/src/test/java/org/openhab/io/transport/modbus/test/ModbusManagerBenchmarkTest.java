@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.LatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Throughput and latency benchmark of the transport against the in-process slave
+ *
+ * The benchmark registers increasing number of regular polls with the slave, runs each step for a fixed time and
+ * reports transactions per second, transaction latency percentiles, connection wait, skipped polls, errors and
+ * allocation rate of the JVM. Latencies are taken from the transport metrics, see {@link ModbusEndpointMetrics}.
+ *
+ * The benchmark is skipped unless run with system property <code>modbus.benchmark=true</code>. It can be tuned with
+ * the following system properties:
+ * <ul>
+ * <li><code>modbus.benchmark.server</code>: slave type, TCP (default), UDP or SERIAL (see
+ * {@link IntegrationTestSupport} for the serial ports)</li>
+ * <li><code>modbus.benchmark.concurrency</code>: comma separated numbers of concurrent poll tasks, default
+ * <code>1,10,50,100,500</code></li>
+ * <li><code>modbus.benchmark.durationMillis</code>: duration of each step, default 10000</li>
+ * <li><code>modbus.benchmark.pollPeriodMillis</code>: poll period of each task, default 50</li>
+ * <li><code>modbus.benchmark.maxInFlightTransactions</code>: transactions in-flight over the TCP connection, default
+ * 1</li>
+ * </ul>
+ *
+ * Note that the slave records every request for the assertions of other tests, which is included in the figures.
+ * Compare the results between versions using the same settings and machine, with logging at INFO level or above.
+ *
+ * @author agent - Initial contribution
+ */
+public class ModbusManagerBenchmarkTest extends IntegrationTestSupport {
+
+    private static final String PROPERTY_PREFIX = "modbus.benchmark";
+    private static final int REGISTER_COUNT = 100;
+    private static final long WARMUP_MILLIS = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusManagerBenchmarkTest.class);
+
+    private static class CountingCallback implements ModbusReadCallback {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            responses.increment();
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            errors.increment();
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            errors.increment();
+        }
+    }
+
+    public ModbusManagerBenchmarkTest() {
+        serverType = ServerType.valueOf(System.getProperty(PROPERTY_PREFIX + ".server", "TCP").toUpperCase());
+    }
+
+    @Test
+    public void benchmarkRegularPolls() throws InterruptedException {
+        assumeTrue(Boolean.getBoolean(PROPERTY_PREFIX));
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            spi.addRegister(new SimpleRegister(i));
+        }
+        int[] concurrencies = Arrays
+                .stream(System.getProperty(PROPERTY_PREFIX + ".concurrency", "1,10,50,100,500").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        long durationMillis = Long.getLong(PROPERTY_PREFIX + ".durationMillis", 10_000);
+        long pollPeriodMillis = Long.getLong(PROPERTY_PREFIX + ".pollPeriodMillis", 50);
+
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+        configuration.setInterTransactionDelayMillis(0);
+        configuration.setReconnectAfterMillis(-1);
+        configuration.setMaxInFlightTransactions(Integer.getInteger(PROPERTY_PREFIX + ".maxInFlightTransactions", 1));
+        modbusManager.setEndpointPoolConfiguration(endpoint, configuration);
+
+        runStep(endpoint, concurrencies[0], pollPeriodMillis, WARMUP_MILLIS);
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%6s %9s %8s %8s %8s %9s %8s %8s %9s", "tasks", "tps", "p50 ms", "p99 ms", "max ms",
+                "wait p99", "skipped", "errors", "alloc MB/s"));
+        for (int concurrency : concurrencies) {
+            report.add(runStep(endpoint, concurrency, pollPeriodMillis, durationMillis));
+        }
+        logger.info("Benchmark of {} slave with {}ms poll period, {}ms per step:\n{}", serverType, pollPeriodMillis,
+                durationMillis, String.join("\n", report));
+    }
+
+    private String runStep(ModbusSlaveEndpoint endpoint, int concurrency, long pollPeriodMillis, long durationMillis)
+            throws InterruptedException {
+        CountingCallback callback = new CountingCallback();
+        List<PollTask> tasks = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            // distinct requests, so that the tasks are not equal
+            int start = i % (REGISTER_COUNT - 10);
+            int length = 1 + (i / (REGISTER_COUNT - 10)) % 10;
+            tasks.add(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 1), callback));
+        }
+        modbustRequestCaptor.clear();
+        modbusManager.resetMetrics();
+        long allocatedBefore = getAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < tasks.size(); i++) {
+            // spread the polls evenly over the poll period
+            modbusManager.registerRegularPoll(tasks.get(i), pollPeriodMillis, i * pollPeriodMillis / tasks.size());
+        }
+        Thread.sleep(durationMillis);
+        for (PollTask task : tasks) {
+            modbusManager.unregisterRegularPoll(task);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long allocated = getAllocatedBytes() - allocatedBefore;
+
+        ModbusEndpointMetrics metrics = modbusManager.getEndpointMetrics().stream()
+                .filter(m -> m.getEndpoint().equals(endpoint)).findAny().orElse(null);
+        assertThat(metrics, is(notNullValue()));
+        LatencyHistogram latency = metrics.getTransactionLatency();
+        return String.format("%6d %9.1f %8d %8d %8d %9d %8d %8d %9s", concurrency,
+                metrics.getSuccessfulOperations() / seconds, latency.getPercentileMillis(50),
+                latency.getPercentileMillis(99), latency.getMaxMillis(),
+                metrics.getConnectionWait().getPercentileMillis(99), metrics.getPollOverruns(),
+                callback.errors.sum(), allocatedBefore < 0 ? "n/a" : String.format("%.1f", allocated / seconds / 1e6));
+    }
+
+    /**
+     * Get the number of bytes allocated by all live threads, if supported by the JVM
+     *
+     * @return allocated bytes, or -1 if not supported
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        try {
+            Class<?> extendedBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!extendedBean.isInstance(bean)) {
+                return -1;
+            }
+            long[] allocated = (long[]) extendedBean.getMethod("getThreadAllocatedBytes", long[].class).invoke(bean,
+                    bean.getAllThreadIds());
+            return Arrays.stream(allocated).filter(bytes -> bytes > 0).sum();
+        } catch (ReflectiveOperationException e) {
+            return -1;
+        }
+    }
+
+}
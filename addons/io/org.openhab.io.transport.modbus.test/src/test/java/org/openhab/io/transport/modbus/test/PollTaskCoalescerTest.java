@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusUnexpectedResponseSizeException;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer;
+
+public class PollTaskCoalescerTest {
+
+    private static class CapturingCallback implements ModbusReadCallback {
+        private List<Object> received = new ArrayList<>();
+        private List<ModbusReadRequestBlueprint> requests = new ArrayList<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            requests.add(request);
+            received.add(registers);
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            requests.add(request);
+            received.add(bits);
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            requests.add(request);
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final ModbusSlaveEndpoint endpoint2 = new ModbusTCPSlaveEndpoint("localhost", 503);
+
+    private PollTask task(ModbusSlaveEndpoint endpoint, ModbusReadFunctionCode functionCode, int start, int length,
+            ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(1, functionCode, start, length, 1),
+                callback);
+    }
+
+    private PollTask task(int start, int length) {
+        return task(endpoint, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length,
+                new CapturingCallback());
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingAreMerged() {
+        List<PollTask> coalesced = PollTaskCoalescer.coalesce(Arrays.asList(task(10, 5), task(0, 10), task(12, 8)));
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0), is(instanceOf(CoalescedPollTask.class)));
+        assertThat(coalesced.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(20)));
+        assertThat(((CoalescedPollTask) coalesced.get(0)).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapIsNotMerged() {
+        PollTask first = task(0, 10);
+        PollTask second = task(11, 5);
+        List<PollTask> coalesced = PollTaskCoalescer.coalesce(Arrays.asList(first, second));
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(coalesced.get(0), is(sameInstance(first)));
+        assertThat(coalesced.get(1), is(sameInstance(second)));
+    }
+
+    @Test
+    public void testMaximumRequestSizeRespected() {
+        List<PollTask> coalesced = PollTaskCoalescer
+                .coalesce(Arrays.asList(task(0, 100), task(100, 25), task(125, 10)));
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(coalesced.get(1).getRequest().getReference(), is(equalTo(125)));
+    }
+
+    @Test
+    public void testIncompatibleTasksAreNotMerged() {
+        CapturingCallback callback = new CapturingCallback();
+        List<PollTask> coalesced = PollTaskCoalescer.coalesce(Arrays.asList(
+                task(endpoint, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, callback),
+                task(endpoint, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 10, 10, callback),
+                task(endpoint2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 10, callback)));
+        assertThat(coalesced.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testRegistersAreSlicedToMembers() {
+        CapturingCallback callback1 = new CapturingCallback();
+        CapturingCallback callback2 = new CapturingCallback();
+        PollTask task1 = task(endpoint, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 3, callback1);
+        PollTask task2 = task(endpoint, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 7, 2, callback2);
+        List<PollTask> coalesced = PollTaskCoalescer.coalesce(Arrays.asList(task1, task2));
+        assertThat(coalesced.size(), is(equalTo(1)));
+
+        PollTask merged = coalesced.get(0);
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(50, 60, 70, 80));
+
+        assertThat(callback1.requests.get(0), is(sameInstance(task1.getRequest())));
+        ModbusRegisterArray registers1 = (ModbusRegisterArray) callback1.received.get(0);
+        assertThat(registers1.size(), is(equalTo(3)));
+        assertThat(registers1.getRegister(0).getValue(), is(equalTo(50)));
+        assertThat(registers1.getRegister(2).getValue(), is(equalTo(70)));
+
+        assertThat(callback2.requests.get(0), is(sameInstance(task2.getRequest())));
+        ModbusRegisterArray registers2 = (ModbusRegisterArray) callback2.received.get(0);
+        assertThat(registers2.size(), is(equalTo(2)));
+        assertThat(registers2.getRegister(0).getValue(), is(equalTo(70)));
+        assertThat(registers2.getRegister(1).getValue(), is(equalTo(80)));
+    }
+
+    @Test
+    public void testBitsAreSlicedToMembers() {
+        CapturingCallback callback1 = new CapturingCallback();
+        CapturingCallback callback2 = new CapturingCallback();
+        PollTask task1 = task(endpoint, ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask task2 = task(endpoint, ModbusReadFunctionCode.READ_COILS, 2, 2, callback2);
+        PollTask merged = PollTaskCoalescer.coalesce(Arrays.asList(task1, task2)).get(0);
+
+        merged.getCallback().onBits(merged.getRequest(), new BasicBitArray(true, false, false, true));
+
+        assertThat(callback1.received.get(0), is(equalTo(new BasicBitArray(true, false))));
+        assertThat(callback2.received.get(0), is(equalTo(new BasicBitArray(false, true))));
+    }
+
+    @Test
+    public void testErrorsArePassedToAllMembers() {
+        CapturingCallback callback1 = new CapturingCallback();
+        CapturingCallback callback2 = new CapturingCallback();
+        PollTask task1 = task(endpoint, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2, callback1);
+        PollTask task2 = task(endpoint, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 1, 2, callback2);
+        PollTask merged = PollTaskCoalescer.coalesce(Arrays.asList(task1, task2)).get(0);
+
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+
+        assertThat(callback1.requests.get(0), is(sameInstance(task1.getRequest())));
+        assertThat(callback1.received.get(0), is(sameInstance(error)));
+        assertThat(callback2.requests.get(0), is(sameInstance(task2.getRequest())));
+        assertThat(callback2.received.get(0), is(sameInstance(error)));
+    }
+
+    @Test
+    public void testShortResponseIsPassedAsError() {
+        CapturingCallback callback1 = new CapturingCallback();
+        CapturingCallback callback2 = new CapturingCallback();
+        PollTask task1 = task(endpoint, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 3, callback1);
+        PollTask task2 = task(endpoint, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 8, 4, callback2);
+        PollTask merged = PollTaskCoalescer.coalesce(Arrays.asList(task1, task2)).get(0);
+
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(50, 60, 70, 80));
+
+        ModbusRegisterArray registers1 = (ModbusRegisterArray) callback1.received.get(0);
+        assertThat(registers1.size(), is(equalTo(3)));
+        assertThat(callback2.requests.get(0), is(sameInstance(task2.getRequest())));
+        assertThat(callback2.received.get(0), is(instanceOf(ModbusUnexpectedResponseSizeException.class)));
+        ModbusUnexpectedResponseSizeException error = (ModbusUnexpectedResponseSizeException) callback2.received
+                .get(0);
+        assertThat(error.getRequestSize(), is(equalTo(7)));
+        assertThat(error.getResponseSize(), is(equalTo(4)));
+    }
+
+}
@@ -34,6 +34,12 @@ public class ResultCaptor<T> implements Answer<T> {
         return results;
     }
 
+    public void clear() {
+        synchronized (this.results) {
+            results.clear();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public T answer(InvocationOnMock invocationOnMock) throws Throwable {
@@ -21,11 +21,14 @@ import org.apache.commons.lang.StringUtils;
 import org.junit.Test;
 import org.openhab.io.transport.modbus.BasicBitArray;
 import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
 import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
 import org.openhab.io.transport.modbus.BasicPollTaskImpl;
 import org.openhab.io.transport.modbus.BasicWriteTask;
 import org.openhab.io.transport.modbus.BitArray;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
@@ -40,13 +43,17 @@ import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.internal.BitArrayWrappingBitVector;
+import org.openhab.io.transport.modbus.internal.ModbusManagerImpl;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
 import net.wimpi.modbus.msg.WriteCoilRequest;
 import net.wimpi.modbus.msg.WriteMultipleCoilsRequest;
+import net.wimpi.modbus.msg.WriteMultipleRegistersRequest;
 import net.wimpi.modbus.procimg.SimpleDigitalIn;
 import net.wimpi.modbus.procimg.SimpleDigitalOut;
 import net.wimpi.modbus.procimg.SimpleRegister;
@@ -901,4 +908,240 @@ public class SmokeTest extends IntegrationTestSupport {
         assertThat(modbusManager.getRegisteredRegularPolls(), is(equalTo(ImmutableSet.of(task2))));
 
     }
+
+    /**
+     * Testing coalesced regular polling of holding registers
+     *
+     * Two adjacent poll tasks should be read using single request, and both callbacks receive their own data
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testRegularReadCoalescedWithHolding() throws InterruptedException {
+        modbusManager.close();
+        modbusManager = new NonOSGIModbusManager(ImmutableMap.of(ModbusManagerImpl.CONFIG_COALESCE_POLLS, "true"));
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(6);
+
+        class HoldingCallback implements ModbusReadCallback {
+            private final int expectedStart;
+            private final int expectedLength;
+
+            HoldingCallback(int expectedStart, int expectedLength) {
+                this.expectedStart = expectedStart;
+                this.expectedLength = expectedLength;
+            }
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                try {
+                    assertThat(request.getReference(), is(equalTo(expectedStart)));
+                    assertThat(registers.size(), is(equalTo(expectedLength)));
+                    testHoldingValues(registers, expectedStart);
+                } catch (AssertionError e) {
+                    unexpectedCount.incrementAndGet();
+                }
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+        }
+
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 10, 1), new HoldingCallback(1, 10));
+        BasicPollTaskImpl task2 = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 5, 1), new HoldingCallback(11, 5));
+        // Initial delay ensures that both tasks are registered before the first poll
+        modbusManager.registerRegularPoll(task, 150, 100);
+        modbusManager.registerRegularPoll(task2, 150, 100);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        modbusManager.unregisterRegularPoll(task);
+        modbusManager.unregisterRegularPoll(task2);
+
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        for (ModbusRequest request : modbustRequestCaptor.getAllReturnValues()) {
+            assertThat(request, is(instanceOf(ReadMultipleRegistersRequest.class)));
+            assertThat(((ReadMultipleRegistersRequest) request).getReference(), is(equalTo(1)));
+            assertThat(((ReadMultipleRegistersRequest) request).getWordCount(), is(equalTo(15)));
+        }
+    }
+
+    /**
+     * Testing coalesced one-off writes of holding registers
+     *
+     * Writes to contiguous registers should be written using single request, and all callbacks should be called
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testOneOffWritesCoalescedWithHolding() throws InterruptedException {
+        modbusManager.close();
+        modbusManager = new NonOSGIModbusManager(
+                ImmutableMap.of(ModbusManagerImpl.CONFIG_COALESCE_WRITES_MILLIS, "100"));
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(3);
+        ModbusWriteCallback callback = new ModbusWriteCallback() {
+
+            @Override
+            public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                if (response.getFunctionCode() != 16) {
+                    unexpectedCount.incrementAndGet();
+                }
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                unexpectedCount.incrementAndGet();
+                callbackCalled.countDown();
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            modbusManager.submitOneTimeWrite(new BasicWriteTask(endpoint, new BasicModbusWriteRegisterRequestBlueprint(
+                    SLAVE_UNIT_ID, 3 + i, new BasicModbusRegisterArray(100 + i), false, 1), callback));
+        }
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+
+        assertThat(modbustRequestCaptor.getAllReturnValues().size(), is(equalTo(1)));
+        ModbusRequest request = modbustRequestCaptor.getAllReturnValues().get(0);
+        assertThat(request, is(instanceOf(WriteMultipleRegistersRequest.class)));
+        assertThat(((WriteMultipleRegistersRequest) request).getReference(), is(equalTo(3)));
+        assertThat(((WriteMultipleRegistersRequest) request).getWordCount(), is(equalTo(3)));
+        for (int i = 0; i < 3; i++) {
+            assertThat(((WriteMultipleRegistersRequest) request).getRegisterValue(i), is(equalTo(100 + i)));
+        }
+    }
+
+    /**
+     * Concurrent one-off reads with pipelined endpoint should all receive their own data
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testOneOffReadsPipelinedWithHolding() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setInterTransactionDelayMillis(0);
+        config.setMaxInFlightTransactions(4);
+        modbusManager.setEndpointPoolConfiguration(endpoint, config);
+
+        int reads = 20;
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(reads);
+        for (int i = 0; i < reads; i++) {
+            int start = i;
+            BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 5, 1), new ModbusReadCallback() {
+
+                        @Override
+                        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                            try {
+                                assertThat(registers.size(), is(equalTo(5)));
+                                testHoldingValues(registers, start);
+                            } catch (AssertionError e) {
+                                unexpectedCount.incrementAndGet();
+                            }
+                            callbackCalled.countDown();
+                        }
+
+                        @Override
+                        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }
+
+                        @Override
+                        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }
+                    });
+            modbusManager.submitOneTimePoll(task);
+        }
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        waitForRequests(reads);
+    }
+
+    private ModbusEndpointMetrics waitForMetrics(ModbusSlaveEndpoint endpoint, long operations)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            ModbusEndpointMetrics metrics = modbusManager.getEndpointMetrics().stream()
+                    .filter(m -> m.getEndpoint().equals(endpoint)).findAny().orElse(null);
+            if ((metrics != null
+                    && metrics.getSuccessfulOperations() + metrics.getFailedOperations() >= operations)
+                    || System.currentTimeMillis() > deadline) {
+                return metrics;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Test that metrics are collected for successful and failing operations
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testMetrics() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        CountDownLatch callbackCalled = new CountDownLatch(2);
+        ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                callbackCalled.countDown();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                callbackCalled.countDown();
+            }
+        };
+        // successful read
+        modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(
+                SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 15, 1), callback));
+        // read with illegal data address, failing with both tries
+        modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(
+                SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1000, 5, 2), callback));
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+
+        ModbusEndpointMetrics metrics = waitForMetrics(endpoint, 2);
+        assertThat(metrics, is(notNullValue()));
+        assertThat(metrics.getSuccessfulOperations(), is(equalTo(1L)));
+        assertThat(metrics.getFailedOperations(), is(equalTo(1L)));
+        assertThat(metrics.getRetries(), is(equalTo(1L)));
+        assertThat(metrics.getTimeouts(), is(equalTo(0L)));
+        assertThat(metrics.getTransactionLatency().getCount(), is(equalTo(1L)));
+        assertThat(metrics.getConnectionWait().getCount(), is(equalTo(2L)));
+
+        modbusManager.resetMetrics();
+        assertThat(modbusManager.getEndpointMetrics().isEmpty(), is(equalTo(true)));
+    }
 }
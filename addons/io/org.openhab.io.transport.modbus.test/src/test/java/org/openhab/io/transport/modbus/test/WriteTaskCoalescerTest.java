@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicWriteTask;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedWriteTask;
+import org.openhab.io.transport.modbus.internal.WriteTaskCoalescer;
+
+public class WriteTaskCoalescerTest {
+
+    private static class CapturingCallback implements ModbusWriteCallback {
+        private List<Object> received = new ArrayList<>();
+        private List<ModbusWriteRequestBlueprint> requests = new ArrayList<>();
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            requests.add(request);
+            received.add(response);
+        }
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            requests.add(request);
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final ModbusSlaveEndpoint endpoint2 = new ModbusTCPSlaveEndpoint("localhost", 503);
+
+    private WriteTask task(ModbusSlaveEndpoint endpoint, int unitId, int start, int... values) {
+        return new BasicWriteTask(endpoint, new BasicModbusWriteRegisterRequestBlueprint(unitId, start,
+                new BasicModbusRegisterArray(values), values.length > 1, 1), new CapturingCallback());
+    }
+
+    private WriteTask task(int start, int... values) {
+        return task(endpoint, 1, start, values);
+    }
+
+    private static int[] registerValues(WriteTask task) {
+        ModbusRegisterArray registers = ((ModbusWriteRegisterRequestBlueprint) task.getRequest()).getRegisters();
+        int[] values = new int[registers.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = registers.getRegister(i).getValue();
+        }
+        return values;
+    }
+
+    @Test
+    public void testContiguousWritesAreMerged() {
+        List<WriteTask> tasks = Arrays.asList(task(10, 1), task(11, 2), task(12, 3, 4), task(9, 0));
+        List<WriteTask> coalesced = WriteTaskCoalescer.coalesce(tasks);
+
+        assertThat(coalesced.size(), is(equalTo(1)));
+        WriteTask task = coalesced.get(0);
+        assertThat(task, is(instanceOf(CoalescedWriteTask.class)));
+        assertThat(((CoalescedWriteTask) task).getMembers(), is(equalTo(tasks)));
+        assertThat(task.getRequest().getReference(), is(equalTo(9)));
+        assertThat(task.getRequest().getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS)));
+        assertThat(registerValues(task), is(equalTo(new int[] { 0, 1, 2, 3, 4 })));
+    }
+
+    @Test
+    public void testOrderIsPreserved() {
+        // gap, overlap and non-consecutive adjacent writes
+        WriteTask first = task(10, 1);
+        WriteTask gap = task(12, 2);
+        WriteTask overlap = task(12, 3);
+        WriteTask adjacentToFirst = task(9, 4);
+        List<WriteTask> coalesced = WriteTaskCoalescer.coalesce(Arrays.asList(first, gap, overlap, adjacentToFirst));
+
+        assertThat(coalesced, is(equalTo(Arrays.asList(first, gap, overlap, adjacentToFirst))));
+    }
+
+    @Test
+    public void testIncompatibleWritesAreNotMerged() {
+        WriteTask coil = new BasicWriteTask(endpoint, new BasicModbusWriteCoilRequestBlueprint(1, 11, true, false, 1),
+                new CapturingCallback());
+        List<WriteTask> tasks = Arrays.asList(task(10, 1), task(endpoint2, 1, 11, 2), task(endpoint, 2, 11, 3), coil,
+                task(11, 4));
+        assertThat(WriteTaskCoalescer.coalesce(tasks), is(equalTo(tasks)));
+    }
+
+    @Test
+    public void testMaximumRequestSize() {
+        List<WriteTask> tasks = new ArrayList<>();
+        for (int i = 0; i < ModbusConstants.MAX_REGISTERS_WRITE_COUNT + 1; i++) {
+            tasks.add(task(i, i));
+        }
+        List<WriteTask> coalesced = WriteTaskCoalescer.coalesce(tasks);
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(registerValues(coalesced.get(0)).length, is(equalTo(ModbusConstants.MAX_REGISTERS_WRITE_COUNT)));
+        assertThat(coalesced.get(1), is(sameInstance(tasks.get(tasks.size() - 1))));
+    }
+
+    @Test
+    public void testCallbacksAreCompletedIndividually() {
+        WriteTask first = task(10, 1);
+        WriteTask second = task(11, 2);
+        WriteTask coalesced = WriteTaskCoalescer.coalesce(Arrays.asList(first, second)).get(0);
+
+        ModbusResponse response = () -> 16;
+        coalesced.getCallback().onWriteResponse(coalesced.getRequest(), response);
+        Exception error = new Exception("error");
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+
+        for (WriteTask member : Arrays.asList(first, second)) {
+            CapturingCallback callback = (CapturingCallback) member.getCallback();
+            assertThat(callback.requests, is(equalTo(Arrays.asList(member.getRequest(), member.getRequest()))));
+            assertThat(callback.received, is(equalTo(Arrays.asList(response, error))));
+        }
+    }
+
+}
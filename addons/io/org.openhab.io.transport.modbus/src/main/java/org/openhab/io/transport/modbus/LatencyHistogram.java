@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable histogram of latencies
+ *
+ * Latencies are counted in buckets with fixed upper bounds, see {@link #BUCKET_UPPER_BOUNDS_MILLIS}. The last bucket
+ * counts all latencies exceeding the largest bound.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class LatencyHistogram {
+
+    /**
+     * Upper bounds (inclusive) of the buckets, in milliseconds
+     */
+    public static final long[] BUCKET_UPPER_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000,
+            10000 };
+
+    private final long[] counts;
+    private final long count;
+    private final long maxMillis;
+
+    /**
+     * Construct histogram
+     *
+     * @param counts count of latencies in each bucket. Length must be one more than the number of bucket upper bounds.
+     * @param maxMillis largest latency observed
+     * @throws IllegalArgumentException when the number of counts is wrong
+     */
+    public LatencyHistogram(long[] counts, long maxMillis) {
+        if (counts.length != BUCKET_UPPER_BOUNDS_MILLIS.length + 1) {
+            throw new IllegalArgumentException(String.format("Expecting %d counts, got %d",
+                    BUCKET_UPPER_BOUNDS_MILLIS.length + 1, counts.length));
+        }
+        this.counts = counts.clone();
+        this.count = Arrays.stream(counts).sum();
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Get index of the bucket for given latency
+     *
+     * @param latencyNanos latency in nanoseconds
+     * @return index of the bucket
+     */
+    public static int bucketIndex(long latencyNanos) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (latencyNanos <= BUCKET_UPPER_BOUNDS_MILLIS[i] * 1_000_000L) {
+                return i;
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MILLIS.length;
+    }
+
+    /**
+     * Get count of latencies in each bucket
+     *
+     * @return copy of the counts
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Get total number of latencies in the histogram
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get largest latency observed
+     *
+     * @return latency in milliseconds, or 0 if nothing was observed
+     */
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Estimate percentile of the latencies
+     *
+     * The estimate is the upper bound of the bucket containing the percentile, capped by the largest latency observed.
+     *
+     * @param percentile percentile between 0 and 100, e.g. 99 for p99
+     * @return estimated latency in milliseconds, or 0 if nothing was observed
+     */
+    public long getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS_MILLIS[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder("LatencyHistogram(count=").append(count);
+        if (count > 0) {
+            buffer.append(", p50=").append(getPercentileMillis(50)).append("ms, p90=")
+                    .append(getPercentileMillis(90)).append("ms, p99=").append(getPercentileMillis(99))
+                    .append("ms, max=").append(maxMillis).append("ms");
+        }
+        return buffer.append(')').toString();
+    }
+}
@@ -9,8 +9,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -82,72 +80,101 @@ public class ModbusBitUtilities {
      */
     public static DecimalType extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
-        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
-        // each register has 16 bits
-        int lastValidIndex = registers.size() * 16 - 1;
-        if (endBitIndex > lastValidIndex || index < 0) {
-            throw new IllegalArgumentException(
-                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
-                            registers.size()));
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return new DecimalType(extractFloatFromRegisters(registers, index, type));
+            default:
+                return new DecimalType(extractLongFromRegisters(registers, index, type));
         }
+    }
+
+    /**
+     * Read integer data from registers as primitive <code>long</code>
+     *
+     * Registers are decoded directly from the register values, without any intermediate byte arrays or buffers. The
+     * interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type integer item type, e.g. unsigned 16bit integer
+     * @return value of the item
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or when <tt>type</tt> is not
+     *             integer type
+     */
+    public static long extractLongFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkIndex(registers, index, type);
         switch (type) {
             case BIT:
-                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+                return (registers.getUnsignedShort(index / 16) >> (index % 16)) & 1;
             case INT8:
-                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+                return (byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
-            }
+                return (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getUnsignedShort(index);
             case UINT16:
-                return new DecimalType(registers.getRegister(index).toUnsignedShort());
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
+                return registers.getUnsignedShort(index);
+            case INT32:
+                return (registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case UINT32:
+                return ((long) registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case INT32_SWAP:
+                return (registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            case UINT32_SWAP:
+                return ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    /**
+     * Read data from registers as primitive <code>double</code>
+     *
+     * Works with all types supported by
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}. Since all the
+     * types are at most 32 bits wide, the returned value represents the item value exactly.
+     *
+     * This can be used to detect whether the value has changed without constructing new {@link DecimalType}.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return value of the item
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static double extractDoubleFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return extractFloatFromRegisters(registers, index, type);
+            default:
+                return extractLongFromRegisters(registers, index, type);
+        }
+    }
+
+    private static float extractFloatFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkIndex(registers, index, type);
+        int hi = type == ModbusConstants.ValueType.FLOAT32_SWAP ? index + 1 : index;
+        int lo = type == ModbusConstants.ValueType.FLOAT32_SWAP ? index : index + 1;
+        return Float.intBitsToFloat((registers.getUnsignedShort(hi) << 16) | registers.getUnsignedShort(lo));
+    }
+
+    private static void checkIndex(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
@@ -23,6 +23,24 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class ModbusConstants {
 
+    /**
+     * Maximum number of registers that can be read in a single request (function codes 3 and 4), as defined by the
+     * Modbus specification
+     */
+    public static final int MAX_REGISTERS_READ_COUNT = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs that can be read in a single request (function codes 1 and 2), as
+     * defined by the Modbus specification
+     */
+    public static final int MAX_BITS_READ_COUNT = 2000;
+
+    /**
+     * Maximum number of registers that can be written in a single request (function code 16), as defined by the
+     * Modbus specification
+     */
+    public static final int MAX_REGISTERS_WRITE_COUNT = 123;
+
     /**
      * Value types for different number types.
      *
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Snapshot of the metrics collected for a single {@link ModbusSlaveEndpoint}
+ *
+ * Counters are cumulative since the metrics were last reset.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusEndpointMetrics {
+
+    /**
+     * Get the endpoint these metrics are about
+     */
+    ModbusSlaveEndpoint getEndpoint();
+
+    /**
+     * Get latencies of successful transactions, i.e. time from sending the request to receiving the response
+     */
+    LatencyHistogram getTransactionLatency();
+
+    /**
+     * Get time waited for a connection to the endpoint before a transaction, including the inter-transaction delay
+     * and time spent connecting
+     */
+    LatencyHistogram getConnectionWait();
+
+    /**
+     * Get number of read and write operations that succeeded, possibly after retries
+     */
+    long getSuccessfulOperations();
+
+    /**
+     * Get number of read and write operations that failed after all tries
+     */
+    long getFailedOperations();
+
+    /**
+     * Get number of transactions retried after a failed try
+     */
+    long getRetries();
+
+    /**
+     * Get number of tries that failed since the slave did not respond in time
+     */
+    long getTimeouts();
+
+    /**
+     * Get number of times a connection to the endpoint could not be established
+     */
+    long getConnectionFailures();
+
+    /**
+     * Get number of regular polls skipped since previous poll was still pending or too many polls were queued, i.e.
+     * the endpoint could not keep up with the poll period
+     */
+    long getPollOverruns();
+
+    /**
+     * Get number of regular polls currently waiting for execution
+     */
+    int getQueueDepth();
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collection;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Service providing metrics about the communication with Modbus slaves
+ *
+ * Metrics are collected per endpoint by the {@link ModbusManager}, and can be used for example to size the
+ * inter-transaction delays and poll periods.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusMetricsService {
+
+    /**
+     * Get snapshot of the metrics of all the endpoints communicated with
+     *
+     * @return metrics, one per endpoint
+     */
+    Collection<ModbusEndpointMetrics> getEndpointMetrics();
+
+    /**
+     * Reset all the metrics
+     */
+    void resetMetrics();
+}
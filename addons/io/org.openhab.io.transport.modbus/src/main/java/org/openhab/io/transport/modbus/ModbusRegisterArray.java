@@ -38,6 +38,20 @@ public interface ModbusRegisterArray extends Iterable<ModbusRegister> {
      */
     int size();
 
+    /**
+     * Get the value of the register at the given index, interpreted as unsigned 16bit integer
+     *
+     * Equivalent to <code>getRegister(index).toUnsignedShort()</code>. Implementations should override this to avoid
+     * constructing intermediate {@link ModbusRegister} instances when decoding register data.
+     *
+     * @param index the index of the register
+     * @return register value as unsigned 16bit integer, between 0 and 65535 (inclusive)
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    default int getUnsignedShort(int index) {
+        return getRegister(index).toUnsignedShort();
+    }
+
     /**
      * Iterator over all the registers
      */
@@ -57,6 +57,36 @@ public class EndpointPoolConfiguration {
      */
     private int connectTimeoutMillis;
 
+    /**
+     * How many transactions can be in-flight at the same time over a single connection. Transactions are matched by
+     * their transaction id. Value of one (default) means that next request is sent only after the response of the
+     * previous one has been received. Applies to TCP endpoints only.
+     */
+    private int maxInFlightTransactions = 1;
+
+    /**
+     * Whether the delay between transactions and the read timeout are tuned automatically, based on the response times
+     * and errors with the endpoint. With adaptive tuning, interTransactionDelayMillis is only the initial delay.
+     */
+    private boolean adaptiveTuning;
+
+    /**
+     * Lower bound for the adaptively tuned delay between transactions. In milliseconds.
+     */
+    private long minInterTransactionDelayMillis;
+
+    /**
+     * Upper bound for the adaptively tuned delay between transactions. In milliseconds. Values smaller than
+     * interTransactionDelayMillis mean that the delay is never increased above interTransactionDelayMillis.
+     */
+    private long maxInterTransactionDelayMillis;
+
+    /**
+     * Lower bound for the adaptively tuned read timeout. In milliseconds. Default of 0 means that the read timeout is
+     * not tuned.
+     */
+    private int minReadTimeoutMillis;
+
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
 
     static {
@@ -103,10 +133,52 @@ public class EndpointPoolConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxInFlightTransactions() {
+        return maxInFlightTransactions;
+    }
+
+    public void setMaxInFlightTransactions(int maxInFlightTransactions) {
+        this.maxInFlightTransactions = maxInFlightTransactions;
+    }
+
+    public boolean isAdaptiveTuning() {
+        return adaptiveTuning;
+    }
+
+    public void setAdaptiveTuning(boolean adaptiveTuning) {
+        this.adaptiveTuning = adaptiveTuning;
+    }
+
+    public long getMinInterTransactionDelayMillis() {
+        return minInterTransactionDelayMillis;
+    }
+
+    public void setMinInterTransactionDelayMillis(long minInterTransactionDelayMillis) {
+        this.minInterTransactionDelayMillis = minInterTransactionDelayMillis;
+    }
+
+    public long getMaxInterTransactionDelayMillis() {
+        return maxInterTransactionDelayMillis;
+    }
+
+    public void setMaxInterTransactionDelayMillis(long maxInterTransactionDelayMillis) {
+        this.maxInterTransactionDelayMillis = maxInterTransactionDelayMillis;
+    }
+
+    public int getMinReadTimeoutMillis() {
+        return minReadTimeoutMillis;
+    }
+
+    public void setMinReadTimeoutMillis(int minReadTimeoutMillis) {
+        this.minReadTimeoutMillis = minReadTimeoutMillis;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(2149, 3117).append(interTransactionDelayMillis).append(interConnectDelayMillis)
-                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis).toHashCode();
+                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis)
+                .append(maxInFlightTransactions).append(adaptiveTuning).append(minInterTransactionDelayMillis)
+                .append(maxInterTransactionDelayMillis).append(minReadTimeoutMillis).toHashCode();
     }
 
     @Override
@@ -115,7 +187,11 @@ public class EndpointPoolConfiguration {
                 .append("interTransactionDelayMillis", interTransactionDelayMillis)
                 .append("interConnectDelayMillis", interConnectDelayMillis).append("connectMaxTries", connectMaxTries)
                 .append("reconnectAfterMillis", reconnectAfterMillis)
-                .append("connectTimeoutMillis", connectTimeoutMillis).toString();
+                .append("connectTimeoutMillis", connectTimeoutMillis)
+                .append("maxInFlightTransactions", maxInFlightTransactions).append("adaptiveTuning", adaptiveTuning)
+                .append("minInterTransactionDelayMillis", minInterTransactionDelayMillis)
+                .append("maxInterTransactionDelayMillis", maxInterTransactionDelayMillis)
+                .append("minReadTimeoutMillis", minReadTimeoutMillis).toString();
     }
 
     @Override
@@ -133,7 +209,12 @@ public class EndpointPoolConfiguration {
         return new EqualsBuilder().append(interTransactionDelayMillis, rhs.interTransactionDelayMillis)
                 .append(interConnectDelayMillis, rhs.interConnectDelayMillis)
                 .append(connectMaxTries, rhs.connectMaxTries).append(reconnectAfterMillis, rhs.reconnectAfterMillis)
-                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).isEquals();
+                .append(connectTimeoutMillis, rhs.connectTimeoutMillis)
+                .append(maxInFlightTransactions, rhs.maxInFlightTransactions)
+                .append(adaptiveTuning, rhs.adaptiveTuning)
+                .append(minInterTransactionDelayMillis, rhs.minInterTransactionDelayMillis)
+                .append(maxInterTransactionDelayMillis, rhs.maxInterTransactionDelayMillis)
+                .append(minReadTimeoutMillis, rhs.minReadTimeoutMillis).isEquals();
     }
 
 }
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BitArray;
+
+/**
+ * Implementation of {@link BitArray} which exposes a contiguous part of another bit array
+ *
+ * No data is copied, index 0 of the slice refers to index <code>offset</code> of the wrapped array.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BitArraySlice implements BitArray {
+
+    private BitArray wrapped;
+    private int offset;
+    private int length;
+
+    /**
+     * Construct slice of bits
+     *
+     * @param wrapped bit array to wrap
+     * @param offset index of the first bit of the slice in the wrapped array
+     * @param length number of bits in the slice
+     * @throws IllegalArgumentException when the slice does not fit inside the wrapped array
+     */
+    public BitArraySlice(BitArray wrapped, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > wrapped.size()) {
+            throw new IllegalArgumentException(
+                    String.format("Slice with offset=%d and length=%d is out-of-bounds given bits of size %d", offset,
+                            length, wrapped.size()));
+        }
+        this.wrapped = wrapped;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public boolean getBit(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return wrapped.getBit(offset + index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("BitArraySlice(bits=").append(length == 0 ? "<empty>" : toBinaryString()).append(")")
+                .toString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return sizeAndValuesEquals(obj);
+    }
+
+}
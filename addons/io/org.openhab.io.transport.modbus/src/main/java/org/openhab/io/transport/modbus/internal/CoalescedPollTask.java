@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusUnexpectedResponseSizeException;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PollTask} that reads the data of several other poll tasks with a single request.
+ *
+ * The request of this task covers the requests of all the member tasks. Responses are sliced and passed to the
+ * callbacks of the member tasks, each callback receiving its own (original) request and only the data it asked for.
+ * Errors are passed to all member callbacks. Members whose data is not fully contained in a (too short) response
+ * receive {@link ModbusUnexpectedResponseSizeException} as error.
+ *
+ * Two coalesced poll tasks are considered the same if they have the same endpoint, request and member tasks.
+ *
+ * @author agent - Initial contribution
+ *
+ * @see PollTaskCoalescer
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    /**
+     * Callback distributing the data to member callbacks
+     */
+    private class FanOutCallback implements ModbusReadCallback {
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            for (PollTask member : members) {
+                ModbusReadCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                int offset = memberRequest.getReference() - request.getReference();
+                int length = memberRequest.getDataLength();
+                if (offset + length > registers.size()) {
+                    onShortResponse(callback, memberRequest, offset + length, registers.size());
+                    continue;
+                }
+                try {
+                    callback.onRegisters(memberRequest, new RegisterArraySlice(registers, offset, length));
+                } catch (RuntimeException e) {
+                    logger.error("Callback {} of coalesced poll task raised unexpected exception: {} {}", callback,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            for (PollTask member : members) {
+                ModbusReadCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                int offset = memberRequest.getReference() - request.getReference();
+                int length = memberRequest.getDataLength();
+                if (offset + length > bits.size()) {
+                    onShortResponse(callback, memberRequest, offset + length, bits.size());
+                    continue;
+                }
+                try {
+                    callback.onBits(memberRequest, new BitArraySlice(bits, offset, length));
+                } catch (RuntimeException e) {
+                    logger.error("Callback {} of coalesced poll task raised unexpected exception: {} {}", callback,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            for (PollTask member : members) {
+                ModbusReadCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                try {
+                    callback.onError(member.getRequest(), error);
+                } catch (RuntimeException e) {
+                    logger.error("Callback {} of coalesced poll task raised unexpected exception: {} {}", callback,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        private void onShortResponse(ModbusReadCallback callback, ModbusReadRequestBlueprint memberRequest,
+                int requestSize, int responseSize) {
+            ModbusUnexpectedResponseSizeException error = new ModbusUnexpectedResponseSizeException(requestSize,
+                    responseSize);
+            logger.debug("Response of coalesced poll task does not contain the data of {}: {}", memberRequest,
+                    error.getMessage());
+            try {
+                callback.onError(memberRequest, error);
+            } catch (RuntimeException e) {
+                logger.error("Callback {} of coalesced poll task raised unexpected exception: {} {}", callback,
+                        e.getClass().getName(), e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "FanOutCallback(members=" + members.size() + ")";
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final BasicModbusReadRequestBlueprint request;
+    private final List<PollTask> members;
+    private final ModbusReadCallback callback = new FanOutCallback();
+
+    /**
+     * Construct coalesced poll task
+     *
+     * @param endpoint endpoint shared by all members
+     * @param request request covering the requests of all members
+     * @param members member tasks
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, BasicModbusReadRequestBlueprint request,
+            List<PollTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public @Nullable ModbusReadCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Get the tasks whose data is read by this task
+     *
+     * @return unmodifiable list of member tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(59, 7).append(request).append(endpoint).append(members).toHashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        CoalescedPollTask rhs = (CoalescedPollTask) obj;
+        return new EqualsBuilder().append(request, rhs.request).append(endpoint, rhs.endpoint)
+                .append(members, rhs.members).isEquals();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+
+}
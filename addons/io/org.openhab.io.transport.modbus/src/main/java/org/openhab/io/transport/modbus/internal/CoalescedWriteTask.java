@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link WriteTask} that writes the registers of several other write tasks with a single request.
+ *
+ * The request of this task is a write multiple registers (function code 16) request covering the registers of all the
+ * member tasks. The result is passed to the callbacks of all the member tasks, each callback receiving its own
+ * (original) request.
+ *
+ * @author agent - Initial contribution
+ *
+ * @see WriteTaskCoalescer
+ */
+@NonNullByDefault
+public class CoalescedWriteTask implements WriteTask {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedWriteTask.class);
+
+    /**
+     * Callback distributing the result to member callbacks
+     */
+    private class FanOutCallback implements ModbusWriteCallback {
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            for (WriteTask member : members) {
+                ModbusWriteCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                try {
+                    callback.onWriteResponse(member.getRequest(), response);
+                } catch (RuntimeException e) {
+                    logger.error("Callback {} of coalesced write task raised unexpected exception: {} {}", callback,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            for (WriteTask member : members) {
+                ModbusWriteCallback callback = member.getCallback();
+                if (callback == null) {
+                    continue;
+                }
+                try {
+                    callback.onError(member.getRequest(), error);
+                } catch (RuntimeException e) {
+                    logger.error("Callback {} of coalesced write task raised unexpected exception: {} {}", callback,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "FanOutCallback(members=" + members.size() + ")";
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final BasicModbusWriteRegisterRequestBlueprint request;
+    private final List<WriteTask> members;
+    private final ModbusWriteCallback callback = new FanOutCallback();
+
+    /**
+     * Construct coalesced write task
+     *
+     * @param endpoint endpoint shared by all members
+     * @param request request covering the registers of all members
+     * @param members member tasks
+     */
+    public CoalescedWriteTask(ModbusSlaveEndpoint endpoint, BasicModbusWriteRegisterRequestBlueprint request,
+            List<WriteTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusWriteRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public @Nullable ModbusWriteCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Get the tasks whose registers are written by this task
+     *
+     * @return unmodifiable list of member tasks
+     */
+    public List<WriteTask> getMembers() {
+        return members;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.LatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Collects metrics of a single endpoint
+ *
+ * All the methods are thread-safe and do not block, so that recording has negligible effect on the transactions.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetrics {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Mutable latency histogram
+     */
+    private static class LatencyRecorder {
+        private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKET_UPPER_BOUNDS_MILLIS.length
+                + 1);
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        private void record(long latencyNanos) {
+            counts.incrementAndGet(LatencyHistogram.bucketIndex(latencyNanos));
+            // round up, so that sub-millisecond latencies are not reported as zero
+            long millis = (latencyNanos + 999_999L) / 1_000_000L;
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        private LatencyHistogram snapshot() {
+            long[] snapshot = new long[counts.length()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = counts.get(i);
+            }
+            return new LatencyHistogram(snapshot, maxMillis.get());
+        }
+    }
+
+    /**
+     * Immutable snapshot of the metrics
+     */
+    private static class Snapshot implements ModbusEndpointMetrics {
+        private final ModbusSlaveEndpoint endpoint;
+        private final LatencyHistogram transactionLatency;
+        private final LatencyHistogram connectionWait;
+        private final long successfulOperations;
+        private final long failedOperations;
+        private final long retries;
+        private final long timeouts;
+        private final long connectionFailures;
+        private final long pollOverruns;
+        private final int queueDepth;
+
+        private Snapshot(EndpointMetrics metrics, int queueDepth) {
+            this.endpoint = metrics.endpoint;
+            this.transactionLatency = metrics.transactionLatency.snapshot();
+            this.connectionWait = metrics.connectionWait.snapshot();
+            this.successfulOperations = metrics.successfulOperations.sum();
+            this.failedOperations = metrics.failedOperations.sum();
+            this.retries = metrics.retries.sum();
+            this.timeouts = metrics.timeouts.sum();
+            this.connectionFailures = metrics.connectionFailures.sum();
+            this.pollOverruns = metrics.pollOverruns.sum();
+            this.queueDepth = queueDepth;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public LatencyHistogram getTransactionLatency() {
+            return transactionLatency;
+        }
+
+        @Override
+        public LatencyHistogram getConnectionWait() {
+            return connectionWait;
+        }
+
+        @Override
+        public long getSuccessfulOperations() {
+            return successfulOperations;
+        }
+
+        @Override
+        public long getFailedOperations() {
+            return failedOperations;
+        }
+
+        @Override
+        public long getRetries() {
+            return retries;
+        }
+
+        @Override
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        @Override
+        public long getConnectionFailures() {
+            return connectionFailures;
+        }
+
+        @Override
+        public long getPollOverruns() {
+            return pollOverruns;
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, toStringStyle).append("endpoint", endpoint)
+                    .append("transactionLatency", transactionLatency).append("connectionWait", connectionWait)
+                    .append("successfulOperations", successfulOperations).append("failedOperations", failedOperations)
+                    .append("retries", retries).append("timeouts", timeouts)
+                    .append("connectionFailures", connectionFailures).append("pollOverruns", pollOverruns)
+                    .append("queueDepth", queueDepth).toString();
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final LatencyRecorder transactionLatency = new LatencyRecorder();
+    private final LatencyRecorder connectionWait = new LatencyRecorder();
+    private final LongAdder successfulOperations = new LongAdder();
+    private final LongAdder failedOperations = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder connectionFailures = new LongAdder();
+    private final LongAdder pollOverruns = new LongAdder();
+
+    public EndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public void recordTransaction(long latencyNanos) {
+        transactionLatency.record(latencyNanos);
+    }
+
+    public void recordConnectionWait(long waitNanos) {
+        connectionWait.record(waitNanos);
+    }
+
+    public void recordSuccessfulOperation() {
+        successfulOperations.increment();
+    }
+
+    public void recordFailedOperation() {
+        failedOperations.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    public void recordConnectionFailure() {
+        connectionFailures.increment();
+    }
+
+    public void recordPollOverrun() {
+        pollOverruns.increment();
+    }
+
+    /**
+     * Take snapshot of the metrics
+     *
+     * @param queueDepth current number of polls waiting for execution with the endpoint
+     * @return snapshot
+     */
+    public ModbusEndpointMetrics snapshot(int queueDepth) {
+        return new Snapshot(this, queueDepth);
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Bounded queue of regular polls due for execution with a single endpoint
+ *
+ * Polls are ordered by their deadline, i.e. the poll that has been due for the longest time is executed first. A poll
+ * is pending from the time it is offered until its execution has finished. A poll which is still pending from the
+ * previous period is skipped, so that slow endpoint does not accumulate backlog of polls.
+ *
+ * The queue also keeps track of the workers executing the polls, limiting the number of concurrent executions with the
+ * endpoint. This way a slow endpoint occupies only limited number of threads from the shared thread pool, and cannot
+ * starve other endpoints.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointPollQueue {
+
+    /**
+     * Result of offering a poll to the queue
+     */
+    public enum OfferResult {
+        /**
+         * Poll was queued, and a new worker should be started to execute it
+         */
+        QUEUED_START_WORKER,
+        /**
+         * Poll was queued, and it will be executed by a worker already running
+         */
+        QUEUED,
+        /**
+         * Poll was skipped since it is still pending from the previous period
+         */
+        SKIPPED_PENDING,
+        /**
+         * Poll was skipped since the queue is full
+         */
+        SKIPPED_QUEUE_FULL
+    }
+
+    /**
+     * Poll due for execution
+     */
+    public static class DuePoll {
+        private final PollTask task;
+        private final long deadlineMillis;
+        private final long sequence;
+
+        private DuePoll(PollTask task, long deadlineMillis, long sequence) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+            this.sequence = sequence;
+        }
+
+        public PollTask getTask() {
+            return task;
+        }
+
+        /**
+         * Get the time the poll was due
+         *
+         * @return deadline in milliseconds since epoch
+         */
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    private static final Comparator<DuePoll> BY_DEADLINE = Comparator
+            .<DuePoll> comparingLong(poll -> poll.deadlineMillis).thenComparingLong(poll -> poll.sequence);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final int capacity;
+    private final PriorityQueue<DuePoll> queue = new PriorityQueue<>(BY_DEADLINE);
+    private final Set<PollTask> pending = new HashSet<>();
+    private long sequence;
+    private int workers;
+    private long skipped;
+
+    /**
+     * Construct queue
+     *
+     * @param endpoint endpoint of the polls
+     * @param capacity maximum number of polls queued
+     */
+    public EndpointPollQueue(ModbusSlaveEndpoint endpoint, int capacity) {
+        this.endpoint = endpoint;
+        this.capacity = capacity;
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Offer poll for execution
+     *
+     * @param task task to execute
+     * @param deadlineMillis time the poll was due
+     * @param maxWorkers maximum number of concurrent workers with the endpoint
+     * @return result telling whether the poll was queued, and whether new worker should be started
+     */
+    public synchronized OfferResult offer(PollTask task, long deadlineMillis, int maxWorkers) {
+        if (pending.contains(task)) {
+            skipped++;
+            return OfferResult.SKIPPED_PENDING;
+        }
+        if (queue.size() >= capacity) {
+            skipped++;
+            return OfferResult.SKIPPED_QUEUE_FULL;
+        }
+        pending.add(task);
+        queue.add(new DuePoll(task, deadlineMillis, sequence++));
+        if (workers < maxWorkers) {
+            workers++;
+            return OfferResult.QUEUED_START_WORKER;
+        }
+        return OfferResult.QUEUED;
+    }
+
+    /**
+     * Take the poll with the earliest deadline for execution
+     *
+     * The poll remains pending until {@link #finish(DuePoll)} is called.
+     *
+     * @return poll to execute, or null if there are no polls queued. In the latter case, calling worker should stop.
+     */
+    public synchronized @Nullable DuePoll take() {
+        DuePoll poll = queue.poll();
+        if (poll == null) {
+            workers--;
+        }
+        return poll;
+    }
+
+    /**
+     * Mark the execution of the poll finished
+     *
+     * @param poll poll which was executed
+     * @return whether there are more polls queued. If not, calling worker should stop.
+     */
+    public synchronized boolean finish(DuePoll poll) {
+        pending.remove(poll.task);
+        if (queue.isEmpty()) {
+            workers--;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove queued poll, e.g. when the poll is unregistered
+     *
+     * @param task task to remove
+     */
+    public synchronized void remove(PollTask task) {
+        if (queue.removeIf(poll -> poll.task.equals(task))) {
+            pending.remove(task);
+        }
+    }
+
+    /**
+     * Get the number of polls queued
+     *
+     * @return number of polls waiting for execution
+     */
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of polls skipped since they were still pending, or the queue was full
+     *
+     * @return number of skipped polls
+     */
+    public synchronized long getSkippedCount() {
+        return skipped;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "EndpointPollQueue(endpoint=" + endpoint + ", queued=" + queue.size() + ", workers=" + workers
+                + ", skipped=" + skipped + ")";
+    }
+}
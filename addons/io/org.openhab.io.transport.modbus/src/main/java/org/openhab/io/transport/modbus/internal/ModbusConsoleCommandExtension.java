@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.LatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusMetricsService;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the Modbus transport
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class ModbusConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_RESET_METRICS = "resetMetrics";
+
+    private @Nullable ModbusMetricsService metricsService;
+
+    public ModbusConsoleCommandExtension() {
+        super("modbus", "Inspect the Modbus transport.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        ModbusMetricsService metricsService = this.metricsService;
+        if (args.length == 0 || metricsService == null) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case SUBCMD_METRICS:
+                printMetrics(metricsService.getEndpointMetrics(), console);
+                break;
+            case SUBCMD_RESET_METRICS:
+                metricsService.resetMetrics();
+                console.println("Metrics reset");
+                break;
+            default:
+                console.println("Unknown command '" + args[0] + "'");
+                printUsage(console);
+                break;
+        }
+    }
+
+    private void printMetrics(Collection<ModbusEndpointMetrics> metrics, Console console) {
+        if (metrics.isEmpty()) {
+            console.println("No metrics collected");
+            return;
+        }
+        for (ModbusEndpointMetrics endpointMetrics : metrics) {
+            console.println(endpointMetrics.getEndpoint().toString());
+            console.println(String.format(
+                    "  operations: successful=%d, failed=%d, retries=%d, timeouts=%d, connection failures=%d",
+                    endpointMetrics.getSuccessfulOperations(), endpointMetrics.getFailedOperations(),
+                    endpointMetrics.getRetries(), endpointMetrics.getTimeouts(),
+                    endpointMetrics.getConnectionFailures()));
+            console.println("  transaction latency: " + formatHistogram(endpointMetrics.getTransactionLatency()));
+            console.println("  connection wait: " + formatHistogram(endpointMetrics.getConnectionWait()));
+            console.println(String.format("  regular polls: queued=%d, overruns=%d", endpointMetrics.getQueueDepth(),
+                    endpointMetrics.getPollOverruns()));
+        }
+    }
+
+    private static String formatHistogram(LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return "count=0";
+        }
+        return String.format("count=%d, p50=%dms, p90=%dms, p99=%dms, max=%dms", histogram.getCount(),
+                histogram.getPercentileMillis(50), histogram.getPercentileMillis(90),
+                histogram.getPercentileMillis(99), histogram.getMaxMillis());
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] {
+                buildCommandUsage(SUBCMD_METRICS, "shows transaction metrics of each endpoint"),
+                buildCommandUsage(SUBCMD_RESET_METRICS, "resets the metrics") });
+    }
+
+    @Reference
+    protected void setMetricsService(ModbusMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    protected void unsetMetricsService(ModbusMetricsService metricsService) {
+        this.metricsService = null;
+    }
+
+}
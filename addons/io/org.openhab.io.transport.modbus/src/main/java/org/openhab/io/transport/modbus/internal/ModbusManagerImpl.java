@@ -9,20 +9,36 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import javax.imageio.IIOException;
 
@@ -35,8 +51,10 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
+import org.openhab.io.transport.modbus.ModbusMetricsService;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
@@ -52,6 +70,7 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusTCPTransactionPipeline.PipelinedConnection;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -67,6 +86,9 @@ import net.wimpi.modbus.io.ModbusTransaction;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.SerialConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
+import net.wimpi.modbus.net.UDPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -75,11 +97,109 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * TCP endpoints configured with {@link EndpointPoolConfiguration#getMaxInFlightTransactions()} above one are an
+ * exception: several transactions share the single connection, see {@link ModbusTCPTransactionPipeline}.
+ *
+ * Metrics of the communication are collected per endpoint, and exposed as {@link ModbusMetricsService}.
+ *
+ * One-off writes can be delayed for a short time and merged with other writes to contiguous registers, see
+ * {@link #CONFIG_COALESCE_WRITES_MILLIS}.
+ *
  * @author Sami Salonen - Initial contribution
  */
-@Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
+@Component(service = { ModbusManager.class,
+        ModbusMetricsService.class }, immediate = true, configurationPid = "transport.modbus")
 @NonNullByDefault
-public class ModbusManagerImpl implements ModbusManager {
+public class ModbusManagerImpl implements ModbusManager, ModbusMetricsService {
+
+    /**
+     * Poll period and initial delay of a registered regular poll
+     */
+    private static class RegularPollSettings {
+        private final long pollPeriodMillis;
+        private final long initialDelayMillis;
+
+        public RegularPollSettings(long pollPeriodMillis, long initialDelayMillis) {
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.initialDelayMillis = initialDelayMillis;
+        }
+    }
+
+    /**
+     * One-off write waiting to be coalesced with other writes
+     *
+     * This is also the future returned to the submitter of the write. The future completes once the request carrying
+     * the data of this write has been executed, and fails with the error of that request.
+     */
+    private static class PendingWrite implements ScheduledFuture<@Nullable Void> {
+        private final WriteTask task;
+        private final CompletableFuture<@Nullable Void> result = new CompletableFuture<>();
+        /**
+         * Scheduled execution of the pending writes, set before the write is handed out
+         */
+        private @Nullable ScheduledFuture<?> trigger;
+
+        public PendingWrite(WriteTask task) {
+            this.task = task;
+        }
+
+        private void finished(@Nullable Exception error) {
+            if (error == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private ScheduledFuture<?> getTrigger() {
+            ScheduledFuture<?> trigger = this.trigger;
+            if (trigger == null) {
+                throw new IllegalStateException("Write has not been scheduled");
+            }
+            return trigger;
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            return getTrigger().getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            if (other == null) {
+                return 1;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            // Other pending writes of the endpoint are executed by their own triggers
+            getTrigger().cancel(false);
+            return result.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        @Override
+        public @Nullable Void get() throws InterruptedException, ExecutionException {
+            return result.get();
+        }
+
+        @Override
+        public @Nullable Void get(long timeout, @Nullable TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return result.get(timeout, unit);
+        }
+    }
 
     private static class PollTaskUnregistered extends Exception {
         public PollTaskUnregistered(String msg) {
@@ -131,6 +251,32 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Execute single transaction using the given connection
+     *
+     * Connections of endpoints with pipelining enabled are shared with other transactions, see
+     * {@link ModbusTCPTransactionPipeline}.
+     *
+     * @param endpoint endpoint to communicate with
+     * @param connection connection to use
+     * @param libRequest request to send
+     * @return response
+     * @throws ModbusException on IO errors and slave exception responses
+     * @throws ModbusUnexpectedTransactionIdException on pipelined connections, when response with unexpected
+     *             transaction id was received
+     */
+    private ModbusResponse executeTransaction(ModbusSlaveEndpoint endpoint, ModbusSlaveConnection connection,
+            ModbusRequest libRequest) throws ModbusException, ModbusUnexpectedTransactionIdException {
+        if (connection instanceof PipelinedConnection) {
+            return ((PipelinedConnection) connection).execute(libRequest);
+        }
+        ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint,
+                Optional.of(connection));
+        transaction.setRequest(libRequest);
+        transaction.execute();
+        return transaction.getResponse();
+    }
+
     /**
      * Implementation for the PollTask operation
      *
@@ -145,18 +291,13 @@ public class ModbusManagerImpl implements ModbusManager {
             ModbusReadRequestBlueprint request = task.getRequest();
             ModbusReadCallback callback = task.getCallback();
 
-            Optional<ModbusSlaveConnection> optionalConnection = Optional.of(connection);
-            ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint,
-                    optionalConnection);
             ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(request);
-            transaction.setRequest(libRequest);
 
             logger.trace("Going execute transaction with request request (FC={}): {} [operation ID {}]",
                     request.getFunctionCode(), libRequest.getHexMessage(), operationId);
             // Might throw ModbusIOException (I/O error) or ModbusSlaveException (explicit exception response from
             // slave)
-            transaction.execute();
-            ModbusResponse response = transaction.getResponse();
+            ModbusResponse response = executeTransaction(endpoint, connection, libRequest);
             logger.trace("Response for read request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
             checkTransactionId(response, libRequest, task, operationId);
@@ -180,19 +321,14 @@ public class ModbusManagerImpl implements ModbusManager {
             ModbusWriteRequestBlueprint request = task.getRequest();
             ModbusWriteCallback callback = task.getCallback();
 
-            Optional<ModbusSlaveConnection> optionalConnection = Optional.of(connection);
-            ModbusTransaction transaction = ModbusLibraryWrapper.createTransactionForEndpoint(endpoint,
-                    optionalConnection);
             ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(request);
-            transaction.setRequest(libRequest);
 
             logger.trace("Going execute transaction with read request (FC={}): {} [operation ID {}]",
                     request.getFunctionCode(), libRequest.getHexMessage(), operationId);
 
             // Might throw ModbusIOException (I/O error) or ModbusSlaveException (explicit exception response from
             // slave)
-            transaction.execute();
-            ModbusResponse response = transaction.getResponse();
+            ModbusResponse response = executeTransaction(endpoint, connection, libRequest);
             logger.trace("Response for write request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
 
@@ -246,6 +382,25 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Maximum number of regular polls queued for execution per endpoint. Polls exceeding the limit are skipped.
+     */
+    private static final int MAX_QUEUED_POLLS_PER_ENDPOINT = 1000;
+
+    /**
+     * Configuration property for enabling coalescing of regular polls. When enabled, regular polls with the same
+     * endpoint, unit id, function code and poll period reading adjacent or overlapping data are executed as a single
+     * request. See {@link PollTaskCoalescer}.
+     */
+    public static final String CONFIG_COALESCE_POLLS = "coalescePolls";
+
+    /**
+     * Configuration property for coalescing of one-off writes. When positive, one-off writes are delayed by this many
+     * milliseconds, and consecutive writes to contiguous registers of the same endpoint and unit id are executed as a
+     * single write multiple registers request. See {@link WriteTaskCoalescer}.
+     */
+    public static final String CONFIG_COALESCE_WRITES_MILLIS = "coalesceWritesMillis";
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
 
@@ -264,7 +419,40 @@ public class ModbusManagerImpl implements ModbusManager {
     private volatile KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool;
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
+    /**
+     * Transaction pipelines of the endpoints configured to have more than one transaction in-flight
+     */
+    private final Map<ModbusSlaveEndpoint, ModbusTCPTransactionPipeline> transactionPipelines = new ConcurrentHashMap<>();
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Whether regular polls are coalesced
+     */
+    private volatile boolean coalescePolls;
+    /**
+     * Settings of the registered regular polls, used only when polls are coalesced
+     */
+    private final Map<PollTask, RegularPollSettings> coalescingPollSettings = new ConcurrentHashMap<>();
+    /**
+     * Poll tasks actually scheduled when polls are coalesced. Keys are either {@link CoalescedPollTask}s, or registered
+     * poll tasks that could not be merged with any other task.
+     */
+    private final Map<PollTask, ScheduledFuture<?>> scheduledCoalescedPollTasks = new ConcurrentHashMap<>();
+    /**
+     * How long one-off writes are delayed for coalescing, zero when writes are not coalesced
+     */
+    private volatile long coalesceWritesMillis;
+    /**
+     * One-off writes waiting to be coalesced, per endpoint. Access is synchronized using the map itself.
+     */
+    private final Map<ModbusSlaveEndpoint, List<PendingWrite>> pendingWrites = new HashMap<>();
+    /**
+     * Regular polls due for execution, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointPollQueue> pollQueues = new ConcurrentHashMap<>();
+    /**
+     * Metrics collected per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
@@ -324,6 +512,20 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private Optional<ModbusSlaveConnection> borrowConnection(ModbusSlaveEndpoint endpoint) {
+        ModbusTCPTransactionPipeline pipeline = transactionPipelines.get(endpoint);
+        if (pipeline == null) {
+            return borrowPooledConnection(endpoint);
+        }
+        try {
+            return pipeline.acquire();
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted while waiting for pipelined connection for endpoint {}", endpoint);
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private Optional<ModbusSlaveConnection> borrowPooledConnection(ModbusSlaveEndpoint endpoint) {
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
@@ -341,7 +543,7 @@ public class ModbusManagerImpl implements ModbusManager {
             if (!slaveConnection.isConnected()) {
                 logger.trace(
                         "Received connection which is unconnected, preventing use by returning connection to pool.");
-                returnConnection(endpoint, connection);
+                returnPooledConnection(endpoint, connection);
                 connection = Optional.empty();
             }
         }
@@ -351,6 +553,14 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void invalidate(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
+        if (connection.isPresent() && connection.get() instanceof PipelinedConnection) {
+            ((PipelinedConnection) connection.get()).release(true);
+            return;
+        }
+        invalidatePooledConnection(endpoint, connection);
+    }
+
+    private void invalidatePooledConnection(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return;
@@ -366,6 +576,14 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void returnConnection(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
+        if (connection.isPresent() && connection.get() instanceof PipelinedConnection) {
+            ((PipelinedConnection) connection.get()).release(false);
+            return;
+        }
+        returnPooledConnection(endpoint, connection);
+    }
+
+    private void returnPooledConnection(ModbusSlaveEndpoint endpoint, Optional<ModbusSlaveConnection> connection) {
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
         if (pool == null) {
             return;
@@ -408,7 +626,13 @@ public class ModbusManagerImpl implements ModbusManager {
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
 
         ModbusRequestBlueprint request = task.getRequest();
+        long connectionBorrowStartNanos = System.nanoTime();
         Optional<ModbusSlaveConnection> connection = borrowConnection(endpoint);
+        if (connection.isPresent()) {
+            getMetrics(endpoint).recordConnectionWait(System.nanoTime() - connectionBorrowStartNanos);
+        } else {
+            getMetrics(endpoint).recordConnectionFailure();
+        }
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
                 System.currentTimeMillis() - connectionBorrowStart, operationId);
         ExecutorService callbackPool = scheduledThreadPoolExecutor;
@@ -460,7 +684,9 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        boolean registered = task instanceof CoalescedPollTask ? this.scheduledCoalescedPollTasks.containsKey(task)
+                : this.scheduledPollTasks.containsKey(task);
+        if (!registered) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -480,24 +706,26 @@ public class ModbusManagerImpl implements ModbusManager {
      * @param task
      * @param oneOffTask
      * @param operation
+     * @return error of the operation, also passed to the callback, or null if the operation succeeded. Aborted
+     *         operations return {@link CancellationException}.
      */
-    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
+    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> @Nullable Exception executeOperation(
             @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
         ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
         if (connectionFactory == null) {
             // deactivated manager
             logger.trace("Deactivated manager - aborting operation.");
-            return;
+            return new CancellationException("Manager has been deactivated");
         }
         logTaskQueueInfo();
         R request = task.getRequest();
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        EndpointMetrics metrics = getMetrics(endpoint);
         @Nullable
         C callback = task.getCallback();
         int maxTries = task.getMaxTries();
         AtomicReference<@Nullable Exception> lastError = new AtomicReference<>();
-        long retryDelay = Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
-                .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L);
+        long retryDelay = connectionFactory.getInterTransactionDelayMillis(endpoint);
 
         if (maxTries <= 0) {
             throw new IllegalArgumentException("maxTries should be positive");
@@ -515,14 +743,15 @@ public class ModbusManagerImpl implements ModbusManager {
                 // Could not acquire connection, time to abort
                 // Error logged already, error callback called as well
                 logger.trace("Initial connection was not successful, aborting. [operation ID {}]", operationId);
-                return;
+                metrics.recordFailedOperation();
+                return new ModbusConnectionException(endpoint);
             }
 
             ExecutorService callbackThreadPool = this.scheduledThreadPoolExecutor;
             if (callbackThreadPool == null) {
                 logger.debug("Manager has been shut down, aborting proecssing request {} [operation ID {}]", request,
                         operationId);
-                return;
+                return new CancellationException("Manager has been deactivated");
             }
 
             int tryIndex = 0;
@@ -540,11 +769,12 @@ public class ModbusManagerImpl implements ModbusManager {
                     // re-established. Error has been logged, time to abort.
                     logger.trace("Try {} out of {}. Connection was not successful, aborting. [operation ID {}]",
                             tryIndex + 1, maxTries, operationId);
-                    return;
+                    metrics.recordFailedOperation();
+                    return new ModbusConnectionException(endpoint);
                 }
                 if (Thread.interrupted()) {
                     logger.warn("Thread interrupted. Aborting operation [operation ID {}]", operationId);
-                    return;
+                    return new CancellationException("Thread interrupted");
                 }
                 // Check poll task is still registered (this is all asynchronous)
                 if (!oneOffTask && task instanceof PollTask) {
@@ -558,14 +788,27 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Sleep ended, slept {} [operation ID {}]", slept, operationId);
 
                 boolean willRetry = false;
+                long transactionStartNanos = System.nanoTime();
                 try {
+                    if (tryIndex > 0) {
+                        metrics.recordRetry();
+                    }
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
+                    transactionStartNanos = System.nanoTime();
                     operation.accept(operationId, task, connection.get());
+                    long transactionNanos = System.nanoTime() - transactionStartNanos;
+                    metrics.recordTransaction(transactionNanos);
+                    connectionFactory.recordTransactionSuccess(endpoint, transactionNanos);
                     lastError.set(null);
                     break;
                 } catch (IOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    boolean timeout = isTimeout(e, connection.get(), System.nanoTime() - transactionStartNanos);
+                    if (timeout) {
+                        metrics.recordTimeout();
+                    }
+                    connectionFactory.recordTransactionFailure(endpoint, timeout);
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -583,6 +826,11 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusIOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    boolean timeout = isTimeout(e, connection.get(), System.nanoTime() - transactionStartNanos);
+                    if (timeout) {
+                        metrics.recordTimeout();
+                    }
+                    connectionFactory.recordTransactionFailure(endpoint, timeout);
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -613,6 +861,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusUnexpectedTransactionIdException e) {
                     lastError.set(e);
+                    connectionFactory.recordTransactionFailure(endpoint, false);
                     // transaction error details already logged
                     if (willRetry) {
                         logger.warn(
@@ -629,6 +878,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusException e) {
                     lastError.set(e);
+                    connectionFactory.recordTransactionFailure(endpoint, false);
                     // Some other (unexpected) exception occurred
                     if (willRetry) {
                         logger.warn(
@@ -653,30 +903,77 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             }
             Exception exception = lastError.get();
-            if (exception != null) {
+            if (exception == null) {
+                metrics.recordSuccessfulOperation();
+            } else {
                 // All retries failed with some error
+                metrics.recordFailedOperation();
                 if (callback != null) {
                     callbackThreadPool.execute(() -> {
                         invokeCallbackWithError(request, callback, exception);
                     });
                 }
             }
+            return exception;
         } catch (PollTaskUnregistered e) {
             logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
-            return;
+            return new CancellationException(e.getMessage());
         } catch (InterruptedException e) {
             logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
             // Invalidate connection, and empty (so that new connection is acquired before new retry)
             invalidate(endpoint, connection);
             connection = Optional.empty();
+            return new CancellationException(e.getMessage());
         } finally {
             returnConnection(endpoint, connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
         }
     }
 
+    private EndpointMetrics getMetrics(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, EndpointMetrics::new);
+    }
+
+    /**
+     * Whether the error was caused by slave not responding in time
+     *
+     * jamod does not retain the cause of {@link ModbusIOException}. Such errors are considered timeouts when the
+     * transaction lasted at least the read timeout of the connection.
+     *
+     * @param error error of the transaction
+     * @param connection connection used for the transaction
+     * @param transactionNanos duration of the transaction until the error
+     */
+    private static boolean isTimeout(Exception error, ModbusSlaveConnection connection, long transactionNanos) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            // e.g. SocketTimeoutException
+            if (cause instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        if (!(error instanceof ModbusIOException)) {
+            return false;
+        }
+        int readTimeoutMillis = getReadTimeoutMillis(connection);
+        return readTimeoutMillis > 0 && transactionNanos >= TimeUnit.MILLISECONDS.toNanos(readTimeoutMillis);
+    }
+
+    private static int getReadTimeoutMillis(ModbusSlaveConnection connection) {
+        ModbusSlaveConnection libConnection = connection instanceof PipelinedConnection
+                ? ((PipelinedConnection) connection).getConnection()
+                : connection;
+        if (libConnection instanceof TCPMasterConnection) {
+            return ((TCPMasterConnection) libConnection).getTimeout();
+        } else if (libConnection instanceof UDPMasterConnection) {
+            return ((UDPMasterConnection) libConnection).getTimeout();
+        } else if (libConnection instanceof SerialConnection) {
+            return ((SerialConnection) libConnection).getParameters().getReceiveTimeoutMillis();
+        }
+        return 0;
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
@@ -703,23 +1000,165 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                        started);
-                executeOperation(task, false, pollOperation);
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
-
-            scheduledPollTasks.put(task, future);
+            if (coalescePolls) {
+                coalescingPollSettings.put(task, new RegularPollSettings(pollPeriodMillis, initialDelayMillis));
+                rescheduleCoalescedPolls(executor, task.getEndpoint());
+            } else {
+                ScheduledFuture<?> future = scheduleRegularPoll(executor, task, pollPeriodMillis, initialDelayMillis);
+                scheduledPollTasks.put(task, future);
+            }
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                     initialDelayMillis);
         }
     }
 
+    /**
+     * Schedule regular poll
+     *
+     * The scheduled job does not execute the poll itself but queues it to the {@link EndpointPollQueue} of the
+     * endpoint. This ensures that polls of a slow endpoint, waiting for the connection, do not occupy all the threads
+     * of the thread pool.
+     */
+    private ScheduledFuture<?> scheduleRegularPoll(ScheduledExecutorService executor, PollTask task,
+            long pollPeriodMillis, long initialDelayMillis) {
+        return executor.scheduleWithFixedDelay(() -> {
+            long dueMillis = System.currentTimeMillis();
+            EndpointPollQueue queue = pollQueues.computeIfAbsent(task.getEndpoint(),
+                    endpoint -> new EndpointPollQueue(endpoint, MAX_QUEUED_POLLS_PER_ENDPOINT));
+            switch (queue.offer(task, dueMillis, getMaxConcurrentPolls(task.getEndpoint()))) {
+                case QUEUED_START_WORKER:
+                    logger.trace("Queued scheduled ({}ms) poll task {}, starting new worker for {}", pollPeriodMillis,
+                            task, queue);
+                    executor.execute(() -> executeQueuedPolls(queue));
+                    break;
+                case QUEUED:
+                    logger.trace("Queued scheduled ({}ms) poll task {} to {}", pollPeriodMillis, task, queue);
+                    break;
+                case SKIPPED_PENDING:
+                    getMetrics(task.getEndpoint()).recordPollOverrun();
+                    logger.debug(
+                            "Skipping scheduled ({}ms) poll task {} since it is still pending from the previous period",
+                            pollPeriodMillis, task);
+                    break;
+                case SKIPPED_QUEUE_FULL:
+                    getMetrics(task.getEndpoint()).recordPollOverrun();
+                    logger.warn("Skipping scheduled ({}ms) poll task {} since too many polls are queued: {}",
+                            pollPeriodMillis, task, queue);
+                    break;
+            }
+        }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Execute the next queued poll of the endpoint, and re-submit to the thread pool if there are more polls queued
+     *
+     * Re-submitting instead of looping gives polls of other endpoints a fair chance to execute.
+     *
+     * @param queue queue of the endpoint
+     */
+    private void executeQueuedPolls(EndpointPollQueue queue) {
+        EndpointPollQueue.DuePoll poll = queue.take();
+        if (poll == null) {
+            return;
+        }
+        boolean more;
+        try {
+            PollTask task = poll.getTask();
+            long started = System.currentTimeMillis();
+            logger.debug("Executing scheduled poll task {}, overdue by {} ms. Current millis: {}", task,
+                    started - poll.getDeadlineMillis(), started);
+            executeOperation(task, false, pollOperation);
+            long finished = System.currentTimeMillis();
+            logger.debug(
+                    "Execution of scheduled poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                    task, finished, started, finished - started);
+        } finally {
+            more = queue.finish(poll);
+        }
+        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        // No need to continue with deactivated manager, the queues are discarded
+        if (more && executor != null) {
+            executor.execute(() -> executeQueuedPolls(queue));
+        }
+    }
+
+    /**
+     * Get the maximum number of polls executed concurrently with the endpoint
+     *
+     * Without transaction pipelining, the transactions are executed one at a time anyway.
+     *
+     * @param endpoint endpoint to query
+     * @return maximum number of concurrent polls
+     */
+    private int getMaxConcurrentPolls(ModbusSlaveEndpoint endpoint) {
+        ModbusTCPTransactionPipeline pipeline = transactionPipelines.get(endpoint);
+        return pipeline == null ? 1 : pipeline.getMaxInFlightTransactions();
+    }
+
+    /**
+     * Cancel scheduled regular poll, and remove it from the queue of polls due for execution
+     *
+     * Note that execution of the poll already started is not interrupted.
+     */
+    private void cancelRegularPoll(PollTask task, ScheduledFuture<?> future) {
+        future.cancel(false);
+        EndpointPollQueue queue = pollQueues.get(task.getEndpoint());
+        if (queue != null) {
+            queue.remove(task);
+        }
+    }
+
+    /**
+     * Re-calculate and schedule the coalesced polls of given endpoint
+     *
+     * Registered polls of the endpoint are grouped by poll period, and each group is coalesced using
+     * {@link PollTaskCoalescer}. Scheduled tasks which are still valid after coalescing keep running undisturbed, others
+     * are canceled. Must be called while holding the lock of this instance.
+     *
+     * @param executor executor to use for scheduling
+     * @param endpoint endpoint whose polls should be re-calculated
+     */
+    private void rescheduleCoalescedPolls(ScheduledExecutorService executor, ModbusSlaveEndpoint endpoint) {
+        Map<Long, List<PollTask>> tasksByPeriod = new HashMap<>();
+        coalescingPollSettings.forEach((task, settings) -> {
+            if (task.getEndpoint().equals(endpoint)) {
+                tasksByPeriod.computeIfAbsent(settings.pollPeriodMillis, period -> new ArrayList<>()).add(task);
+            }
+        });
+        Map<PollTask, Long> wantedTasks = new HashMap<>();
+        tasksByPeriod.forEach((period, tasks) -> {
+            PollTaskCoalescer.coalesce(tasks).forEach(task -> wantedTasks.put(task, period));
+        });
+
+        // Cancel scheduled tasks that are not valid anymore
+        Iterator<Entry<PollTask, ScheduledFuture<?>>> iterator = scheduledCoalescedPollTasks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<PollTask, ScheduledFuture<?>> entry = iterator.next();
+            if (entry.getKey().getEndpoint().equals(endpoint) && !wantedTasks.containsKey(entry.getKey())) {
+                logger.debug("Canceling coalesced poll task {} since registered polls have changed", entry.getKey());
+                cancelRegularPoll(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        // Schedule new tasks, and keep track of the future of each registered poll
+        wantedTasks.forEach((task, period) -> {
+            Collection<PollTask> members = task instanceof CoalescedPollTask ? ((CoalescedPollTask) task).getMembers()
+                    : Collections.singleton(task);
+            ScheduledFuture<?> future = scheduledCoalescedPollTasks.get(task);
+            if (future == null) {
+                long initialDelayMillis = members.stream()
+                        .mapToLong(member -> coalescingPollSettings.get(member).initialDelayMillis).min().orElse(0L);
+                logger.debug("Scheduling coalesced poll task {} covering {} registered polls", task, members.size());
+                future = scheduleRegularPoll(executor, task, period, initialDelayMillis);
+                scheduledCoalescedPollTasks.put(task, future);
+            }
+            for (PollTask member : members) {
+                scheduledPollTasks.put(member, future);
+            }
+        });
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -737,13 +1176,18 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.warn("Caller tried to unregister nonexisting poll task {}", task);
                 return false;
             }
-            logger.info("Unregistering regular poll task {} (interrupting if necessary)", task);
+            logger.info("Unregistering regular poll task {}", task);
 
             // Make sure connections to this endpoint are closed when they are returned to pool (which
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            if (coalescingPollSettings.remove(task) != null) {
+                // the future might be shared with other registered polls. Coalescing cancels it if necessary
+                rescheduleCoalescedPolls(executor, task.getEndpoint());
+            } else {
+                cancelRegularPoll(task, future);
+            }
 
             logger.info("Poll task {} canceled", task);
 
@@ -767,6 +1211,20 @@ public class ModbusManagerImpl implements ModbusManager {
         ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
         Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
+        long coalesceWritesMillis = this.coalesceWritesMillis;
+        if (coalesceWritesMillis > 0) {
+            ModbusSlaveEndpoint endpoint = task.getEndpoint();
+            logger.debug("Scheduling one-off write task {} to be coalesced in {}ms", task, coalesceWritesMillis);
+            synchronized (pendingWrites) {
+                // Every write has its own trigger and future, so that cancelling it cancels only this write. The first
+                // trigger executed writes all the pending writes of the endpoint.
+                PendingWrite write = new PendingWrite(task);
+                write.trigger = scheduledThreadPoolExecutor.schedule(() -> executePendingWrites(endpoint, scheduleTime),
+                        coalesceWritesMillis, TimeUnit.MILLISECONDS);
+                pendingWrites.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(write);
+                return write;
+            }
+        }
         logger.debug("Scheduling one-off write task {}", task);
         ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
@@ -777,16 +1235,113 @@ public class ModbusManagerImpl implements ModbusManager {
         return future;
     }
 
+    /**
+     * Execute the pending one-off writes of the endpoint, coalescing writes to contiguous registers
+     *
+     * @param endpoint endpoint of the writes
+     * @param scheduleTime time the calling write was scheduled
+     */
+    private void executePendingWrites(ModbusSlaveEndpoint endpoint, long scheduleTime) {
+        List<PendingWrite> writes;
+        synchronized (pendingWrites) {
+            List<PendingWrite> pending = pendingWrites.remove(endpoint);
+            if (pending == null) {
+                // Already written with earlier trigger, which completes the futures of the writes
+                return;
+            }
+            writes = pending.stream().filter(write -> !write.isCancelled()).collect(Collectors.toList());
+        }
+        // The same task might have been submitted several times, each submission having its own future
+        Map<WriteTask, Deque<PendingWrite>> writesByTask = new IdentityHashMap<>();
+        for (PendingWrite write : writes) {
+            writesByTask.computeIfAbsent(write.task, task -> new ArrayDeque<>()).add(write);
+        }
+        List<WriteTask> tasks = writes.stream().map(write -> write.task).collect(Collectors.toList());
+        try {
+            List<WriteTask> coalesced = WriteTaskCoalescer.coalesce(tasks);
+            logger.debug("Will now execute {} one-off write tasks as {} requests, waited for {}ms", tasks.size(),
+                    coalesced.size(), System.currentTimeMillis() - scheduleTime);
+            for (WriteTask task : coalesced) {
+                Exception error = new CancellationException("Write was not executed");
+                try {
+                    error = executeOperation(task, true, writeOperation);
+                } catch (RuntimeException e) {
+                    error = e;
+                    throw e;
+                } finally {
+                    List<WriteTask> members = task instanceof CoalescedWriteTask
+                            ? ((CoalescedWriteTask) task).getMembers()
+                            : Collections.singletonList(task);
+                    for (WriteTask member : members) {
+                        Deque<PendingWrite> memberWrites = writesByTask.get(member);
+                        PendingWrite write = memberWrites == null ? null : memberWrites.poll();
+                        if (write != null) {
+                            write.finished(error);
+                        }
+                    }
+                }
+            }
+        } finally {
+            writesByTask.values().forEach(remaining -> remaining.forEach(
+                    write -> write.finished(new CancellationException("Write was not executed"))));
+        }
+    }
+
     @Override
     public void setEndpointPoolConfiguration(ModbusSlaveEndpoint endpoint,
             @Nullable EndpointPoolConfiguration configuration) {
         Objects.requireNonNull(connectionFactory, "Not activated!");
         connectionFactory.setEndpointPoolConfiguration(endpoint, configuration);
+        updateTransactionPipeline(endpoint, configuration);
         for (ModbusManagerListener listener : listeners) {
             listener.onEndpointPoolConfigurationSet(endpoint, configuration);
         }
     }
 
+    /**
+     * Create, replace or remove the transaction pipeline of the endpoint to match the configuration
+     *
+     * Pipeline replaced with a new one keeps serving its ongoing transactions. Since the pool has only single
+     * connection per endpoint, the new pipeline gets the connection only after all transactions of the old one have
+     * ended.
+     *
+     * @param endpoint endpoint to configure
+     * @param configuration configuration of the endpoint
+     */
+    private void updateTransactionPipeline(ModbusSlaveEndpoint endpoint,
+            @Nullable EndpointPoolConfiguration configuration) {
+        int maxInFlightTransactions = configuration == null ? 1 : configuration.getMaxInFlightTransactions();
+        if (maxInFlightTransactions <= 1 || !(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            if (transactionPipelines.remove(endpoint) != null) {
+                logger.debug("Disabled transaction pipelining with endpoint {}", endpoint);
+            }
+            return;
+        }
+        ModbusTCPTransactionPipeline pipeline = transactionPipelines.get(endpoint);
+        if (pipeline != null && pipeline.getMaxInFlightTransactions() == maxInFlightTransactions) {
+            return;
+        }
+        transactionPipelines.put(endpoint, new ModbusTCPTransactionPipeline((ModbusTCPSlaveEndpoint) endpoint,
+                maxInFlightTransactions, new ModbusTCPTransactionPipeline.ConnectionSource() {
+
+                    @Override
+                    public Optional<ModbusSlaveConnection> borrow() {
+                        return borrowPooledConnection(endpoint);
+                    }
+
+                    @Override
+                    public void giveBack(ModbusSlaveConnection connection, boolean invalidate) {
+                        if (invalidate) {
+                            invalidatePooledConnection(endpoint, Optional.of(connection));
+                        } else {
+                            returnPooledConnection(endpoint, Optional.of(connection));
+                        }
+                    }
+                }));
+        logger.debug("Enabled transaction pipelining with endpoint {}, maximum of {} transactions in-flight",
+                endpoint, maxInFlightTransactions);
+    }
+
     @Override
     public @Nullable EndpointPoolConfiguration getEndpointPoolConfiguration(ModbusSlaveEndpoint endpoint) {
         Objects.requireNonNull(connectionFactory, "Not activated!");
@@ -808,10 +1363,38 @@ public class ModbusManagerImpl implements ModbusManager {
         return this.scheduledPollTasks.keySet();
     }
 
+    @Override
+    public Collection<ModbusEndpointMetrics> getEndpointMetrics() {
+        return endpointMetrics.values().stream().map(metrics -> {
+            EndpointPollQueue queue = pollQueues.get(metrics.getEndpoint());
+            return metrics.snapshot(queue == null ? 0 : queue.size());
+        }).collect(Collectors.toList());
+    }
+
+    @Override
+    public void resetMetrics() {
+        endpointMetrics.clear();
+    }
+
     @Activate
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            Object coalescePollsConfig = configProperties.get(CONFIG_COALESCE_POLLS);
+            coalescePolls = coalescePollsConfig != null && Boolean.parseBoolean(coalescePollsConfig.toString());
+            logger.debug("Coalescing of regular polls is {}", coalescePolls ? "enabled" : "disabled");
+            Object coalesceWritesConfig = configProperties.get(CONFIG_COALESCE_WRITES_MILLIS);
+            coalesceWritesMillis = 0;
+            if (coalesceWritesConfig != null) {
+                try {
+                    coalesceWritesMillis = Math.max(0, Long.parseLong(coalesceWritesConfig.toString()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid {} value '{}', writes are not coalesced", CONFIG_COALESCE_WRITES_MILLIS,
+                            coalesceWritesConfig);
+                }
+            }
+            logger.debug("Coalescing of one-off writes is {}",
+                    coalesceWritesMillis > 0 ? "enabled (" + coalesceWritesMillis + "ms)" : "disabled");
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -841,6 +1424,12 @@ public class ModbusManagerImpl implements ModbusManager {
 
                 connectionPool.close();
                 this.connectionPool = connectionPool = null;
+                transactionPipelines.clear();
+                pollQueues.clear();
+                synchronized (pendingWrites) {
+                    pendingWrites.values().forEach(writes -> writes.forEach(write -> write.cancel(false)));
+                    pendingWrites.clear();
+                }
             }
 
             if (monitorFuture != null) {
@@ -885,6 +1474,9 @@ public class ModbusManagerImpl implements ModbusManager {
                             executor.getQueue().size());
                 }
             }
+            this.pollQueues.values().forEach(queue -> {
+                pollMonitorLogger.trace("POLL MONITOR: queue of polls due: {}", queue);
+            });
 
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
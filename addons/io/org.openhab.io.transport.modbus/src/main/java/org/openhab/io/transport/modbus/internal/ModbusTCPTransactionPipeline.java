@@ -0,0 +1,445 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusException;
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.ModbusSlaveException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ExceptionResponse;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * Executes several Modbus TCP transactions concurrently over a single connection
+ *
+ * Requests are written to the connection without waiting for the responses of the earlier requests, and responses are
+ * matched to the requests using the MBAP transaction id. At most <code>maxInFlightTransactions</code> transactions
+ * are in-flight at the same time.
+ *
+ * The connection is borrowed from the connection pool when the first transaction starts, and given back when the last
+ * in-flight transaction ends. In between, the connection is shared by all the transactions, see
+ * {@link PipelinedConnection}. There is no dedicated thread for reading the responses: the threads waiting for a
+ * response take turns reading the connection, handing over responses of other transactions to the corresponding
+ * threads.
+ *
+ * Any I/O error, or a response with unknown transaction id, fails all the transactions in-flight and the connection
+ * is invalidated once all of them have ended.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTCPTransactionPipeline {
+
+    /**
+     * Source of the underlying connections, typically the connection pool
+     */
+    public interface ConnectionSource {
+
+        /**
+         * Borrow connection
+         *
+         * @return connected connection, or empty if connection could not be established
+         */
+        Optional<ModbusSlaveConnection> borrow();
+
+        /**
+         * Give back previously borrowed connection
+         *
+         * @param connection connection to give back
+         * @param invalidate whether the connection should be invalidated, e.g. due to I/O error
+         */
+        void giveBack(ModbusSlaveConnection connection, boolean invalidate);
+    }
+
+    /**
+     * Connection handed out to single user of the pipeline
+     *
+     * Each instance should be released exactly once with {@link #release(boolean)}.
+     */
+    public class PipelinedConnection implements ModbusSlaveConnection {
+
+        private final ModbusSlaveConnection connection;
+        private boolean released;
+
+        private PipelinedConnection(ModbusSlaveConnection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Execute transaction with the given request
+         *
+         * Transaction id of the request is overwritten.
+         *
+         * @param request request to send
+         * @return response to the request
+         * @throws ModbusIOException on I/O errors
+         * @throws ModbusSlaveException when slave responds with exception response
+         * @throws ModbusUnexpectedTransactionIdException when response with unexpected transaction id was received
+         */
+        public ModbusResponse execute(ModbusRequest request)
+                throws ModbusException, ModbusUnexpectedTransactionIdException {
+            return ModbusTCPTransactionPipeline.this.execute(connection, request);
+        }
+
+        /**
+         * Release the connection back to the pipeline
+         *
+         * @param invalidate whether to invalidate the underlying connection
+         */
+        public void release(boolean invalidate) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            ModbusTCPTransactionPipeline.this.release(invalidate);
+        }
+
+        /**
+         * Get the underlying connection shared by the users of the pipeline
+         *
+         * @return underlying connection
+         */
+        public ModbusSlaveConnection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public boolean connect() throws Exception {
+            return connection.connect();
+        }
+
+        @Override
+        public void resetConnection() {
+            connection.resetConnection();
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connection.isConnected();
+        }
+
+        @Override
+        public String toString() {
+            return "PipelinedConnection(" + connection + ")";
+        }
+    }
+
+    /**
+     * Transaction waiting for a response
+     */
+    private static class InFlightTransaction {
+        private final int transactionId;
+        private @Nullable ModbusResponse response;
+        private @Nullable Exception error;
+        private boolean done;
+        private boolean wakeUpRequested;
+
+        public InFlightTransaction(int transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        public synchronized void complete(@Nullable ModbusResponse response, @Nullable Exception error) {
+            if (done) {
+                return;
+            }
+            this.response = response;
+            this.error = error;
+            this.done = true;
+            notifyAll();
+        }
+
+        public synchronized boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Wake up the thread waiting for this transaction, so that it can take over reading the responses
+         */
+        public synchronized void wakeUp() {
+            wakeUpRequested = true;
+            notifyAll();
+        }
+
+        /**
+         * Wait until the transaction is done, or the thread is asked to take over reading the responses
+         */
+        public synchronized void await() {
+            boolean interrupted = false;
+            while (!done && !wakeUpRequested) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // socket reads are not interruptible either, response (or timeout) is expected soon
+                    interrupted = true;
+                }
+            }
+            wakeUpRequested = false;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Largest transaction id allowed by Modbus TCP (16 bit unsigned)
+     */
+    private static final int MAX_TRANSACTION_ID = 0xFFFF;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusTCPTransactionPipeline.class);
+
+    private final ModbusTCPSlaveEndpoint endpoint;
+    private final int maxInFlightTransactions;
+    private final ConnectionSource connectionSource;
+    private final Semaphore permits;
+    private final Object writeLock = new Object();
+    private final ReentrantLock readLock = new ReentrantLock();
+    private final Map<Integer, InFlightTransaction> inFlight = new ConcurrentHashMap<>();
+
+    // guarded by this
+    private @Nullable ModbusSlaveConnection connection;
+    private int users;
+    private boolean invalidated;
+    private boolean borrowing;
+
+    // guarded by writeLock
+    private int lastTransactionId;
+
+    /**
+     * Construct pipeline
+     *
+     * @param endpoint endpoint this pipeline is communicating with
+     * @param maxInFlightTransactions maximum number of concurrent transactions, at least one
+     * @param connectionSource source for connections to the endpoint
+     */
+    public ModbusTCPTransactionPipeline(ModbusTCPSlaveEndpoint endpoint, int maxInFlightTransactions,
+            ConnectionSource connectionSource) {
+        if (maxInFlightTransactions < 1) {
+            throw new IllegalArgumentException("maxInFlightTransactions should be positive");
+        }
+        this.endpoint = endpoint;
+        this.maxInFlightTransactions = maxInFlightTransactions;
+        this.connectionSource = connectionSource;
+        this.permits = new Semaphore(maxInFlightTransactions, true);
+    }
+
+    public int getMaxInFlightTransactions() {
+        return maxInFlightTransactions;
+    }
+
+    /**
+     * Acquire connection for a single transaction (or a series of transactions)
+     *
+     * Blocks while the maximum number of transactions are in-flight.
+     *
+     * @return connection to use, or empty if connection could not be established. Non-empty connection must be
+     *         released with {@link PipelinedConnection#release(boolean)}
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public Optional<ModbusSlaveConnection> acquire() throws InterruptedException {
+        permits.acquire();
+        boolean acquired = false;
+        try {
+            synchronized (this) {
+                // Invalidated connection cannot be used anymore, wait for it to be given back. Also wait for
+                // concurrent borrow to finish
+                while (invalidated || borrowing) {
+                    wait();
+                }
+                ModbusSlaveConnection connection = this.connection;
+                if (connection != null) {
+                    users++;
+                    acquired = true;
+                    return Optional.of(new PipelinedConnection(connection));
+                }
+                borrowing = true;
+            }
+
+            // Borrow outside the monitor, establishing the connection might take long
+            Optional<ModbusSlaveConnection> borrowed = Optional.empty();
+            try {
+                borrowed = connectionSource.borrow();
+            } finally {
+                synchronized (this) {
+                    borrowing = false;
+                    if (borrowed.isPresent()) {
+                        this.connection = borrowed.get();
+                        logger.trace("Pipeline for endpoint {} borrowed connection {}", endpoint, borrowed.get());
+                        users++;
+                        acquired = true;
+                    }
+                    notifyAll();
+                }
+            }
+            return borrowed.map(connection -> new PipelinedConnection(connection));
+        } finally {
+            if (!acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    private void release(boolean invalidate) {
+        synchronized (this) {
+            if (invalidate) {
+                invalidated = true;
+            }
+            users--;
+            if (users == 0) {
+                ModbusSlaveConnection connection = this.connection;
+                // Unanswered requests would confuse the next user of the connection
+                boolean invalidateConnection = invalidated || !inFlight.isEmpty();
+                this.connection = null;
+                invalidated = false;
+                inFlight.clear();
+                if (connection != null) {
+                    logger.trace("Pipeline for endpoint {} giving back connection {} (invalidate={})", endpoint,
+                            connection, invalidateConnection);
+                    connectionSource.giveBack(connection, invalidateConnection);
+                }
+                notifyAll();
+            }
+        }
+        permits.release();
+    }
+
+    private synchronized boolean isInvalidated() {
+        return invalidated;
+    }
+
+    private synchronized void invalidate() {
+        invalidated = true;
+    }
+
+    private ModbusResponse execute(ModbusSlaveConnection connection, ModbusRequest request)
+            throws ModbusException, ModbusUnexpectedTransactionIdException {
+        if (isInvalidated()) {
+            throw new ModbusIOException("Connection has been invalidated due to earlier error");
+        }
+        ModbusTransport transport = ((TCPMasterConnection) connection).getModbusTransport();
+        if (transport == null) {
+            throw new ModbusIOException("No transport available");
+        }
+
+        InFlightTransaction transaction;
+        synchronized (writeLock) {
+            transaction = new InFlightTransaction(nextTransactionId());
+            request.setTransactionID(transaction.transactionId);
+            inFlight.put(transaction.transactionId, transaction);
+            try {
+                logger.trace("Writing request with transaction id {} to endpoint {} ({} in-flight)",
+                        transaction.transactionId, endpoint, inFlight.size());
+                transport.writeMessage(request);
+            } catch (ModbusIOException e) {
+                failAll(e, null);
+            }
+        }
+
+        // Single thread at a time reads the responses, others wait for their transaction to complete
+        while (!transaction.isDone()) {
+            if (!readLock.tryLock()) {
+                transaction.await();
+                continue;
+            }
+            try {
+                while (!transaction.isDone()) {
+                    readResponse(transport);
+                }
+            } finally {
+                readLock.unlock();
+                // Hand over reading to some thread still waiting for a response
+                inFlight.values().stream().findAny().ifPresent(InFlightTransaction::wakeUp);
+            }
+        }
+
+        synchronized (transaction) {
+            Exception error = transaction.error;
+            if (error instanceof ModbusIOException) {
+                throw (ModbusIOException) error;
+            } else if (error instanceof ModbusUnexpectedTransactionIdException) {
+                throw (ModbusUnexpectedTransactionIdException) error;
+            }
+            ModbusResponse response = transaction.response;
+            if (response == null) {
+                throw new IllegalStateException("Transaction completed without response or error");
+            }
+            if (response instanceof ExceptionResponse) {
+                throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+            }
+            return response;
+        }
+    }
+
+    private void readResponse(ModbusTransport transport) {
+        try {
+            ModbusResponse response = transport.readResponse();
+            InFlightTransaction responseTransaction = inFlight.remove(response.getTransactionID());
+            if (responseTransaction == null) {
+                logger.warn("Received response with unexpected transaction id {} from endpoint {}",
+                        response.getTransactionID(), endpoint);
+                failAll(null, response.getTransactionID());
+            } else {
+                responseTransaction.complete(response, null);
+            }
+        } catch (ModbusIOException e) {
+            failAll(e, null);
+        }
+    }
+
+    /**
+     * Fail all in-flight transactions and invalidate the connection
+     *
+     * @param error I/O error, or null when failing due to unexpected transaction id
+     * @param unexpectedTransactionId transaction id of the unexpected response
+     */
+    private void failAll(@Nullable ModbusIOException error, @Nullable Integer unexpectedTransactionId) {
+        invalidate();
+        for (InFlightTransaction transaction : inFlight.values()) {
+            Exception transactionError = error;
+            if (transactionError == null && unexpectedTransactionId != null) {
+                transactionError = new ModbusUnexpectedTransactionIdException(transaction.transactionId,
+                        unexpectedTransactionId);
+            }
+            transaction.complete(null, transactionError);
+        }
+        inFlight.clear();
+    }
+
+    private int nextTransactionId() {
+        // Skip ids still waiting for a response
+        do {
+            lastTransactionId = lastTransactionId >= MAX_TRANSACTION_ID ? 1 : lastTransactionId + 1;
+        } while (inFlight.containsKey(lastTransactionId));
+        return lastTransactionId;
+    }
+
+    @Override
+    public String toString() {
+        return "ModbusTCPTransactionPipeline(endpoint=" + endpoint + ", maxInFlightTransactions="
+                + maxInFlightTransactions + ")";
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Merges poll tasks reading adjacent or overlapping data into fewer requests
+ *
+ * Poll tasks are compatible when they share the endpoint, unit id, protocol id and function code. Compatible tasks
+ * whose data ranges overlap or are adjacent are merged as long as the merged request does not exceed the maximum
+ * request size of the Modbus specification (see {@link ModbusConstants#MAX_REGISTERS_READ_COUNT} and
+ * {@link ModbusConstants#MAX_BITS_READ_COUNT}). Ranges with gaps in between are never merged, since reading
+ * unrequested addresses might result in error responses from the slave.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PollTaskCoalescer {
+
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final int protocolId;
+        private final ModbusReadFunctionCode functionCode;
+
+        public GroupKey(PollTask task) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            this.endpoint = task.getEndpoint();
+            this.unitId = request.getUnitID();
+            this.protocolId = request.getProtocolID();
+            this.functionCode = request.getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, unitId, protocolId, functionCode);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            GroupKey rhs = (GroupKey) obj;
+            return endpoint.equals(rhs.endpoint) && unitId == rhs.unitId && protocolId == rhs.protocolId
+                    && functionCode == rhs.functionCode;
+        }
+    }
+
+    private static final Comparator<PollTask> BY_DATA_RANGE = Comparator
+            .<PollTask> comparingInt(task -> task.getRequest().getReference())
+            .thenComparingInt(task -> task.getRequest().getDataLength());
+
+    /**
+     * Get maximum number of data elements (registers or bits) that can be read with a single request
+     *
+     * @param functionCode read function code
+     * @return maximum data length
+     */
+    public static int getMaxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            case READ_INPUT_REGISTERS:
+            case READ_MULTIPLE_REGISTERS:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+
+    /**
+     * Coalesce poll tasks
+     *
+     * Tasks that cannot be merged with any other task are returned as is. Merged tasks are represented by
+     * {@link CoalescedPollTask}.
+     *
+     * @param tasks tasks to coalesce
+     * @return tasks covering all the given tasks
+     */
+    public static List<PollTask> coalesce(Collection<PollTask> tasks) {
+        Map<GroupKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            groups.computeIfAbsent(new GroupKey(task), key -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> coalesced = new ArrayList<>(tasks.size());
+        for (List<PollTask> group : groups.values()) {
+            group.sort(BY_DATA_RANGE);
+            int maxLength = getMaxDataLength(group.get(0).getRequest().getFunctionCode());
+            List<PollTask> span = new ArrayList<>();
+            int spanStart = 0;
+            int spanEnd = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int start = request.getReference();
+                int end = start + request.getDataLength();
+                if (!span.isEmpty() && start <= spanEnd && Math.max(spanEnd, end) - spanStart <= maxLength) {
+                    span.add(task);
+                    spanEnd = Math.max(spanEnd, end);
+                    continue;
+                }
+                if (!span.isEmpty()) {
+                    coalesced.add(toTask(span, spanStart, spanEnd));
+                }
+                span = new ArrayList<>();
+                span.add(task);
+                spanStart = start;
+                spanEnd = end;
+            }
+            if (!span.isEmpty()) {
+                coalesced.add(toTask(span, spanStart, spanEnd));
+            }
+        }
+        return coalesced;
+    }
+
+    private static PollTask toTask(List<PollTask> span, int spanStart, int spanEnd) {
+        PollTask first = span.get(0);
+        if (span.size() == 1) {
+            return first;
+        }
+        ModbusReadRequestBlueprint firstRequest = first.getRequest();
+        int maxTries = span.stream().mapToInt(task -> task.getMaxTries()).max().getAsInt();
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(firstRequest.getUnitID(),
+                firstRequest.getFunctionCode(), spanStart, spanEnd - spanStart, maxTries);
+        return new CoalescedPollTask(first.getEndpoint(), request, span);
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Implementation of {@link ModbusRegisterArray} which exposes a contiguous part of another register array
+ *
+ * No data is copied, index 0 of the slice refers to index <code>offset</code> of the wrapped array.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterArraySlice implements ModbusRegisterArray {
+
+    private ModbusRegisterArray wrapped;
+    private int offset;
+    private int length;
+
+    /**
+     * Construct slice of registers
+     *
+     * @param wrapped register array to wrap
+     * @param offset index of the first register of the slice in the wrapped array
+     * @param length number of registers in the slice
+     * @throws IllegalArgumentException when the slice does not fit inside the wrapped array
+     */
+    public RegisterArraySlice(ModbusRegisterArray wrapped, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > wrapped.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Slice with offset=%d and length=%d is out-of-bounds given registers of size %d", offset, length,
+                    wrapped.size()));
+        }
+        this.wrapped = wrapped;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public ModbusRegister getRegister(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return wrapped.getRegister(offset + index);
+    }
+
+    @Override
+    public int getUnsignedShort(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return wrapped.getUnsignedShort(offset + index);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        if (length == 0) {
+            return "RegisterArraySlice(<empty>)";
+        }
+        StringBuffer buffer = new StringBuffer(length * 2).append("RegisterArraySlice(");
+        return appendHexString(buffer).append(')').toString();
+    }
+
+}
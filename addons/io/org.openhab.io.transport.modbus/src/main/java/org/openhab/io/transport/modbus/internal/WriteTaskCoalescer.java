@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+
+/**
+ * Merges write tasks writing contiguous registers into fewer requests
+ *
+ * Register write tasks are merged when they are consecutive in the submission order, share the endpoint, unit id and
+ * protocol id, and their registers are adjacent without overlap. The merged request is a write multiple registers
+ * (function code 16) request, limited to {@link ModbusConstants#MAX_REGISTERS_WRITE_COUNT} registers.
+ *
+ * Since only consecutive tasks are merged, the order of the writes is preserved. Coil writes are never merged.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WriteTaskCoalescer {
+
+    /**
+     * Coalesce write tasks
+     *
+     * Tasks that cannot be merged with adjacent tasks are returned as is. Merged tasks are represented by
+     * {@link CoalescedWriteTask}.
+     *
+     * @param tasks tasks to coalesce, in the order of submission
+     * @return tasks covering all the given tasks, in the order they should be executed
+     */
+    public static List<WriteTask> coalesce(List<WriteTask> tasks) {
+        List<WriteTask> coalesced = new ArrayList<>(tasks.size());
+        List<WriteTask> span = new ArrayList<>();
+        int spanStart = 0;
+        int spanEnd = 0;
+        for (WriteTask task : tasks) {
+            ModbusWriteRequestBlueprint request = task.getRequest();
+            if (!(request instanceof ModbusWriteRegisterRequestBlueprint)) {
+                if (!span.isEmpty()) {
+                    coalesced.add(toTask(span, spanStart, spanEnd));
+                    span = new ArrayList<>();
+                }
+                coalesced.add(task);
+                continue;
+            }
+            int start = request.getReference();
+            int end = start + ((ModbusWriteRegisterRequestBlueprint) request).getRegisters().size();
+            int mergedLength = Math.max(spanEnd, end) - Math.min(spanStart, start);
+            if (!span.isEmpty() && isCompatible(span.get(0), task) && (start == spanEnd || end == spanStart)
+                    && mergedLength <= ModbusConstants.MAX_REGISTERS_WRITE_COUNT) {
+                span.add(task);
+                spanStart = Math.min(spanStart, start);
+                spanEnd = Math.max(spanEnd, end);
+                continue;
+            }
+            if (!span.isEmpty()) {
+                coalesced.add(toTask(span, spanStart, spanEnd));
+            }
+            span = new ArrayList<>();
+            span.add(task);
+            spanStart = start;
+            spanEnd = end;
+        }
+        if (!span.isEmpty()) {
+            coalesced.add(toTask(span, spanStart, spanEnd));
+        }
+        return coalesced;
+    }
+
+    private static boolean isCompatible(WriteTask first, WriteTask task) {
+        ModbusWriteRequestBlueprint firstRequest = first.getRequest();
+        ModbusWriteRequestBlueprint request = task.getRequest();
+        return first.getEndpoint().equals(task.getEndpoint()) && firstRequest.getUnitID() == request.getUnitID()
+                && firstRequest.getProtocolID() == request.getProtocolID();
+    }
+
+    private static WriteTask toTask(List<WriteTask> span, int spanStart, int spanEnd) {
+        WriteTask first = span.get(0);
+        if (span.size() == 1) {
+            return first;
+        }
+        ModbusRegister[] registers = new ModbusRegister[spanEnd - spanStart];
+        for (WriteTask task : span) {
+            ModbusWriteRegisterRequestBlueprint request = (ModbusWriteRegisterRequestBlueprint) task.getRequest();
+            ModbusRegisterArray taskRegisters = request.getRegisters();
+            int offset = request.getReference() - spanStart;
+            for (int i = 0; i < taskRegisters.size(); i++) {
+                registers[offset + i] = taskRegisters.getRegister(i);
+            }
+        }
+        int maxTries = span.stream().mapToInt(task -> task.getMaxTries()).max().getAsInt();
+        BasicModbusWriteRegisterRequestBlueprint request = new BasicModbusWriteRegisterRequestBlueprint(
+                first.getRequest().getUnitID(), spanStart, new BasicModbusRegisterArray(registers), true, maxTries);
+        return new CoalescedWriteTask(first.getEndpoint(), request, span);
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal.pooling;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+
+/**
+ * Adaptively tuned delay between transactions and read timeout of a single endpoint
+ *
+ * The delay between transactions is lowered gradually while the endpoint responds without errors, and doubled on each
+ * I/O error. The delay is kept within the bounds of the {@link EndpointPoolConfiguration}.
+ *
+ * The read timeout is estimated from the smoothed response time and its deviation, similar to the TCP retransmission
+ * timeout (RFC 6298). Each timeout doubles the estimate until the next successful transaction. The timeout is kept
+ * between the configured minimum and the timeout of the connection.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptiveEndpointTuning {
+
+    /**
+     * Number of consecutive successful transactions after which the delay is lowered
+     */
+    static final int SUCCESSES_BEFORE_DECREASE = 20;
+
+    /**
+     * Delay used after error, when there was no delay before
+     */
+    static final long INITIAL_BACKOFF_MILLIS = 10;
+
+    private static final int MAX_TIMEOUT_BACKOFF = 64;
+
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final int minReadTimeoutMillis;
+
+    private long delayMillis;
+    private int successes;
+    private double smoothedLatencyMillis = -1;
+    private double latencyDeviationMillis;
+    private int timeoutBackoff = 1;
+
+    public AdaptiveEndpointTuning(EndpointPoolConfiguration configuration) {
+        long initialDelayMillis = configuration.getInterTransactionDelayMillis();
+        this.minDelayMillis = Math.min(configuration.getMinInterTransactionDelayMillis(), initialDelayMillis);
+        this.maxDelayMillis = Math.max(configuration.getMaxInterTransactionDelayMillis(), initialDelayMillis);
+        this.minReadTimeoutMillis = configuration.getMinReadTimeoutMillis();
+        this.delayMillis = initialDelayMillis;
+    }
+
+    /**
+     * Record transaction which received a response
+     *
+     * @param latencyNanos duration of the transaction
+     */
+    public synchronized void recordSuccess(long latencyNanos) {
+        double latencyMillis = latencyNanos / 1_000_000.0;
+        if (smoothedLatencyMillis < 0) {
+            smoothedLatencyMillis = latencyMillis;
+            latencyDeviationMillis = latencyMillis / 2;
+        } else {
+            latencyDeviationMillis = 0.75 * latencyDeviationMillis
+                    + 0.25 * Math.abs(smoothedLatencyMillis - latencyMillis);
+            smoothedLatencyMillis = 0.875 * smoothedLatencyMillis + 0.125 * latencyMillis;
+        }
+        timeoutBackoff = 1;
+        if (++successes >= SUCCESSES_BEFORE_DECREASE) {
+            successes = 0;
+            delayMillis = Math.max(minDelayMillis, delayMillis - Math.max(1, delayMillis / 4));
+        }
+    }
+
+    /**
+     * Record transaction which failed with I/O error
+     *
+     * @param timeout whether the error was a read timeout
+     */
+    public synchronized void recordFailure(boolean timeout) {
+        successes = 0;
+        long increased = delayMillis == 0 ? INITIAL_BACKOFF_MILLIS : delayMillis * 2;
+        delayMillis = Math.max(minDelayMillis, Math.min(maxDelayMillis, increased));
+        if (timeout) {
+            timeoutBackoff = Math.min(MAX_TIMEOUT_BACKOFF, timeoutBackoff * 2);
+        }
+    }
+
+    /**
+     * Get the current delay between transactions
+     *
+     * @return delay in milliseconds
+     */
+    public synchronized long getInterTransactionDelayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * Get the current read timeout
+     *
+     * @param maxReadTimeoutMillis upper bound for the timeout, typically the timeout of the connection
+     * @return read timeout in milliseconds, or maxReadTimeoutMillis in case timeout is not tuned or there are no
+     *         measurements yet
+     */
+    public synchronized int getReadTimeoutMillis(int maxReadTimeoutMillis) {
+        if (minReadTimeoutMillis <= 0 || minReadTimeoutMillis >= maxReadTimeoutMillis || smoothedLatencyMillis < 0) {
+            return maxReadTimeoutMillis;
+        }
+        double estimate = (smoothedLatencyMillis + 4 * latencyDeviationMillis) * timeoutBackoff;
+        return (int) Math.max(minReadTimeoutMillis, Math.min(maxReadTimeoutMillis, Math.ceil(estimate)));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptiveEndpointTuning(delayMillis=" + delayMillis + ", smoothedLatencyMillis="
+                + Math.round(smoothedLatencyMillis) + ", latencyDeviationMillis=" + Math.round(latencyDeviationMillis)
+                + ", timeoutBackoff=" + timeoutBackoff + ")";
+    }
+}
@@ -29,6 +29,7 @@ import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.wimpi.modbus.Modbus;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
 import net.wimpi.modbus.net.SerialConnection;
 import net.wimpi.modbus.net.TCPMasterConnection;
@@ -48,6 +49,11 @@ import net.wimpi.modbus.net.UDPMasterConnection;
  * IP-based connections every now and then (reconnectAfterMillis). Serial connections we keep open.
  * - wrap: wrap created connection to pooled object wrapper class. It tracks usage statistics and last connection time.
  *
+ * With {@link EndpointPoolConfiguration#isAdaptiveTuning()}, the delay between transactions and the read timeout are
+ * tuned per endpoint using {@link AdaptiveEndpointTuning}, based on the transaction results reported with
+ * {@link #recordTransactionSuccess(ModbusSlaveEndpoint, long)} and
+ * {@link #recordTransactionFailure(ModbusSlaveEndpoint, boolean)}.
+ *
  * Note that the implementation must be thread safe.
  *
  * @author Sami Salonen - Initial contribution
@@ -79,6 +85,7 @@ public class ModbusSlaveConnectionFactoryImpl
     private volatile Map<ModbusSlaveEndpoint, Long> lastPassivateMillis = new ConcurrentHashMap<>();
     private volatile Map<ModbusSlaveEndpoint, Long> lastConnectMillis = new ConcurrentHashMap<>();
     private volatile Map<ModbusSlaveEndpoint, Long> disconnectIfConnectedBefore = new ConcurrentHashMap<>();
+    private final Map<ModbusSlaveEndpoint, AdaptiveEndpointTuning> adaptiveTunings = new ConcurrentHashMap<>();
     private volatile Function<ModbusSlaveEndpoint, @Nullable EndpointPoolConfiguration> defaultPoolConfigurationFactory = endpoint -> null;
 
     private @Nullable InetAddress getInetAddress(ModbusIPSlaveEndpoint key) {
@@ -166,10 +173,15 @@ public class ModbusSlaveConnectionFactoryImpl
             }
 
             if (config != null) {
-                long waited = waitAtleast(lastPassivateMillis.get(endpoint), config.getInterTransactionDelayMillis());
+                long interTransactionDelayMillis = getInterTransactionDelayMillis(endpoint);
+                long waited = waitAtleast(lastPassivateMillis.get(endpoint), interTransactionDelayMillis);
                 logger.trace(
                         "Waited {}ms (interTransactionDelayMillis {}ms) before giving returning connection {} for endpoint {}, to ensure delay between transactions.",
-                        waited, config.getInterTransactionDelayMillis(), obj.getObject(), endpoint);
+                        waited, interTransactionDelayMillis, obj.getObject(), endpoint);
+                AdaptiveEndpointTuning tuning = getAdaptiveTuning(endpoint, config);
+                if (tuning != null && config.getMinReadTimeoutMillis() > 0 && connection.isConnected()) {
+                    applyReadTimeout(endpoint, connection, tuning);
+                }
             }
         } catch (InterruptedException e) {
             // Someone wants to cancel us, reset the connection and abort
@@ -236,6 +248,7 @@ public class ModbusSlaveConnectionFactoryImpl
         } else {
             endpointPoolConfigs.put(endpoint, config);
         }
+        adaptiveTunings.remove(endpoint);
     }
 
     /**
@@ -264,6 +277,86 @@ public class ModbusSlaveConnectionFactoryImpl
         this.defaultPoolConfigurationFactory = defaultPoolConfigurationFactory;
     }
 
+    /**
+     * Get the delay between transactions currently applied to a given endpoint
+     *
+     * @param endpoint endpoint to query
+     * @return adaptively tuned delay, or the configured delay if adaptive tuning is not enabled. In milliseconds.
+     */
+    public long getInterTransactionDelayMillis(ModbusSlaveEndpoint endpoint) {
+        @Nullable
+        EndpointPoolConfiguration config = getEndpointPoolConfiguration(endpoint);
+        if (config == null) {
+            return 0;
+        }
+        AdaptiveEndpointTuning tuning = getAdaptiveTuning(endpoint, config);
+        return tuning == null ? config.getInterTransactionDelayMillis() : tuning.getInterTransactionDelayMillis();
+    }
+
+    /**
+     * Report transaction which received a response from the endpoint
+     *
+     * @param endpoint endpoint of the transaction
+     * @param latencyNanos duration of the transaction
+     */
+    public void recordTransactionSuccess(ModbusSlaveEndpoint endpoint, long latencyNanos) {
+        AdaptiveEndpointTuning tuning = getAdaptiveTuning(endpoint, getEndpointPoolConfiguration(endpoint));
+        if (tuning != null) {
+            long delayBefore = tuning.getInterTransactionDelayMillis();
+            tuning.recordSuccess(latencyNanos);
+            logIfDelayChanged(endpoint, tuning, delayBefore);
+        }
+    }
+
+    /**
+     * Report transaction which failed with an I/O error
+     *
+     * @param endpoint endpoint of the transaction
+     * @param timeout whether the transaction timed out waiting for the response
+     */
+    public void recordTransactionFailure(ModbusSlaveEndpoint endpoint, boolean timeout) {
+        AdaptiveEndpointTuning tuning = getAdaptiveTuning(endpoint, getEndpointPoolConfiguration(endpoint));
+        if (tuning != null) {
+            long delayBefore = tuning.getInterTransactionDelayMillis();
+            tuning.recordFailure(timeout);
+            logIfDelayChanged(endpoint, tuning, delayBefore);
+        }
+    }
+
+    private void logIfDelayChanged(ModbusSlaveEndpoint endpoint, AdaptiveEndpointTuning tuning, long delayBefore) {
+        if (tuning.getInterTransactionDelayMillis() != delayBefore) {
+            logger.debug("Adaptive tuning changed delay between transactions with endpoint {} from {}ms: {}", endpoint,
+                    delayBefore, tuning);
+        }
+    }
+
+    private @Nullable AdaptiveEndpointTuning getAdaptiveTuning(ModbusSlaveEndpoint endpoint,
+            @Nullable EndpointPoolConfiguration config) {
+        if (config == null || !config.isAdaptiveTuning()) {
+            return null;
+        }
+        return adaptiveTunings.computeIfAbsent(endpoint, e -> new AdaptiveEndpointTuning(config));
+    }
+
+    private void applyReadTimeout(ModbusSlaveEndpoint endpoint, ModbusSlaveConnection connection,
+            AdaptiveEndpointTuning tuning) {
+        if (connection instanceof TCPMasterConnection) {
+            int timeout = tuning.getReadTimeoutMillis(Modbus.DEFAULT_TIMEOUT);
+            ((TCPMasterConnection) connection).setTimeout(timeout);
+            logger.trace("Read timeout of connection {} for endpoint {} set to {}ms", connection, endpoint, timeout);
+        } else if (connection instanceof UDPMasterConnection) {
+            int timeout = tuning.getReadTimeoutMillis(Modbus.DEFAULT_TIMEOUT);
+            ((UDPMasterConnection) connection).setTimeout(timeout);
+            logger.trace("Read timeout of connection {} for endpoint {} set to {}ms", connection, endpoint, timeout);
+        } else if (connection instanceof SerialConnection && endpoint instanceof ModbusSerialSlaveEndpoint) {
+            int timeout = tuning.getReadTimeoutMillis(
+                    ((ModbusSerialSlaveEndpoint) endpoint).getSerialParameters().getReceiveTimeoutMillis());
+            ((SerialConnection) connection).setReceiveTimeout(timeout);
+            logger.trace("Receive timeout of connection {} for endpoint {} set to {}ms", connection, endpoint,
+                    timeout);
+        }
+    }
+
     private void tryConnect(ModbusSlaveEndpoint endpoint, PooledObject<ModbusSlaveConnection> obj,
             ModbusSlaveConnection connection, @Nullable EndpointPoolConfiguration config) throws Exception {
         if (connection.isConnected()) {
@@ -275,14 +368,15 @@ public class ModbusSlaveConnectionFactoryImpl
         do {
             try {
                 if (config != null) {
+                    long interTransactionDelayMillis = getInterTransactionDelayMillis(endpoint);
                     long waited = waitAtleast(lastConnect,
-                            Math.max(config.getInterConnectDelayMillis(), config.getInterTransactionDelayMillis()));
+                            Math.max(config.getInterConnectDelayMillis(), interTransactionDelayMillis));
                     if (waited > 0) {
                         logger.trace(
                                 "Waited {}ms (interConnectDelayMillis {}ms, interTransactionDelayMillis {}ms) before "
                                         + "connecting disconnected connection {} for endpoint {}, to allow delay "
                                         + "between connections re-connects",
-                                waited, config.getInterConnectDelayMillis(), config.getInterTransactionDelayMillis(),
+                                waited, config.getInterConnectDelayMillis(), interTransactionDelayMillis,
                                 obj.getObject(), endpoint);
                     }
                 }